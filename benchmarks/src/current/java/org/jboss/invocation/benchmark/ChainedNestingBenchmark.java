@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures nested {@linkplain Interceptors#getChainedInterceptor(Interceptor...) chained
+ * interceptors}, where each level holds a pass-through interceptor and the next level, against the same interceptors
+ * in a single flat chain and in the same nesting built by
+ * {@link Interceptors#getFlattenedChainedInterceptor(Interceptor...)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ChainedNestingBenchmark {
+
+    @Param({ "1", "2", "4", "8" })
+    int depth;
+
+    private Interceptor[] nested;
+    private Interceptor[] flat;
+    private Interceptor[] flattened;
+    private InterceptorContext context;
+
+    @Setup
+    public void setup() {
+        Interceptor current = new BenchmarkInterceptors.Terminal();
+        for (int i = 0; i < depth; i ++) {
+            current = Interceptors.getChainedInterceptor(new BenchmarkInterceptors.PassThrough(), current);
+        }
+        nested = new Interceptor[] { current };
+        flattened = new Interceptor[] { Interceptors.getFlattenedChainedInterceptor(new BenchmarkInterceptors.PassThrough(), current) };
+        flat = BenchmarkInterceptors.passThroughChain(depth);
+        context = new InterceptorContext();
+        context.setParameters(new Object[] { "result" });
+    }
+
+    @Benchmark
+    public Object nested() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(nested);
+        return context.proceed();
+    }
+
+    @Benchmark
+    public Object flat() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(flat);
+        return context.proceed();
+    }
+
+    @Benchmark
+    public Object flattened() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(flattened);
+        return context.proceed();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.invocation.ContextDataMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a typical context data life cycle (create, populate, look up every key) with a {@link ContextDataMap}
+ * and with a {@link HashMap}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ContextDataBenchmark {
+
+    @Param({ "1", "4", "8", "16" })
+    int size;
+
+    @Param({ "ContextDataMap", "HashMap" })
+    String type;
+
+    private String[] keys;
+    private boolean compact;
+
+    @Setup
+    public void setup() {
+        keys = new String[size];
+        for (int i = 0; i < size; i ++) {
+            keys[i] = "org.jboss.invocation.key" + i;
+        }
+        compact = type.equals("ContextDataMap");
+    }
+
+    @Benchmark
+    public Object populateAndRead() {
+        final Map<String, Object> map = compact ? new ContextDataMap() : new HashMap<>();
+        final String[] keys = this.keys;
+        for (String key : keys) {
+            map.put(key, key);
+        }
+        Object last = null;
+        for (String key : keys) {
+            last = map.get(key);
+        }
+        return last;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.jboss.invocation.proxy.InvokerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@linkplain Interceptors#getDispatchingInterceptor(InvokerFactory) dispatching interceptor}, which
+ * invokes the context's method on the context's target through a generated invoker, on the bean of
+ * {@link MethodDispatchBenchmark}, whose results it can be compared with.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DispatchingInterceptorBenchmark {
+
+    private Interceptor[] dispatchingInterceptor;
+    private InterceptorContext context;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        final MethodDispatchBenchmark.Bean bean = new MethodDispatchBenchmark.Bean();
+        final Method echo = MethodDispatchBenchmark.Bean.class.getMethod("echo", Object.class);
+        dispatchingInterceptor = new Interceptor[] {
+            Interceptors.getDispatchingInterceptor(new InvokerFactory<>(MethodDispatchBenchmark.Bean.class, LookupClassFactory.INSTANCE))
+        };
+        context = new InterceptorContext();
+        context.setTarget(bean);
+        context.setMethod(echo);
+        context.setParameters(new Object[] { "result" });
+    }
+
+    @Benchmark
+    public Object dispatchingInterceptor() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(dispatchingInterceptor);
+        return context.proceed();
+    }
+}
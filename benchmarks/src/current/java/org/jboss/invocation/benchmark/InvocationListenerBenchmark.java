@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.invocation.ImmediateInterceptorFactory;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.Interceptors;
+import org.jboss.invocation.InvocationListener;
+import org.jboss.invocation.ListenableInterceptorFactory;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a chain built by a {@link ListenableInterceptorFactory} against a compiled interceptor holding the same
+ * interceptors, with no listener registered anywhere, with a listener registered on another factory, and with a
+ * listener registered on the measured factory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InvocationListenerBenchmark {
+
+    @Param({ "none", "elsewhere", "here" })
+    String listener;
+
+    private Interceptor[] listenable;
+    private Interceptor[] compiled;
+    private InterceptorContext context;
+    private ListenableInterceptorFactory registered;
+    private final InvocationListener nop = new InvocationListener() {
+    };
+
+    @Setup
+    public void setup() {
+        final Interceptor[] chain = BenchmarkInterceptors.passThroughChain(4);
+        final InterceptorFactory[] factories = new InterceptorFactory[chain.length];
+        for (int i = 0; i < chain.length; i ++) {
+            factories[i] = new ImmediateInterceptorFactory(chain[i]);
+        }
+        final ListenableInterceptorFactory factory = new ListenableInterceptorFactory(factories);
+        listenable = new Interceptor[] { factory.create(new SimpleInterceptorFactoryContext()) };
+        compiled = new Interceptor[] { Interceptors.getCompiledInterceptor(chain) };
+        switch (listener) {
+            case "elsewhere": registered = new ListenableInterceptorFactory(); break;
+            case "here": registered = factory; break;
+        }
+        if (registered != null) {
+            registered.addListener(nop);
+        }
+        context = new InterceptorContext();
+        context.setParameters(new Object[] { "result" });
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (registered != null) {
+            registered.removeListener(nop);
+        }
+    }
+
+    @Benchmark
+    public Object listenable() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(listenable);
+        return context.proceed();
+    }
+
+    @Benchmark
+    public Object compiled() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(compiled);
+        return context.proceed();
+    }
+}
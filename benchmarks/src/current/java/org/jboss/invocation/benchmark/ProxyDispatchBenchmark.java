@@ -0,0 +1,212 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.invocation.proxy.ProxyConfiguration;
+import org.jboss.invocation.proxy.ProxyDispatcher;
+import org.jboss.invocation.proxy.ProxyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-call overhead of a {@link ProxyFactory} proxy against a {@link Proxy java.lang.reflect.Proxy} and a
+ * direct virtual call, across argument shapes and return types.  Both proxy kinds use the same invocation handler,
+ * which computes the result from the arguments without reflection, so the difference between them is the cost of the
+ * proxy itself: the constructed-guard check, the {@link Method} lookup, argument boxing, the handler call and
+ * unboxing of the result.  The {@code proxyFactoryTyped} case uses typed dispatch with a {@link ProxyDispatcher} which
+ * overrides the entry points for the no-argument methods, and otherwise falls back to the same handler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProxyDispatchBenchmark {
+
+    public interface Service {
+        void noArgVoid();
+
+        Object noArgObject();
+
+        int primitives(int a, long b, double c, boolean d);
+
+        long primitiveLong(long a, long b, long c, long d);
+
+        Object references(Object a, Object b, Object c, Object d);
+
+        String referencesString(String a, Object b);
+    }
+
+    public static class ServiceImpl implements Service {
+        private final Object result = "result";
+
+        public void noArgVoid() {
+        }
+
+        public Object noArgObject() {
+            return result;
+        }
+
+        public int primitives(final int a, final long b, final double c, final boolean d) {
+            return d ? a + (int) b + (int) c : a;
+        }
+
+        public long primitiveLong(final long a, final long b, final long c, final long d) {
+            return a + b + c + d;
+        }
+
+        public Object references(final Object a, final Object b, final Object c, final Object d) {
+            return d;
+        }
+
+        public String referencesString(final String a, final Object b) {
+            return a;
+        }
+    }
+
+    /**
+     * An invocation handler which computes the same results as {@link ServiceImpl} without calling it reflectively.
+     */
+    static final class DispatchingHandler implements InvocationHandler {
+        private final Object result = "result";
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            switch (method.getName()) {
+                case "noArgVoid": return null;
+                case "noArgObject": return result;
+                case "primitives": return Integer.valueOf(((Boolean) args[3]).booleanValue() ? ((Integer) args[0]).intValue() + (int) ((Long) args[1]).longValue() + (int) ((Double) args[2]).doubleValue() : ((Integer) args[0]).intValue());
+                case "primitiveLong": return Long.valueOf(((Long) args[0]).longValue() + ((Long) args[1]).longValue() + ((Long) args[2]).longValue() + ((Long) args[3]).longValue());
+                case "references": return args[3];
+                case "referencesString": return args[0];
+                default: throw new IllegalStateException(method.toString());
+            }
+        }
+    }
+
+    /**
+     * A dispatcher which handles the no-argument methods through their typed entry points, and everything else through
+     * {@link DispatchingHandler}.
+     */
+    static final class TypedDispatcher extends ProxyDispatcher {
+        private final DispatchingHandler handler = new DispatchingHandler();
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            return handler.invoke(proxy, method, args);
+        }
+
+        public Object invoke0(final Object proxy, final int methodIndex, final Method method) throws Throwable {
+            switch (method.getName()) {
+                case "noArgVoid": return null;
+                case "noArgObject": return handler.result;
+                default: return super.invoke0(proxy, methodIndex, method);
+            }
+        }
+    }
+
+    @Param({ "direct", "proxyFactory", "proxyFactoryTyped", "jdkProxy" })
+    String kind;
+
+    private Service service;
+
+    private int intArg = 1;
+    private long longArg = 1000;
+    private double doubleArg = 2.5;
+    private boolean booleanArg = true;
+    private Object objectArg = new Object();
+    private String stringArg = "arg";
+
+    @Setup
+    public void setup() throws InstantiationException, IllegalAccessException {
+        switch (kind) {
+            case "direct": {
+                service = new ServiceImpl();
+                break;
+            }
+            case "proxyFactory": {
+                final ProxyConfiguration<ServiceImpl> configuration = new ProxyConfiguration<ServiceImpl>()
+                        .setSuperClass(ServiceImpl.class)
+                        .setProxyName(ProxyDispatchBenchmark.class.getPackage(), "ServiceImpl$$DispatchProxy")
+                        .setClassLoader(ServiceImpl.class.getClassLoader())
+                        .setClassFactory(LookupClassFactory.INSTANCE);
+                service = new ProxyFactory<>(configuration).newInstance(new DispatchingHandler());
+                break;
+            }
+            case "proxyFactoryTyped": {
+                final ProxyConfiguration<ServiceImpl> configuration = new ProxyConfiguration<ServiceImpl>()
+                        .setSuperClass(ServiceImpl.class)
+                        .setProxyName(ProxyDispatchBenchmark.class.getPackage(), "ServiceImpl$$TypedDispatchProxy")
+                        .setClassLoader(ServiceImpl.class.getClassLoader())
+                        .setClassFactory(LookupClassFactory.INSTANCE)
+                        .setTypedDispatch(true);
+                service = new ProxyFactory<>(configuration).newInstance(new TypedDispatcher());
+                break;
+            }
+            case "jdkProxy": {
+                service = (Service) Proxy.newProxyInstance(Service.class.getClassLoader(), new Class<?>[] { Service.class }, new DispatchingHandler());
+                break;
+            }
+            default: throw new IllegalArgumentException(kind);
+        }
+    }
+
+    @Benchmark
+    public void noArgVoid() {
+        service.noArgVoid();
+    }
+
+    @Benchmark
+    public Object noArgObject() {
+        return service.noArgObject();
+    }
+
+    @Benchmark
+    public int primitives() {
+        return service.primitives(intArg, longArg, doubleArg, booleanArg);
+    }
+
+    @Benchmark
+    public long primitiveLong() {
+        return service.primitiveLong(longArg, longArg, longArg, longArg);
+    }
+
+    @Benchmark
+    public Object references() {
+        return service.references(objectArg, stringArg, objectArg, stringArg);
+    }
+
+    @Benchmark
+    public String referencesString() {
+        return service.referencesString(stringArg, objectArg);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.invocation.ChainStatistics;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a {@linkplain Interceptors#getTimedChainedInterceptor(ChainStatistics, Interceptor...)
+ * timed chained interceptor} by sample interval against a chained interceptor holding the same interceptors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TimedChainBenchmark {
+
+    @Param({ "4", "16" })
+    int length;
+
+    @Param({ "1", "16" })
+    int sampleInterval;
+
+    private Interceptor[] timed;
+    private Interceptor[] chained;
+    private InterceptorContext context;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        final Interceptor[] chain = BenchmarkInterceptors.passThroughChain(length);
+        timed = new Interceptor[] { Interceptors.getTimedChainedInterceptor(new ChainStatistics("benchmark", sampleInterval), chain) };
+        chained = new Interceptor[] { Interceptors.getChainedInterceptor(chain) };
+        context = new InterceptorContext();
+        context.setMethod(Object.class.getMethod("toString"));
+        context.setParameters(new Object[] { "result" });
+    }
+
+    @Benchmark
+    public Object timed() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(timed);
+        return context.proceed();
+    }
+
+    @Benchmark
+    public Object chained() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(chained);
+        return context.proceed();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.benchmark;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+
+/**
+ * Interceptors shared by the benchmarks.
+ */
+final class BenchmarkInterceptors {
+
+    private BenchmarkInterceptors() {
+    }
+
+    /**
+     * An interceptor which does nothing but proceed.
+     */
+    static final class PassThrough implements Interceptor {
+        public Object processInvocation(final InterceptorContext context) throws Exception {
+            return context.proceed();
+        }
+    }
+
+    /**
+     * A second pass-through interceptor class, so that call sites see more than one receiver type.
+     */
+    static final class OtherPassThrough implements Interceptor {
+        public Object processInvocation(final InterceptorContext context) throws Exception {
+            return context.proceed();
+        }
+    }
+
+    /**
+     * A third pass-through interceptor class, for chains of distinct shapes.
+     */
+    static final class ThirdPassThrough implements Interceptor {
+        public Object processInvocation(final InterceptorContext context) throws Exception {
+            return context.proceed();
+        }
+    }
+
+    /**
+     * A fourth pass-through interceptor class, for chains of distinct shapes.
+     */
+    static final class FourthPassThrough implements Interceptor {
+        public Object processInvocation(final InterceptorContext context) throws Exception {
+            return context.proceed();
+        }
+    }
+
+    /**
+     * An interceptor which returns the first parameter of the invocation.
+     */
+    static final class Terminal implements Interceptor {
+        public Object processInvocation(final InterceptorContext context) {
+            return context.getParameters()[0];
+        }
+    }
+
+    /**
+     * Create a chain of pass-through interceptors of alternating classes, ending with a {@link Terminal}.
+     *
+     * @param length the number of pass-through interceptors
+     * @return the chain
+     */
+    static Interceptor[] passThroughChain(final int length) {
+        final Interceptor[] interceptors = new Interceptor[length + 1];
+        for (int i = 0; i < length; i ++) {
+            interceptors[i] = (i & 1) == 0 ? new PassThrough() : new OtherPassThrough();
+        }
+        interceptors[length] = new Terminal();
+        return interceptors;
+    }
+
+    /**
+     * Create chains of the given length with distinct shapes.  A single chain is the one {@link #passThroughChain(int)}
+     * creates; otherwise each chain cycles through four pass-through classes from a different starting class, so that
+     * up to four chains differ in the class at every position.
+     *
+     * @param length the number of pass-through interceptors
+     * @param shapes the number of chains
+     * @return the chains
+     */
+    static Interceptor[][] passThroughChains(final int length, final int shapes) {
+        if (shapes == 1) {
+            return new Interceptor[][] { passThroughChain(length) };
+        }
+        final Interceptor[][] chains = new Interceptor[shapes][];
+        for (int shape = 0; shape < shapes; shape ++) {
+            final Interceptor[] interceptors = new Interceptor[length + 1];
+            for (int i = 0; i < length; i ++) {
+                switch ((i + shape) & 3) {
+                    case 0: interceptors[i] = new PassThrough(); break;
+                    case 1: interceptors[i] = new OtherPassThrough(); break;
+                    case 2: interceptors[i] = new ThirdPassThrough(); break;
+                    default: interceptors[i] = new FourthPassThrough(); break;
+                }
+            }
+            interceptors[length] = new Terminal();
+            chains[shape] = interceptors;
+        }
+        return chains;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.invocation.InterceptorContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link InterceptorContext#clone()} with varying amounts of context data and private data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CloneBenchmark {
+
+    @Param({ "0", "4", "16" })
+    int contextData;
+
+    @Param({ "0", "2" })
+    int privateData;
+
+    private InterceptorContext context;
+
+    @Setup
+    public void setup() {
+        context = new InterceptorContext();
+        context.setInterceptors(BenchmarkInterceptors.passThroughChain(4));
+        context.setParameters(new Object[] { "result" });
+        for (int i = 0; i < contextData; i ++) {
+            context.getContextData().put("key" + i, Integer.valueOf(i));
+        }
+        final Object[] keys = { String.class, Integer.class };
+        for (int i = 0; i < privateData; i ++) {
+            context.putPrivateData(keys[i], Integer.valueOf(i));
+        }
+    }
+
+    @Benchmark
+    public InterceptorContext cloneContext() {
+        return context.clone();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.benchmark;
+
+import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@linkplain Interceptors#getInitialInterceptor() initial interceptor} on its
+ * normal and exceptional paths.  The thrown exceptions are preallocated without stack traces so that the cost of the
+ * exception check is measured rather than the cost of filling in a stack trace.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InitialInterceptorBenchmark {
+
+    /**
+     * The outcome of the invocation.
+     */
+    @Param({ "success", "runtime", "declared", "undeclared" })
+    String outcome;
+
+    /**
+     * The number of exception types declared by the invoked method, preceding the one which matches.
+     */
+    @Param({ "0", "4" })
+    int declared;
+
+    private Interceptor[] interceptors;
+    private InterceptorContext context;
+
+    public interface Target {
+        Object none() throws IOException;
+        Object many() throws InterruptedException, CloneNotSupportedException, ClassNotFoundException, NoSuchMethodException, IOException;
+    }
+
+    static final class StacklessRuntimeException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    static final class StacklessIOException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    static final class StacklessException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        final Exception exception;
+        switch (outcome) {
+            case "success": exception = null; break;
+            case "runtime": exception = new StacklessRuntimeException(); break;
+            case "declared": exception = new StacklessIOException(); break;
+            case "undeclared": exception = new StacklessException(); break;
+            default: throw new IllegalArgumentException(outcome);
+        }
+        interceptors = new Interceptor[] {
+            Interceptors.getInitialInterceptor(),
+            context -> {
+                if (exception != null) throw exception;
+                return "result";
+            }
+        };
+        context = new InterceptorContext();
+        context.setMethod(Target.class.getMethod(declared == 0 ? "none" : "many"));
+    }
+
+    @Benchmark
+    public Object invoke() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(interceptors);
+        try {
+            return context.proceed();
+        } catch (UndeclaredThrowableException | IOException | IllegalStateException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.benchmark;
+
+import java.lang.invoke.MethodHandles;
+import java.security.ProtectionDomain;
+import java.util.Arrays;
+
+import org.jboss.classfilewriter.ClassFactory;
+
+/**
+ * A class factory which defines classes in the benchmark package through a {@link MethodHandles.Lookup}, so that
+ * proxies can be generated without opening {@code java.lang} to the benchmark.
+ */
+final class LookupClassFactory implements ClassFactory {
+
+    static final LookupClassFactory INSTANCE = new LookupClassFactory();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private LookupClassFactory() {
+    }
+
+    public Class<?> defineClass(final ClassLoader loader, final String name, final byte[] b, final int off, final int len, final ProtectionDomain protectionDomain) throws ClassFormatError {
+        try {
+            return LOOKUP.defineClass(off == 0 && len == b.length ? b : Arrays.copyOfRange(b, off, off + len));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.interceptor.InvocationContext;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.jboss.invocation.MethodInterceptor;
+import org.jboss.invocation.MethodInvokingInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the reflective interceptors: a {@link MethodInterceptor} around-invoke method which proceeds to a
+ * terminal interceptor, a {@link MethodInvokingInterceptor} invoking a fixed method, and the
+ * {@linkplain Interceptors#getInvokingInterceptor() invoking interceptor} which invokes the
+ * context's method on the context's target.  A direct call and a plain {@link Method#invoke(Object, Object...)} are
+ * included as baselines for the interceptors which invoke the target method.
+ * <p>
+ * The dispatching interceptor, which is not available in released versions, is measured by
+ * {@code DispatchingInterceptorBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MethodDispatchBenchmark {
+
+    public static final class Bean {
+        public Object echo(final Object value) {
+            return value;
+        }
+    }
+
+    public static final class AroundInvoke {
+        public Object aroundInvoke(final InvocationContext context) throws Exception {
+            return context.proceed();
+        }
+    }
+
+    private Bean bean;
+    private Object value;
+    private Method echo;
+    private Object[] parameters;
+    private Interceptor[] methodInterceptor;
+    private Interceptor[] methodInvokingInterceptor;
+    private Interceptor[] invokingInterceptor;
+    private InterceptorContext context;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        bean = new Bean();
+        value = "result";
+        echo = Bean.class.getMethod("echo", Object.class);
+        parameters = new Object[] { value };
+        methodInterceptor = new Interceptor[] {
+            new MethodInterceptor(new AroundInvoke(), AroundInvoke.class.getMethod("aroundInvoke", InvocationContext.class)),
+            new BenchmarkInterceptors.Terminal()
+        };
+        methodInvokingInterceptor = new Interceptor[] { new MethodInvokingInterceptor(bean, echo) };
+        invokingInterceptor = new Interceptor[] { Interceptors.getInvokingInterceptor() };
+        context = new InterceptorContext();
+        context.setTarget(bean);
+        context.setMethod(echo);
+        context.setParameters(parameters);
+    }
+
+    @Benchmark
+    public Object direct() {
+        return bean.echo(value);
+    }
+
+    @Benchmark
+    public Object reflective() throws Exception {
+        return echo.invoke(bean, parameters);
+    }
+
+    @Benchmark
+    public Object methodInterceptor() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(methodInterceptor);
+        return context.proceed();
+    }
+
+    @Benchmark
+    public Object methodInvokingInterceptor() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(methodInvokingInterceptor);
+        return context.proceed();
+    }
+
+    @Benchmark
+    public Object invokingInterceptor() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(invokingInterceptor);
+        return context.proceed();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link InterceptorContext#proceed()} across chain lengths, walking the chain as a plain array and as a
+ * single {@linkplain Interceptors#getChainedInterceptor(Interceptor...) chained interceptor}.  Compiled chains, which
+ * are not available in released versions, are measured by {@code CompiledProceedBenchmark}.  With more than one
+ * shape, the invocations rotate over chains whose interceptor classes differ at every position, as they would in a
+ * server running several kinds of component.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProceedBenchmark {
+
+    @Param({ "1", "2", "4", "8", "16", "32" })
+    int length;
+
+    @Param({ "array", "chained" })
+    String mode;
+
+    @Param({ "1", "4" })
+    int shapes;
+
+    private Interceptor[][] interceptors;
+    private int next;
+    private InterceptorContext context;
+
+    @Setup
+    public void setup() {
+        final Interceptor[][] chains = BenchmarkInterceptors.passThroughChains(length, shapes);
+        interceptors = new Interceptor[shapes][];
+        for (int i = 0; i < shapes; i ++) {
+            switch (mode) {
+                case "array": interceptors[i] = chains[i]; break;
+                case "chained": interceptors[i] = new Interceptor[] { Interceptors.getChainedInterceptor(chains[i]) }; break;
+                default: throw new IllegalArgumentException(mode);
+            }
+        }
+        context = new InterceptorContext();
+        context.setParameters(new Object[] { "result" });
+    }
+
+    @Benchmark
+    public Object proceed() throws Exception {
+        final InterceptorContext context = this.context;
+        final int next = this.next;
+        this.next = next + 1 == shapes ? 0 : next + 1;
+        context.setInterceptors(interceptors[next]);
+        return context.proceed();
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jboss.classfilewriter.ClassFactory;
+import org.jboss.invocation.proxy.ProxyConfiguration;
+import org.jboss.invocation.proxy.ProxyFactory;
+import org.jboss.invocation.proxy.reflection.ClassMetadataSource;
+import org.jboss.invocation.proxy.reflection.DefaultReflectionMetadataSource;
+import org.jboss.invocation.proxy.reflection.ReflectionMetadataSource;
+
+/**
+ * A harness which measures proxy class generation, as done at deployment time.  Each run defines the given number of
+ * synthetic class hierarchies in a fresh class loader, and then generates one {@link ProxyFactory} proxy class for each
+ * hierarchy, split across the given numbers of threads.  For each run it reports classes per second, bytecode size per
+ * class, metaspace growth per class, and the time per class spent in each phase of generation:
+ * <ul>
+ *     <li>{@code scan}: reflection through the {@link ReflectionMetadataSource}</li>
+ *     <li>{@code generate}: the rest of {@code generateClass()}, which writes the class file</li>
+ *     <li>{@code define}: defining the class from its bytes</li>
+ *     <li>{@code clinit}: running the static initializer of the proxy class</li>
+ * </ul>
+ * Phase times are summed across threads, so with several threads they exceed the wall time.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar org.jboss.invocation.benchmark.ProxyGenerationHarness [options]}
+ * <pre>
+ *   --count N          the number of proxies per run (default 2000)
+ *   --methods N        the number of methods per class and interface (default 10)
+ *   --interfaces N     the number of interfaces of each hierarchy (default 2)
+ *   --depth N          the number of classes in each hierarchy (default 3)
+ *   --threads N[,N...] the thread counts to run with (default 1,2,4,8)
+ *   --warmup N         the number of unreported runs per thread count (default 3)
+ *   --runs N           the number of reported runs per thread count (default 5)
+ * </pre>
+ */
+public final class ProxyGenerationHarness {
+
+    private static final ThreadLocal<Phases> PHASES = ThreadLocal.withInitial(Phases::new);
+
+    private ProxyGenerationHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int count = 2000;
+        int methods = 10;
+        int interfaces = 2;
+        int depth = 3;
+        int[] threads = { 1, 2, 4, 8 };
+        int warmup = 3;
+        int runs = 5;
+        for (int i = 0; i < args.length; i ++) {
+            final String arg = args[i];
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            final String value = args[++ i];
+            switch (arg) {
+                case "--count": count = Integer.parseInt(value); break;
+                case "--methods": methods = Integer.parseInt(value); break;
+                case "--interfaces": interfaces = Integer.parseInt(value); break;
+                case "--depth": depth = Integer.parseInt(value); break;
+                case "--threads": {
+                    final String[] parts = value.split(",");
+                    threads = new int[parts.length];
+                    for (int j = 0; j < parts.length; j ++) {
+                        threads[j] = Integer.parseInt(parts[j].trim());
+                    }
+                    break;
+                }
+                case "--warmup": warmup = Integer.parseInt(value); break;
+                case "--runs": runs = Integer.parseInt(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        System.out.printf("%d proxies per run, %d methods per type, %d interfaces, depth %d%n", count, methods, interfaces, depth);
+        System.out.printf("%7s %3s %9s %10s %9s %13s %9s %9s %9s %9s%n", "threads", "run", "wall ms", "classes/s", "bytes/cls", "metaspace/cls", "scan us", "gen us", "define us", "clinit us");
+        for (int threadCount : threads) {
+            for (int run = - warmup; run < runs; run ++) {
+                final Result result = run(count, methods, interfaces, depth, threadCount);
+                if (run >= 0) {
+                    final Phases p = result.phases;
+                    final double perClass = 1000.0 * p.classes;
+                    System.out.printf("%7d %3d %9.1f %10.0f %9d %13d %9.1f %9.1f %9.1f %9.1f%n",
+                            threadCount, run + 1, result.wallNanos / 1e6, count / (result.wallNanos / 1e9), p.bytes / p.classes,
+                            result.metaspaceBytes / count, p.scan / perClass, p.generate / perClass, p.define / perClass, p.clinit / perClass);
+                }
+            }
+        }
+    }
+
+    private static Result run(final int count, final int methods, final int interfaces, final int depth, final int threadCount) throws Exception {
+        final SyntheticClassLoader loader = new SyntheticClassLoader();
+        final Class<?>[] hierarchies = new Class<?>[count];
+        for (int i = 0; i < count; i ++) {
+            hierarchies[i] = loader.defineHierarchy(i, methods, interfaces, depth);
+        }
+        System.gc();
+        final long metaspaceBefore = metaspaceUsed();
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Future<Phases>> futures = new ArrayList<>(threadCount);
+            final long start = System.nanoTime();
+            for (int t = 0; t < threadCount; t ++) {
+                final int first = t;
+                futures.add(executor.submit(() -> {
+                    final Phases phases = PHASES.get();
+                    phases.reset();
+                    for (int i = first; i < count; i += threadCount) {
+                        generate(hierarchies[i], loader);
+                    }
+                    return phases.copy();
+                }));
+            }
+            final Phases total = new Phases();
+            for (Future<Phases> future : futures) {
+                total.add(future.get());
+            }
+            final long wallNanos = System.nanoTime() - start;
+            return new Result(wallNanos, metaspaceUsed() - metaspaceBefore, total);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static void generate(final Class<?> superClass, final SyntheticClassLoader loader) {
+        final ProxyConfiguration configuration = new ProxyConfiguration()
+                .setSuperClass(superClass)
+                .setProxyName(superClass.getName() + "$$Proxy")
+                .setClassLoader(loader)
+                .setClassFactory(TimingClassFactory.INSTANCE)
+                .setMetadataSource(TimingMetadataSource.INSTANCE);
+        new TimedProxyFactory<>(configuration).defineClass();
+        PHASES.get().classes ++;
+    }
+
+    private static long metaspaceUsed() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getName().equals("Metaspace") || pool.getName().equals("Compressed Class Space")) {
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    static final class Result {
+        final long wallNanos;
+        final long metaspaceBytes;
+        final Phases phases;
+
+        Result(final long wallNanos, final long metaspaceBytes, final Phases phases) {
+            this.wallNanos = wallNanos;
+            this.metaspaceBytes = metaspaceBytes;
+            this.phases = phases;
+        }
+    }
+
+    /**
+     * The time in nanoseconds spent in each phase, along with the number and total size of the classes generated.
+     */
+    static final class Phases {
+        long scan;
+        long generate;
+        long define;
+        long clinit;
+        long bytes;
+        int classes;
+
+        void reset() {
+            scan = generate = define = clinit = bytes = 0;
+            classes = 0;
+        }
+
+        void add(final Phases other) {
+            scan += other.scan;
+            generate += other.generate;
+            define += other.define;
+            clinit += other.clinit;
+            bytes += other.bytes;
+            classes += other.classes;
+        }
+
+        Phases copy() {
+            final Phases copy = new Phases();
+            copy.add(this);
+            return copy;
+        }
+    }
+
+    static final class TimedProxyFactory<T> extends ProxyFactory<T> {
+
+        TimedProxyFactory(final ProxyConfiguration<T> configuration) {
+            super(configuration);
+        }
+
+        protected void generateClass() {
+            final Phases phases = PHASES.get();
+            final long scanBefore = phases.scan;
+            final long start = System.nanoTime();
+            super.generateClass();
+            phases.generate += System.nanoTime() - start - (phases.scan - scanBefore);
+        }
+
+        public void afterClassLoad(final Class<?> clazz) {
+            final long start = System.nanoTime();
+            super.afterClassLoad(clazz);
+            PHASES.get().clinit += System.nanoTime() - start;
+        }
+    }
+
+    static final class TimingClassFactory implements ClassFactory {
+        static final TimingClassFactory INSTANCE = new TimingClassFactory();
+
+        public Class<?> defineClass(final ClassLoader loader, final String name, final byte[] b, final int off, final int len, final ProtectionDomain protectionDomain) throws ClassFormatError {
+            final long start = System.nanoTime();
+            try {
+                return ((SyntheticClassLoader) loader).defineClass(loader, name, b, off, len, protectionDomain);
+            } finally {
+                final Phases phases = PHASES.get();
+                phases.define += System.nanoTime() - start;
+                phases.bytes += len;
+            }
+        }
+    }
+
+    static final class TimingMetadataSource implements ReflectionMetadataSource {
+        static final TimingMetadataSource INSTANCE = new TimingMetadataSource();
+
+        public ClassMetadataSource getClassMetadata(final Class<?> clazz) {
+            final long start = System.nanoTime();
+            try {
+                return new TimingClassMetadataSource(DefaultReflectionMetadataSource.INSTANCE.getClassMetadata(clazz));
+            } finally {
+                PHASES.get().scan += System.nanoTime() - start;
+            }
+        }
+    }
+
+    static final class TimingClassMetadataSource implements ClassMetadataSource {
+        private final ClassMetadataSource delegate;
+
+        TimingClassMetadataSource(final ClassMetadataSource delegate) {
+            this.delegate = delegate;
+        }
+
+        public Collection<Method> getDeclaredMethods() {
+            final long start = System.nanoTime();
+            try {
+                return delegate.getDeclaredMethods();
+            } finally {
+                PHASES.get().scan += System.nanoTime() - start;
+            }
+        }
+
+        public Method getMethod(final String methodName, final Class<?> returnType, final Class<?>... parameters) throws NoSuchMethodException {
+            final long start = System.nanoTime();
+            try {
+                return delegate.getMethod(methodName, returnType, parameters);
+            } finally {
+                PHASES.get().scan += System.nanoTime() - start;
+            }
+        }
+
+        public Collection<Constructor<?>> getConstructors() {
+            final long start = System.nanoTime();
+            try {
+                return delegate.getConstructors();
+            } finally {
+                PHASES.get().scan += System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.interceptor.InvocationContext;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures an interceptor which replaces the parameters through {@link InvocationContext#setParameters(Object[])},
+ * which validates them against the parameter types of the method, for methods with a mix of primitive and reference
+ * parameters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SetParametersBenchmark {
+
+    @Param({ "1", "4", "8" })
+    int count;
+
+    public interface Target {
+        void one(String a);
+        void four(String a, int b, Object c, long d);
+        void eight(String a, int b, Object c, long d, String e, boolean f, Object g, double h);
+    }
+
+    private Interceptor[] interceptors;
+    private InterceptorContext context;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        final Method method;
+        final Object[] parameters;
+        switch (count) {
+            case 1:
+                method = Target.class.getMethod("one", String.class);
+                parameters = new Object[] { "a" };
+                break;
+            case 4:
+                method = Target.class.getMethod("four", String.class, int.class, Object.class, long.class);
+                parameters = new Object[] { "a", 1, "c", 2L };
+                break;
+            case 8:
+                method = Target.class.getMethod("eight", String.class, int.class, Object.class, long.class, String.class, boolean.class, Object.class, double.class);
+                parameters = new Object[] { "a", 1, "c", 2L, "e", true, "g", 3.0 };
+                break;
+            default:
+                throw new IllegalArgumentException();
+        }
+        interceptors = new Interceptor[] {
+            context -> {
+                context.getInvocationContext().setParameters(parameters);
+                return context.proceed();
+            },
+            new BenchmarkInterceptors.Terminal()
+        };
+        context = new InterceptorContext();
+        context.setMethod(method);
+        context.setParameters(parameters);
+    }
+
+    @Benchmark
+    public Object setParameters() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(interceptors);
+        return context.proceed();
+    }
+}
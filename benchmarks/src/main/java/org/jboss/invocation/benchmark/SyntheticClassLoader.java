@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.benchmark;
+
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.classfilewriter.AccessFlag;
+import org.jboss.classfilewriter.ClassFactory;
+import org.jboss.classfilewriter.ClassFile;
+import org.jboss.classfilewriter.ClassMethod;
+import org.jboss.classfilewriter.code.CodeAttribute;
+
+/**
+ * A class loader which holds synthetic class hierarchies for proxy generation benchmarks, along with the proxies
+ * generated for them.  Discarding the class loader allows all of its classes to be unloaded.
+ */
+final class SyntheticClassLoader extends ClassLoader implements ClassFactory {
+
+    static final String PACKAGE = "org.jboss.invocation.benchmark.synthetic";
+
+    private static final String[] DESCRIPTORS = {
+        "()V",
+        "(I)I",
+        "(Ljava/lang/String;J)Ljava/lang/Object;",
+        "(JD)J",
+        "(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/String;",
+        "(ZBCS)D",
+    };
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    SyntheticClassLoader() {
+        super(SyntheticClassLoader.class.getClassLoader());
+    }
+
+    /**
+     * Define a synthetic hierarchy and return its most derived class.  The root class implements the given number of
+     * interfaces, and each class of the hierarchy declares the given number of methods, with a mix of primitive and
+     * reference parameter and return types.  Every method is concrete, so the returned class can be instantiated.
+     *
+     * @param id the unique identifier of the hierarchy
+     * @param methods the number of methods declared by each class and interface
+     * @param interfaces the number of interfaces implemented by the root class
+     * @param depth the number of classes in the hierarchy
+     * @return the most derived class
+     */
+    Class<?> defineHierarchy(final int id, final int methods, final int interfaces, final int depth) {
+        final String prefix = PACKAGE + ".H" + id + "$";
+        final String[] interfaceNames = new String[interfaces];
+        for (int i = 0; i < interfaces; i ++) {
+            interfaceNames[i] = prefix + "I" + i;
+            final ClassFile iface = new ClassFile(interfaceNames[i], AccessFlag.PUBLIC | AccessFlag.INTERFACE | AccessFlag.ABSTRACT, "java.lang.Object", this, this);
+            for (int m = 0; m < methods; m ++) {
+                iface.addMethod(AccessFlag.PUBLIC | AccessFlag.ABSTRACT, "i" + i + "m" + m, returnType(m), parameterTypes(m));
+            }
+            define(iface);
+        }
+        String superName = "java.lang.Object";
+        Class<?> last = null;
+        for (int d = 0; d < depth; d ++) {
+            final String name = prefix + "C" + d;
+            final ClassFile cls = d == 0
+                    ? new ClassFile(name, AccessFlag.PUBLIC | AccessFlag.SUPER, superName, this, this, interfaceNames)
+                    : new ClassFile(name, AccessFlag.PUBLIC | AccessFlag.SUPER, superName, this, this);
+            final CodeAttribute ctor = cls.addMethod(AccessFlag.PUBLIC, "<init>", "V").getCodeAttribute();
+            ctor.aload(0);
+            ctor.invokespecial(superName, "<init>", "()V");
+            ctor.returnInstruction();
+            for (int m = 0; m < methods; m ++) {
+                addMethod(cls, "c" + d + "m" + m, m);
+            }
+            if (d == 0) {
+                for (int i = 0; i < interfaces; i ++) {
+                    for (int m = 0; m < methods; m ++) {
+                        addMethod(cls, "i" + i + "m" + m, m);
+                    }
+                }
+            }
+            last = define(cls);
+            superName = name;
+        }
+        return last;
+    }
+
+    private static String returnType(final int m) {
+        final String descriptor = DESCRIPTORS[m % DESCRIPTORS.length];
+        return descriptor.substring(descriptor.indexOf(')') + 1);
+    }
+
+    private static String[] parameterTypes(final int m) {
+        final String descriptor = DESCRIPTORS[m % DESCRIPTORS.length];
+        final String parameters = descriptor.substring(1, descriptor.indexOf(')'));
+        final List<String> list = new ArrayList<>();
+        int i = 0;
+        while (i < parameters.length()) {
+            final int start = i;
+            if (parameters.charAt(i) == 'L') {
+                i = parameters.indexOf(';', i) + 1;
+            } else {
+                i ++;
+            }
+            list.add(parameters.substring(start, i));
+        }
+        return list.toArray(new String[0]);
+    }
+
+    private static void addMethod(final ClassFile cls, final String name, final int m) {
+        final ClassMethod method = cls.addMethod(AccessFlag.PUBLIC, name, returnType(m), parameterTypes(m));
+        final CodeAttribute code = method.getCodeAttribute();
+        switch (returnType(m).charAt(0)) {
+            case 'V': break;
+            case 'I': code.iconst(0); break;
+            case 'J': code.lconst(0); break;
+            case 'D': code.dconst(0); break;
+            default: code.aconstNull(); break;
+        }
+        code.returnInstruction();
+    }
+
+    private Class<?> define(final ClassFile classFile) {
+        final byte[] bytes = classFile.toBytecode();
+        return defineClass(classFile.getName(), bytes, 0, bytes.length, (ProtectionDomain) null);
+    }
+
+    public Class<?> defineClass(final ClassLoader loader, final String name, final byte[] b, final int off, final int len, final ProtectionDomain protectionDomain) throws ClassFormatError {
+        return defineClass(name, b, off, len, protectionDomain);
+    }
+}
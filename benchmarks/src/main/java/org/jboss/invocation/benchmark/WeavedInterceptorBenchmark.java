@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the deprecated {@linkplain Interceptors#getWeavedInterceptor(Interceptor...) weaved
+ * interceptor} against a chained interceptor holding the same interceptors.  The weaved interceptor is always followed
+ * by the terminal interceptor in the outer chain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WeavedInterceptorBenchmark {
+
+    @Param({ "1", "4", "16" })
+    int length;
+
+    private Interceptor[] weaved;
+    private Interceptor[] chained;
+    private InterceptorContext context;
+
+    @Setup
+    public void setup() {
+        final Interceptor[] chain = BenchmarkInterceptors.passThroughChain(length);
+        final Interceptor[] inner = new Interceptor[length];
+        System.arraycopy(chain, 0, inner, 0, length);
+        final Interceptor terminal = chain[length];
+        weaved = new Interceptor[] { Interceptors.getWeavedInterceptor(inner), terminal };
+        chained = new Interceptor[] { Interceptors.getChainedInterceptor(chain) };
+        context = new InterceptorContext();
+        context.setParameters(new Object[] { "result" });
+    }
+
+    @Benchmark
+    public Object weaved() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(weaved);
+        return context.proceed();
+    }
+
+    @Benchmark
+    public Object chained() throws Exception {
+        final InterceptorContext context = this.context;
+        context.setInterceptors(chained);
+        return context.proceed();
+    }
+}
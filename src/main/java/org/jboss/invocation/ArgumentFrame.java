@@ -0,0 +1,312 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation;
+
+import static org.jboss.invocation.InvocationMessages.msg;
+
+import org.wildfly.common.Assert;
+
+/**
+ * A frame of method arguments which keeps primitive arguments unboxed.  Primitive values are stored as raw bits in
+ * a {@code long} array and reference values in an object array; an {@code Object[]} of boxed values is only built
+ * when {@link #toArray()} is called, for example by {@link InterceptorContext#getParameters()}.
+ * <p>
+ * The parameter type array given to a frame is not copied, so callers should cache it per method and must not
+ * modify it.
+ */
+public final class ArgumentFrame {
+
+    private static final Object[] NO_OBJECTS = new Object[0];
+    private static final long[] NO_LONGS = new long[0];
+
+    private final Class<?>[] parameterTypes;
+    private final long[] primitives;
+    private final Object[] references;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param parameterTypes the parameter types of the invoked method
+     */
+    public ArgumentFrame(final Class<?>[] parameterTypes) {
+        Assert.checkNotNullParam("parameterTypes", parameterTypes);
+        this.parameterTypes = parameterTypes;
+        boolean hasPrimitive = false;
+        boolean hasReference = false;
+        for (Class<?> type : parameterTypes) {
+            if (type.isPrimitive()) {
+                hasPrimitive = true;
+            } else {
+                hasReference = true;
+            }
+        }
+        final int length = parameterTypes.length;
+        primitives = hasPrimitive ? new long[length] : NO_LONGS;
+        references = hasReference ? new Object[length] : NO_OBJECTS;
+    }
+
+    /**
+     * Get the number of arguments in this frame.
+     *
+     * @return the number of arguments
+     */
+    public int size() {
+        return parameterTypes.length;
+    }
+
+    /**
+     * Get the type of the given parameter.
+     *
+     * @param index the parameter index
+     * @return the parameter type
+     */
+    public Class<?> getParameterType(final int index) {
+        return parameterTypes[index];
+    }
+
+    /**
+     * Set a {@code boolean} argument.
+     *
+     * @param index the parameter index
+     * @param value the argument value
+     */
+    public void setBoolean(final int index, final boolean value) {
+        primitives[check(index, boolean.class)] = value ? 1 : 0;
+    }
+
+    /**
+     * Set a {@code byte} argument.
+     *
+     * @param index the parameter index
+     * @param value the argument value
+     */
+    public void setByte(final int index, final byte value) {
+        primitives[check(index, byte.class)] = value;
+    }
+
+    /**
+     * Set a {@code short} argument.
+     *
+     * @param index the parameter index
+     * @param value the argument value
+     */
+    public void setShort(final int index, final short value) {
+        primitives[check(index, short.class)] = value;
+    }
+
+    /**
+     * Set a {@code char} argument.
+     *
+     * @param index the parameter index
+     * @param value the argument value
+     */
+    public void setChar(final int index, final char value) {
+        primitives[check(index, char.class)] = value;
+    }
+
+    /**
+     * Set an {@code int} argument.
+     *
+     * @param index the parameter index
+     * @param value the argument value
+     */
+    public void setInt(final int index, final int value) {
+        primitives[check(index, int.class)] = value;
+    }
+
+    /**
+     * Set a {@code long} argument.
+     *
+     * @param index the parameter index
+     * @param value the argument value
+     */
+    public void setLong(final int index, final long value) {
+        primitives[check(index, long.class)] = value;
+    }
+
+    /**
+     * Set a {@code float} argument.
+     *
+     * @param index the parameter index
+     * @param value the argument value
+     */
+    public void setFloat(final int index, final float value) {
+        primitives[check(index, float.class)] = Float.floatToRawIntBits(value);
+    }
+
+    /**
+     * Set a {@code double} argument.
+     *
+     * @param index the parameter index
+     * @param value the argument value
+     */
+    public void setDouble(final int index, final double value) {
+        primitives[check(index, double.class)] = Double.doubleToRawLongBits(value);
+    }
+
+    /**
+     * Set a reference argument.
+     *
+     * @param index the parameter index
+     * @param value the argument value
+     */
+    public void setObject(final int index, final Object value) {
+        if (parameterTypes[index].isPrimitive()) {
+            throw msg.wrongParameterType(index, parameterTypes[index], Object.class);
+        }
+        references[index] = value;
+    }
+
+    /**
+     * Get a {@code boolean} argument.
+     *
+     * @param index the parameter index
+     * @return the argument value
+     */
+    public boolean getBoolean(final int index) {
+        return primitives[check(index, boolean.class)] != 0;
+    }
+
+    /**
+     * Get a {@code byte} argument.
+     *
+     * @param index the parameter index
+     * @return the argument value
+     */
+    public byte getByte(final int index) {
+        return (byte) primitives[check(index, byte.class)];
+    }
+
+    /**
+     * Get a {@code short} argument.
+     *
+     * @param index the parameter index
+     * @return the argument value
+     */
+    public short getShort(final int index) {
+        return (short) primitives[check(index, short.class)];
+    }
+
+    /**
+     * Get a {@code char} argument.
+     *
+     * @param index the parameter index
+     * @return the argument value
+     */
+    public char getChar(final int index) {
+        return (char) primitives[check(index, char.class)];
+    }
+
+    /**
+     * Get an {@code int} argument.
+     *
+     * @param index the parameter index
+     * @return the argument value
+     */
+    public int getInt(final int index) {
+        return (int) primitives[check(index, int.class)];
+    }
+
+    /**
+     * Get a {@code long} argument.
+     *
+     * @param index the parameter index
+     * @return the argument value
+     */
+    public long getLong(final int index) {
+        return primitives[check(index, long.class)];
+    }
+
+    /**
+     * Get a {@code float} argument.
+     *
+     * @param index the parameter index
+     * @return the argument value
+     */
+    public float getFloat(final int index) {
+        return Float.intBitsToFloat((int) primitives[check(index, float.class)]);
+    }
+
+    /**
+     * Get a {@code double} argument.
+     *
+     * @param index the parameter index
+     * @return the argument value
+     */
+    public double getDouble(final int index) {
+        return Double.longBitsToDouble(primitives[check(index, double.class)]);
+    }
+
+    /**
+     * Get an argument, boxing it if it is primitive.
+     *
+     * @param index the parameter index
+     * @return the argument value
+     */
+    public Object getObject(final int index) {
+        final Class<?> type = parameterTypes[index];
+        if (! type.isPrimitive()) {
+            return references[index];
+        }
+        final long bits = primitives[index];
+        if (type == int.class) {
+            return Integer.valueOf((int) bits);
+        } else if (type == long.class) {
+            return Long.valueOf(bits);
+        } else if (type == boolean.class) {
+            return Boolean.valueOf(bits != 0);
+        } else if (type == double.class) {
+            return Double.valueOf(Double.longBitsToDouble(bits));
+        } else if (type == float.class) {
+            return Float.valueOf(Float.intBitsToFloat((int) bits));
+        } else if (type == byte.class) {
+            return Byte.valueOf((byte) bits);
+        } else if (type == short.class) {
+            return Short.valueOf((short) bits);
+        } else {
+            return Character.valueOf((char) bits);
+        }
+    }
+
+    /**
+     * Get the arguments as an array, boxing primitive arguments.  A new array is returned on every call, except that a
+     * frame without parameters always returns the same empty array.
+     *
+     * @return the argument array
+     */
+    public Object[] toArray() {
+        final int length = parameterTypes.length;
+        if (length == 0) {
+            return NO_OBJECTS;
+        }
+        final Object[] array = new Object[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = getObject(i);
+        }
+        return array;
+    }
+
+    private int check(final int index, final Class<?> expected) {
+        final Class<?> type = parameterTypes[index];
+        if (type != expected) {
+            throw msg.wrongParameterType(index, type, expected);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An interceptor which can process invocations asynchronously.  Rather than calling {@link InterceptorContext#proceed()},
+ * an asynchronous interceptor calls {@link InterceptorContext#proceedAsync()} and attaches its post-invocation logic to
+ * the returned stage, so that no thread is held while the remainder of the chain completes.
+ * <p>
+ * {@code proceedAsync()} must be called from within {@link #processInvocationAsync(InterceptorContext)} itself,
+ * not from a later stage; an interceptor which needs to proceed at a later time must
+ * {@linkplain InterceptorContext#clone() clone} the context and proceed on the clone.
+ * <p>
+ * Cancelling a stage returned by {@code proceedAsync()} (or a stage derived from it) cancels the stage returned
+ * by the next interceptor, and so on down the chain.
+ * <p>
+ * Only the part of a chain in front of its first synchronous interceptor is asynchronous.  A synchronous interceptor
+ * proceeds with {@link InterceptorContext#proceed()}, so an asynchronous interceptor behind it is invoked through
+ * {@link #processInvocation(InterceptorContext)} and the thread waits for its stage; asynchronous interceptors should
+ * therefore be placed ahead of synchronous ones.  Wrapping a synchronous interceptor with
+ * {@link Interceptors#getAsyncInterceptor(Interceptor)} does not change this.
+ */
+public interface AsyncInterceptor extends Interceptor {
+
+    /**
+     * Process an invocation asynchronously.
+     *
+     * @param context the interceptor context
+     * @return the stage which completes with the result of the invocation (must not be {@code null})
+     * @throws Exception if the invocation failed before it could be started
+     */
+    CompletionStage<Object> processInvocationAsync(InterceptorContext context) throws Exception;
+
+    /**
+     * Process an invocation synchronously, by waiting for the asynchronous result.  This is how an asynchronous
+     * interceptor is invoked when a synchronous interceptor in front of it proceeds, and it blocks the calling thread
+     * until the stage completes.
+     *
+     * @param context the interceptor context
+     * @return the result of the invocation
+     * @throws Exception if the invocation failed
+     */
+    default Object processInvocation(InterceptorContext context) throws Exception {
+        return AsyncInvocationFuture.join(processInvocationAsync(context));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation;
+
+import static org.jboss.invocation.InvocationMessages.msg;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A future for the result of an asynchronous invocation step.  Cancelling this future, or any future derived from it
+ * by the {@code CompletionStage} methods, also cancels the future of the step it was linked to.
+ */
+final class AsyncInvocationFuture extends CompletableFuture<Object> {
+
+    private final CompletableFuture<?> source;
+
+    AsyncInvocationFuture(final CompletableFuture<?> source) {
+        this.source = source;
+    }
+
+    /**
+     * Link to the given stage, so that the returned stage completes with it and propagates cancellation to it.
+     *
+     * @param stage the stage of the next step
+     * @return the linked stage
+     */
+    static CompletionStage<Object> link(final CompletionStage<Object> stage) {
+        final CompletableFuture<Object> future;
+        try {
+            future = stage.toCompletableFuture();
+        } catch (UnsupportedOperationException ignored) {
+            return stage;
+        }
+        if (future.isDone()) {
+            return future;
+        }
+        final AsyncInvocationFuture linked = new AsyncInvocationFuture(future);
+        future.whenComplete((result, failure) -> {
+            if (failure == null) {
+                linked.complete(result);
+            } else {
+                linked.completeExceptionally(failure);
+            }
+        });
+        return linked;
+    }
+
+    /**
+     * Get a stage which has failed with the given exception.
+     *
+     * @param cause the failure
+     * @return the failed stage
+     */
+    static CompletionStage<Object> failed(final Throwable cause) {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        future.completeExceptionally(cause);
+        return future;
+    }
+
+    /**
+     * Wait for the result of the given stage.  If the waiting thread is interrupted, the stage is cancelled.
+     *
+     * @param stage the stage
+     * @return the result
+     * @throws Exception if the stage failed
+     */
+    static Object join(final CompletionStage<Object> stage) throws Exception {
+        final CompletableFuture<Object> future = stage.toCompletableFuture();
+        try {
+            return future.get();
+        } catch (ExecutionException | CompletionException e) {
+            throw Interceptors.rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            final CancellationException cancelled = msg.invocationCancelled();
+            cancelled.initCause(e);
+            throw cancelled;
+        }
+    }
+
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        final boolean cancelled = super.cancel(mayInterruptIfRunning);
+        final CompletableFuture<?> source = this.source;
+        if (source != null) {
+            source.cancel(mayInterruptIfRunning);
+        }
+        return cancelled;
+    }
+
+    public <U> CompletableFuture<U> newIncompleteFuture() {
+        return new Derived<>(this);
+    }
+
+    static final class Derived<U> extends CompletableFuture<U> {
+        private final CompletableFuture<?> source;
+
+        Derived(final CompletableFuture<?> source) {
+            this.source = source;
+        }
+
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            source.cancel(mayInterruptIfRunning);
+            return cancelled;
+        }
+
+        public <V> CompletableFuture<V> newIncompleteFuture() {
+            return new Derived<>(this);
+        }
+    }
+}
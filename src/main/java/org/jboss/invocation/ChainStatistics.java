@@ -0,0 +1,347 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.jboss.invocation.InvocationMessages.msg;
+
+import org.wildfly.common.Assert;
+
+/**
+ * Self-time statistics for the positions of a timed interceptor chain, as built by
+ * {@link Interceptors#getTimedChainedInterceptor(ChainStatistics, Interceptor...)}.  The self time of a position is
+ * the time spent in its interceptor, excluding the time spent further down the chain when it proceeds.  Durations are
+ * kept per method in fixed-size histograms, and can be read as a {@linkplain #getMethodSnapshots() snapshot} or
+ * through JMX by registering this object with an {@link javax.management.MBeanServer}.  Each method and position
+ * takes about 2.2 KB; a position whose updates contend is striped across processors, and then takes about 2.3 KB
+ * more for each processor, up to four, so a heavily contended one takes about 11 KB.  The histograms of the methods of a class are held by the class itself, so
+ * they do not keep it from being unloaded, and are dropped along with it.
+ * <p>
+ * Reading the clock is the main cost of timing an invocation, at two clock reads per interceptor, so only one
+ * invocation in every {@linkplain #getSampleInterval() sample interval} is timed on average; the others walk the chain
+ * without any timing.
+ * Only synchronous invocations on the invoking thread are timed.
+ */
+public final class ChainStatistics implements ChainStatisticsMXBean {
+
+    /**
+     * The default sample interval.
+     */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+    private static final String[] NO_INTERCEPTORS = new String[0];
+    // a proxy class has at most 65535 methods
+    private static final int MAX_INDEXED = 65536;
+
+    private final String name;
+    private final int sampleInterval;
+    /**
+     * The histograms of the methods of every class, for enumeration; guarded by itself.
+     */
+    private final List<WeakReference<ConcurrentHashMap<Method, LatencyHistogram[]>>> classes = new ArrayList<>();
+    /**
+     * The histograms of the methods of each class, held by the class.
+     */
+    private final ClassValue<ConcurrentHashMap<Method, LatencyHistogram[]>> histograms = new ClassValue<ConcurrentHashMap<Method, LatencyHistogram[]>>() {
+        protected ConcurrentHashMap<Method, LatencyHistogram[]> computeValue(final Class<?> type) {
+            final ConcurrentHashMap<Method, LatencyHistogram[]> methodHistograms = new ConcurrentHashMap<>();
+            synchronized (classes) {
+                classes.add(new WeakReference<>(methodHistograms));
+            }
+            return methodHistograms;
+        }
+    };
+    /**
+     * The histograms of invocations without a method, which are created on first use.
+     */
+    private volatile LatencyHistogram[] noMethod;
+    /**
+     * The histograms of invoked methods by method index, which is created on first use and grown as needed.
+     */
+    private volatile Entry[] indexedEntries;
+    private volatile String[] interceptors = NO_INTERCEPTORS;
+
+    /**
+     * Construct a new instance with the {@linkplain #DEFAULT_SAMPLE_INTERVAL default sample interval}.
+     *
+     * @param name the name of the chain (must not be {@code null})
+     */
+    public ChainStatistics(final String name) {
+        this(name, DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param name the name of the chain (must not be {@code null})
+     * @param sampleInterval the average number of invocations for each timed invocation (must be at least 1)
+     */
+    public ChainStatistics(final String name, final int sampleInterval) {
+        Assert.checkNotNullParam("name", name);
+        Assert.checkMinimumParameter("sampleInterval", 1, sampleInterval);
+        this.name = name;
+        this.sampleInterval = sampleInterval;
+    }
+
+    /** {@inheritDoc} */
+    public String getName() {
+        return name;
+    }
+
+    /** {@inheritDoc} */
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /** {@inheritDoc} */
+    public String[] getInterceptors() {
+        return interceptors.clone();
+    }
+
+    /** {@inheritDoc} */
+    public String[] getMethods() {
+        return entries().keySet().stream().map(ChainStatistics::describe).sorted().toArray(String[]::new);
+    }
+
+    /** {@inheritDoc} */
+    public LatencySnapshot[] getPositions() {
+        final int length = interceptors.length;
+        final long[][] accumulators = new long[length][LatencyHistogram.ACCUMULATOR_LENGTH];
+        for (LatencyHistogram[] positions : entries().values()) {
+            for (int i = 0; i < length; i++) {
+                positions[i].addTo(accumulators[i]);
+            }
+        }
+        final LatencySnapshot[] snapshots = new LatencySnapshot[length];
+        for (int i = 0; i < length; i++) {
+            snapshots[i] = new LatencySnapshot(accumulators[i]);
+        }
+        return snapshots;
+    }
+
+    /** {@inheritDoc} */
+    public LatencySnapshot[] getMethodPositions(final String method) {
+        for (Map.Entry<Method, LatencyHistogram[]> entry : entries().entrySet()) {
+            if (describe(entry.getKey()).equals(method)) {
+                return snapshot(entry.getValue());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the self time of each position of the chain for each method.  Invocations without a method, such as
+     * lifecycle callbacks, are reported under the {@code null} key.
+     *
+     * @return the snapshots for each method
+     */
+    public Map<Method, LatencySnapshot[]> getMethodSnapshots() {
+        final Map<Method, LatencySnapshot[]> snapshots = new HashMap<>();
+        for (Map.Entry<Method, LatencyHistogram[]> entry : entries().entrySet()) {
+            snapshots.put(entry.getKey(), snapshot(entry.getValue()));
+        }
+        return snapshots;
+    }
+
+    /** {@inheritDoc} */
+    public void reset() {
+        synchronized (classes) {
+            noMethod = null;
+            indexedEntries = null;
+            for (WeakReference<ConcurrentHashMap<Method, LatencyHistogram[]>> reference : classes) {
+                final ConcurrentHashMap<Method, LatencyHistogram[]> methodHistograms = reference.get();
+                if (methodHistograms != null) {
+                    methodHistograms.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the histograms of every method, dropping the references to the histograms of classes which were unloaded.
+     *
+     * @return the histograms of each method, with those of invocations without a method under the {@code null} key
+     */
+    private Map<Method, LatencyHistogram[]> entries() {
+        final Map<Method, LatencyHistogram[]> entries = new HashMap<>();
+        final LatencyHistogram[] noMethod = this.noMethod;
+        if (noMethod != null) {
+            entries.put(null, noMethod);
+        }
+        synchronized (classes) {
+            final Iterator<WeakReference<ConcurrentHashMap<Method, LatencyHistogram[]>>> iterator = classes.iterator();
+            while (iterator.hasNext()) {
+                final ConcurrentHashMap<Method, LatencyHistogram[]> methodHistograms = iterator.next().get();
+                if (methodHistograms == null) {
+                    iterator.remove();
+                } else {
+                    entries.putAll(methodHistograms);
+                }
+            }
+        }
+        return entries;
+    }
+
+    public String toString() {
+        return "chain statistics \"" + name + "\"";
+    }
+
+    /**
+     * Bind these statistics to the positions of a chain.  All chains timed by the same statistics must have the
+     * same length.
+     *
+     * @param chain the interceptors of the chain
+     */
+    void bind(final Interceptor[] chain) {
+        synchronized (classes) {
+            final String[] interceptors = this.interceptors;
+            if (interceptors.length == 0) {
+                final String[] names = new String[chain.length];
+                for (int i = 0; i < chain.length; i++) {
+                    names[i] = chain[i].getClass().getName();
+                }
+                this.interceptors = names;
+            } else if (interceptors.length != chain.length) {
+                throw msg.wrongChainLength(chain.length, this, interceptors.length);
+            }
+        }
+    }
+
+    /**
+     * Determine whether the current invocation should be timed.
+     *
+     * @return {@code true} to time the invocation
+     */
+    boolean sample() {
+        return sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0;
+    }
+
+    /**
+     * Get the histograms for the positions of the chain for a method.  If the index of the method is known, the
+     * histograms are found in a table indexed by method rather than by hashing the method.
+     *
+     * @param methodIndex the index of the method in its proxy class, or {@code -1} if it is not known
+     * @param method the invoked method, or {@code null} if there is none
+     * @return the histograms
+     */
+    LatencyHistogram[] getHistograms(final int methodIndex, final Method method) {
+        final Entry[] entries = this.indexedEntries;
+        if (entries != null && methodIndex >= 0 && methodIndex < entries.length) {
+            final Entry entry = entries[methodIndex];
+            // the method is checked, as the chain may be invoked through proxy classes with different indices
+            if (entry != null && entry.get() == method) {
+                return entry.histograms;
+            }
+        }
+        if (methodIndex < 0 || methodIndex >= MAX_INDEXED || method == null) {
+            return getHistograms(method);
+        }
+        // entries are added under the lock, so that a concurrent reset cannot leave dropped histograms in the table
+        synchronized (classes) {
+            final LatencyHistogram[] positions = getHistograms(method);
+            Entry[] current = this.indexedEntries;
+            if (current == null || methodIndex >= current.length) {
+                current = current == null ? new Entry[Math.max(16, methodIndex + 1)] : Arrays.copyOf(current, Math.max(current.length << 1, methodIndex + 1));
+            }
+            current[methodIndex] = new Entry(method, positions);
+            this.indexedEntries = current;
+            return positions;
+        }
+    }
+
+    /**
+     * Get the histograms for the positions of the chain for a method, creating them if needed.
+     *
+     * @param method the invoked method, or {@code null} if there is none
+     * @return the histograms
+     */
+    LatencyHistogram[] getHistograms(final Method method) {
+        if (method == null) {
+            LatencyHistogram[] positions = noMethod;
+            if (positions == null) {
+                // racing threads may each create histograms, and lose the samples recorded in all but one
+                noMethod = positions = newHistograms();
+            }
+            return positions;
+        }
+        final ConcurrentHashMap<Method, LatencyHistogram[]> methodHistograms = histograms.get(method.getDeclaringClass());
+        LatencyHistogram[] positions = methodHistograms.get(method);
+        if (positions == null) {
+            positions = newHistograms();
+            final LatencyHistogram[] appearing = methodHistograms.putIfAbsent(method, positions);
+            if (appearing != null) {
+                positions = appearing;
+            }
+        }
+        return positions;
+    }
+
+    private LatencyHistogram[] newHistograms() {
+        final int length = interceptors.length;
+        final LatencyHistogram[] positions = new LatencyHistogram[length];
+        for (int i = 0; i < length; i++) {
+            positions[i] = new LatencyHistogram();
+        }
+        return positions;
+    }
+
+    private static LatencySnapshot[] snapshot(final LatencyHistogram[] positions) {
+        final LatencySnapshot[] snapshots = new LatencySnapshot[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            final long[] accumulator = new long[LatencyHistogram.ACCUMULATOR_LENGTH];
+            positions[i].addTo(accumulator);
+            snapshots[i] = new LatencySnapshot(accumulator);
+        }
+        return snapshots;
+    }
+
+    private static String describe(final Method method) {
+        if (method == null) {
+            return "";
+        }
+        final StringBuilder b = new StringBuilder();
+        b.append(method.getDeclaringClass().getName()).append('.').append(method.getName()).append('(');
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                b.append(',');
+            }
+            b.append(parameterTypes[i].getTypeName());
+        }
+        return b.append(')').toString();
+    }
+
+    static final class Entry extends WeakReference<Method> {
+        final LatencyHistogram[] histograms;
+
+        Entry(final Method method, final LatencyHistogram[] histograms) {
+            super(method);
+            this.histograms = histograms;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation;
+
+/**
+ * The management interface of {@link ChainStatistics}.  Each array of snapshots holds one snapshot for each position
+ * of the chain, in the order of {@link #getInterceptors()}.
+ */
+public interface ChainStatisticsMXBean {
+
+    /**
+     * Get the name of the chain.
+     *
+     * @return the name of the chain
+     */
+    String getName();
+
+    /**
+     * Get the sample interval.  On average, one invocation in this many is timed.
+     *
+     * @return the sample interval
+     */
+    int getSampleInterval();
+
+    /**
+     * Get the class names of the interceptors at each position of the chain.
+     *
+     * @return the interceptor class names, or an empty array if no chain has been created yet
+     */
+    String[] getInterceptors();
+
+    /**
+     * Get the methods for which invocations have been recorded.  Invocations without a method, such as lifecycle
+     * callbacks, are recorded under the empty string.
+     *
+     * @return the method descriptions
+     */
+    String[] getMethods();
+
+    /**
+     * Get the self time of each position of the chain over all methods.
+     *
+     * @return the snapshots
+     */
+    LatencySnapshot[] getPositions();
+
+    /**
+     * Get the self time of each position of the chain for one method.
+     *
+     * @param method the method description, as returned by {@link #getMethods()}
+     * @return the snapshots, or {@code null} if no invocation of the method has been recorded
+     */
+    LatencySnapshot[] getMethodPositions(String method);
+
+    /**
+     * Discard all recorded invocations.
+     */
+    void reset();
+}
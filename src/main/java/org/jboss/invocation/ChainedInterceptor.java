@@ -19,6 +19,7 @@
 package org.jboss.invocation;
 
 import java.io.Serializable;
+import java.util.concurrent.CompletionStage;
 
 import org.wildfly.common.Assert;
 
@@ -28,7 +29,7 @@ import org.wildfly.common.Assert;
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
-class ChainedInterceptor implements Interceptor, Serializable {
+class ChainedInterceptor implements AsyncInterceptor, Serializable {
 
     private static final long serialVersionUID = 7951017996430287249L;
 
@@ -44,15 +45,71 @@ class ChainedInterceptor implements Interceptor, Serializable {
         this.interceptors = interceptors;
     }
 
+    /**
+     * Get the child interceptors.
+     *
+     * @return the child interceptors
+     */
+    Interceptor[] getInterceptors() {
+        return interceptors;
+    }
+
+    /**
+     * Inline the interceptors of nested chains into the given array.  A nested chain which is the last element of a
+     * chain runs as the remainder of the enclosing chain, so its interceptors can take its place without changing the
+     * outcome of any invocation, even for interceptors which proceed more than once.  A nested chain elsewhere in the
+     * array cannot proceed into the interceptors following it, so it is left in place.
+     *
+     * @param interceptors the interceptors of the chain
+     * @return the flattened interceptors, or the given array if there is no nested chain to inline
+     */
+    static Interceptor[] flatten(final Interceptor[] interceptors) {
+        int length = interceptors.length;
+        if (length == 0 || ! (interceptors[length - 1] instanceof ChainedInterceptor)) {
+            return interceptors;
+        }
+        Interceptor[] tail = interceptors;
+        int size = 0;
+        do {
+            size += tail.length - 1;
+            tail = ((ChainedInterceptor) tail[tail.length - 1]).interceptors;
+        } while (tail.length > 0 && tail[tail.length - 1] instanceof ChainedInterceptor);
+        final Interceptor[] flattened = new Interceptor[size + tail.length];
+        int pos = 0;
+        tail = interceptors;
+        while (tail.length > 0 && tail[tail.length - 1] instanceof ChainedInterceptor) {
+            length = tail.length - 1;
+            System.arraycopy(tail, 0, flattened, pos, length);
+            pos += length;
+            tail = ((ChainedInterceptor) tail[length]).interceptors;
+        }
+        System.arraycopy(tail, 0, flattened, pos, tail.length);
+        return flattened;
+    }
+
     /** {@inheritDoc} */
     public Object processInvocation(final InterceptorContext context) throws Exception {
         final int oldNext = context.getNextInterceptorIndex();
         final Interceptor[] old = context.getInterceptors();
-        context.setInterceptors(interceptors);
+        final CompiledChain oldChain = context.getCompiledChain();
+        context.setInterceptors(interceptors, 0, null);
         try {
             return context.proceed();
         } finally {
-            context.setInterceptors(old, oldNext);
+            context.setInterceptors(old, oldNext, oldChain);
+        }
+    }
+
+    /** {@inheritDoc} */
+    public CompletionStage<Object> processInvocationAsync(final InterceptorContext context) throws Exception {
+        final int oldNext = context.getNextInterceptorIndex();
+        final Interceptor[] old = context.getInterceptors();
+        final CompiledChain oldChain = context.getCompiledChain();
+        context.setInterceptors(interceptors, 0, null);
+        try {
+            return context.proceedAsync();
+        } finally {
+            context.setInterceptors(old, oldNext, oldChain);
         }
     }
 }
@@ -30,10 +30,30 @@ final class ChainedInterceptorFactory implements InterceptorFactory, Serializabl
     private static final long serialVersionUID = -4300168217824335867L;
 
     private final InterceptorFactory[] interceptorFactories;
+    private final boolean flatten;
+    /**
+     * The statistics of timed chains, which belong to this JVM and are not serialized; a deserialized factory builds
+     * chains which are not timed.
+     */
+    private final transient ChainStatistics statistics;
 
     ChainedInterceptorFactory(final InterceptorFactory... interceptorFactories) {
+        this(false, interceptorFactories);
+    }
+
+    ChainedInterceptorFactory(final boolean flatten, final InterceptorFactory... interceptorFactories) {
         Assert.checkNotNullParam("interceptorFactories", interceptorFactories);
         this.interceptorFactories = interceptorFactories;
+        this.flatten = flatten;
+        statistics = null;
+    }
+
+    ChainedInterceptorFactory(final ChainStatistics statistics, final InterceptorFactory... interceptorFactories) {
+        Assert.checkNotNullParam("statistics", statistics);
+        Assert.checkNotNullParam("interceptorFactories", interceptorFactories);
+        this.interceptorFactories = interceptorFactories;
+        this.statistics = statistics;
+        flatten = true;
     }
 
     /** {@inheritDoc}
@@ -45,6 +65,9 @@ final class ChainedInterceptorFactory implements InterceptorFactory, Serializabl
         for (int i = 0; i < length; i++) {
             interceptors[i] = factories[i].create(context);
         }
-        return new ChainedInterceptor(interceptors);
+        if (statistics != null) {
+            return new TimedChainedInterceptor(statistics, ChainedInterceptor.flatten(interceptors));
+        }
+        return new ChainedInterceptor(flatten ? ChainedInterceptor.flatten(interceptors) : interceptors);
     }
 }
@@ -0,0 +1,291 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.classfilewriter.AccessFlag;
+import org.jboss.classfilewriter.ClassFile;
+import org.jboss.classfilewriter.ClassMethod;
+import org.jboss.classfilewriter.code.BranchEnd;
+import org.jboss.classfilewriter.code.CodeAttribute;
+import org.jboss.classfilewriter.code.ExceptionHandler;
+import org.jboss.classfilewriter.code.TableSwitchBuilder;
+import org.jboss.classfilewriter.util.DescriptorUtils;
+
+/**
+ * A compiled interceptor chain.  Subclasses are generated once per chain shape (that is, per sequence of interceptor
+ * classes) and dispatch each position of the chain from its own call site, so that the JIT sees a monomorphic
+ * receiver at every position instead of the single megamorphic site in {@link InterceptorContext#proceed()}.
+ * <p>
+ * A compiled chain is itself the interceptor for its shape.  Its generated {@link #processInvocation(InterceptorContext)}
+ * is the entry point of the shape: it calls straight into the generated dispatch for the first position, so a caller
+ * which only ever sees one shape inlines the chain from its first interceptor on.  Later positions are reached through
+ * {@link InterceptorContext#proceed()}, which calls the generated dispatch virtually; the position sites inside the
+ * generated class keep their own profiles however many shapes share that call.
+ * <p>
+ * The generated code never refers to the interceptor classes themselves; it always dispatches to the interceptor
+ * which the context found in its interceptor array, so a compiled chain behaves exactly like an array walk.  It is
+ * serialized as a {@link CompiledInterceptor}, which compiles the chain again when it is read.
+ */
+abstract class CompiledChain implements AsyncInterceptor, Serializable {
+
+    private static final long serialVersionUID = 6146271331651346224L;
+
+    /**
+     * The longest chain which is compiled; longer chains are walked as plain arrays.  Beyond about twelve positions the
+     * generated dispatch method is too large to inline well, and once several shapes are in use a compiled chain is
+     * slower than the array walk of a {@link ChainedInterceptor}.
+     */
+    static final int MAX_LENGTH = 12;
+
+    /**
+     * The number of distinct chain shapes which get their own class; further shapes share a class per chain length.
+     */
+    static final int MAX_SHAPES = 512;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, Interceptor[].class);
+    private static final String CLASS_NAME_PREFIX = CompiledChain.class.getName() + "$$";
+    private static final String INTERCEPTOR_DESCRIPTOR = DescriptorUtils.makeDescriptor(Interceptor.class);
+    private static final String CONTEXT_DESCRIPTOR = DescriptorUtils.makeDescriptor(InterceptorContext.class);
+    private static final String CHAIN_DESCRIPTOR = DescriptorUtils.makeDescriptor(CompiledChain.class);
+    private static final String INTERCEPTORS_DESCRIPTOR = "[" + INTERCEPTOR_DESCRIPTOR;
+    private static final String PROCESS_INVOCATION_DESCRIPTOR = "(" + CONTEXT_DESCRIPTOR + ")Ljava/lang/Object;";
+    private static final String DISPATCH_DESCRIPTOR = "(I" + INTERCEPTOR_DESCRIPTOR + CONTEXT_DESCRIPTOR + ")Ljava/lang/Object;";
+    private static final String SET_INTERCEPTORS_DESCRIPTOR = "(" + INTERCEPTORS_DESCRIPTOR + "I" + CHAIN_DESCRIPTOR + ")V";
+    private static final ConcurrentMap<String, MethodHandle> CONSTRUCTORS = new ConcurrentHashMap<>();
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    final Interceptor[] interceptors;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param interceptors the chain interceptors
+     */
+    CompiledChain(final Interceptor[] interceptors) {
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * Dispatch an invocation to the interceptor at the given position.
+     *
+     * @param position the position of the interceptor in the chain
+     * @param next the interceptor at that position
+     * @param context the interceptor context
+     * @return the result of the invocation
+     * @throws Exception if the interceptor throws an exception
+     */
+    abstract Object processInvocation(int position, Interceptor next, InterceptorContext context) throws Exception;
+
+    /** {@inheritDoc} */
+    public CompletionStage<Object> processInvocationAsync(final InterceptorContext context) throws Exception {
+        final int oldNext = context.getNextInterceptorIndex();
+        final Interceptor[] old = context.getInterceptors();
+        final CompiledChain oldChain = context.getCompiledChain();
+        context.setInterceptors(interceptors, 0, this);
+        try {
+            return context.proceedAsync();
+        } finally {
+            context.setInterceptors(old, oldNext, oldChain);
+        }
+    }
+
+    protected Object writeReplace() {
+        return new CompiledInterceptor(interceptors);
+    }
+
+    /**
+     * Compile a chain for the given interceptors.
+     *
+     * @param interceptors the chain interceptors
+     * @return the compiled chain, or {@code null} if the chain cannot be compiled and should be walked as an array
+     */
+    static CompiledChain compile(final Interceptor[] interceptors) {
+        final int length = interceptors.length;
+        if (length == 0 || length > MAX_LENGTH) {
+            return null;
+        }
+        final StringBuilder b = new StringBuilder();
+        for (Interceptor interceptor : interceptors) {
+            if (interceptor == null) {
+                return null;
+            }
+            b.append(interceptor.getClass().getName()).append(';');
+        }
+        String shape = b.toString();
+        if (CONSTRUCTORS.size() >= MAX_SHAPES && ! CONSTRUCTORS.containsKey(shape)) {
+            shape = "#" + length;
+        }
+        MethodHandle constructor = CONSTRUCTORS.get(shape);
+        if (constructor == null) {
+            final MethodHandle created = define(length);
+            if (created == null) {
+                return null;
+            }
+            final MethodHandle appearing = CONSTRUCTORS.putIfAbsent(shape, created);
+            constructor = appearing == null ? created : appearing;
+        }
+        try {
+            return (CompiledChain) constructor.invoke(interceptors);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static MethodHandle define(final int length) {
+        if (System.getSecurityManager() == null) {
+            return doDefine(length);
+        } else {
+            return AccessController.doPrivileged((PrivilegedAction<MethodHandle>) () -> doDefine(length));
+        }
+    }
+
+    private static MethodHandle doDefine(final int length) {
+        final String className = CLASS_NAME_PREFIX + COUNTER.incrementAndGet();
+        final ClassFile classFile = new ClassFile(className, AccessFlag.of(AccessFlag.SUPER, AccessFlag.FINAL, AccessFlag.SYNTHETIC),
+                CompiledChain.class.getName(), CompiledChain.class.getClassLoader(),
+                (loader, name, bytes, off, len, protectionDomain) -> defineInPackage(bytes, off, len));
+
+        final ClassMethod constructor = classFile.addMethod(0, "<init>", "V", INTERCEPTORS_DESCRIPTOR);
+        CodeAttribute ca = constructor.getCodeAttribute();
+        ca.aload(0);
+        ca.aload(1);
+        ca.invokespecial(CompiledChain.class.getName(), "<init>", "(" + INTERCEPTORS_DESCRIPTOR + ")V");
+        ca.returnInstruction();
+
+        emitEntry(classFile, className);
+
+        final ClassMethod method = classFile.addMethod(0, "processInvocation", "Ljava/lang/Object;", "I", INTERCEPTOR_DESCRIPTOR, CONTEXT_DESCRIPTOR);
+        method.addCheckedExceptions(Exception.class.getName());
+        ca = method.getCodeAttribute();
+        ca.iload(1);
+        final TableSwitchBuilder builder = new TableSwitchBuilder(0, length - 1);
+        @SuppressWarnings("unchecked")
+        final AtomicReference<BranchEnd>[] cases = new AtomicReference[length];
+        for (int i = 0; i < length; i++) {
+            cases[i] = builder.add();
+        }
+        ca.tableswitch(builder);
+        // each position gets its own invokeinterface, and therefore its own type profile
+        for (int i = 0; i < length; i++) {
+            ca.branchEnd(cases[i].get());
+            emitDispatch(ca);
+        }
+        ca.branchEnd(builder.getDefaultBranchEnd().get());
+        emitDispatch(ca);
+
+        try {
+            return LOOKUP.findConstructor(classFile.define(), CONSTRUCTOR_TYPE).asType(MethodType.methodType(CompiledChain.class, Interceptor[].class));
+        } catch (RuntimeException | LinkageError | NoSuchMethodException | IllegalAccessException e) {
+            // fall back to the array walk
+            return null;
+        }
+    }
+
+    /**
+     * Emit the entry point of the shape, which behaves like {@link ChainedInterceptor#processInvocation}:
+     * <pre>{@code
+     * int oldNext = context.getNextInterceptorIndex();
+     * Interceptor[] old = context.getInterceptors();
+     * CompiledChain oldChain = context.getCompiledChain();
+     * context.setInterceptors(interceptors, 1, this);
+     * try {
+     *     return processInvocation(0, interceptors[0], context);
+     * } finally {
+     *     context.setInterceptors(old, oldNext, oldChain);
+     * }
+     * }</pre>
+     * The first position is dispatched with this final class as the receiver, so the call is bound statically instead
+     * of going through {@link InterceptorContext#proceed()}.
+     */
+    private static void emitEntry(final ClassFile classFile, final String className) {
+        final String contextClass = InterceptorContext.class.getName();
+        final ClassMethod method = classFile.addMethod(AccessFlag.PUBLIC, "processInvocation", "Ljava/lang/Object;", CONTEXT_DESCRIPTOR);
+        method.addCheckedExceptions(Exception.class.getName());
+        final CodeAttribute ca = method.getCodeAttribute();
+        ca.aload(1);
+        ca.invokevirtual(contextClass, "getNextInterceptorIndex", "()I");
+        ca.istore(2);
+        ca.aload(1);
+        ca.invokevirtual(contextClass, "getInterceptors", "()" + INTERCEPTORS_DESCRIPTOR);
+        ca.astore(3);
+        ca.aload(1);
+        ca.invokevirtual(contextClass, "getCompiledChain", "()" + CHAIN_DESCRIPTOR);
+        ca.astore(4);
+        ca.aload(1);
+        ca.aload(0);
+        ca.getfield(CompiledChain.class.getName(), "interceptors", INTERCEPTORS_DESCRIPTOR);
+        ca.iconst(1);
+        ca.aload(0);
+        ca.invokevirtual(contextClass, "setInterceptors", SET_INTERCEPTORS_DESCRIPTOR);
+        final ExceptionHandler handler = ca.exceptionBlockStart(Throwable.class.getName());
+        ca.aload(0);
+        ca.iconst(0);
+        ca.aload(0);
+        ca.getfield(CompiledChain.class.getName(), "interceptors", INTERCEPTORS_DESCRIPTOR);
+        ca.iconst(0);
+        ca.aaload();
+        ca.aload(1);
+        ca.invokevirtual(className, "processInvocation", DISPATCH_DESCRIPTOR);
+        ca.exceptionBlockEnd(handler);
+        emitRestore(ca);
+        ca.returnInstruction();
+        ca.exceptionHandlerStart(handler);
+        emitRestore(ca);
+        ca.athrow();
+    }
+
+    private static void emitRestore(final CodeAttribute ca) {
+        ca.aload(1);
+        ca.aload(3);
+        ca.iload(2);
+        ca.aload(4);
+        ca.invokevirtual(InterceptorContext.class.getName(), "setInterceptors", SET_INTERCEPTORS_DESCRIPTOR);
+    }
+
+    private static void emitDispatch(final CodeAttribute ca) {
+        ca.aload(2);
+        ca.aload(3);
+        ca.invokeinterface(Interceptor.class.getName(), "processInvocation", PROCESS_INVOCATION_DESCRIPTOR);
+        ca.returnInstruction();
+    }
+
+    private static Class<?> defineInPackage(final byte[] bytes, final int off, final int len) {
+        try {
+            return LOOKUP.defineClass(off == 0 && len == bytes.length ? bytes : Arrays.copyOfRange(bytes, off, off + len));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletionStage;
+
+import org.wildfly.common.Assert;
+
+/**
+ * An interceptor which passes invocations through a series of nested interceptors which could not be compiled into a
+ * {@link CompiledChain}, walking them like a {@link ChainedInterceptor}.  It is also the serialized form of a compiled
+ * chain, which is compiled again when it is read.
+ */
+class CompiledInterceptor implements AsyncInterceptor, Serializable {
+
+    private static final long serialVersionUID = -1803583925542364741L;
+
+    private final Interceptor[] interceptors;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param interceptors the child interceptors
+     */
+    CompiledInterceptor(final Interceptor... interceptors) {
+        Assert.checkNotNullParam("interceptors", interceptors);
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * Get the child interceptors.
+     *
+     * @return the child interceptors
+     */
+    Interceptor[] getInterceptors() {
+        return interceptors;
+    }
+
+    /**
+     * Create an interceptor for the given chain, which is the compiled chain for its shape if it can be compiled.
+     *
+     * @param interceptors the child interceptors
+     * @return the interceptor
+     */
+    static Interceptor create(final Interceptor[] interceptors) {
+        Assert.checkNotNullParam("interceptors", interceptors);
+        final CompiledChain compiledChain = CompiledChain.compile(interceptors);
+        return compiledChain == null ? new CompiledInterceptor(interceptors) : compiledChain;
+    }
+
+    /** {@inheritDoc} */
+    public Object processInvocation(final InterceptorContext context) throws Exception {
+        final int oldNext = context.getNextInterceptorIndex();
+        final Interceptor[] old = context.getInterceptors();
+        final CompiledChain oldChain = context.getCompiledChain();
+        context.setInterceptors(interceptors, 0, null);
+        try {
+            return context.proceed();
+        } finally {
+            context.setInterceptors(old, oldNext, oldChain);
+        }
+    }
+
+    /** {@inheritDoc} */
+    public CompletionStage<Object> processInvocationAsync(final InterceptorContext context) throws Exception {
+        final int oldNext = context.getNextInterceptorIndex();
+        final Interceptor[] old = context.getInterceptors();
+        final CompiledChain oldChain = context.getCompiledChain();
+        context.setInterceptors(interceptors, 0, null);
+        try {
+            return context.proceedAsync();
+        } finally {
+            context.setInterceptors(old, oldNext, oldChain);
+        }
+    }
+
+    protected Object readResolve() {
+        return create(interceptors);
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A context data map which is specialized for the handful of entries that invocations typically carry.  Up to
+ * eight entries are kept in a flat key/value array which is scanned linearly and which is only allocated on the first
+ * write; larger maps are backed by a {@link HashMap}.  {@linkplain #copy() Copies} share their entries with the
+ * original until either of them is modified.
+ * <p>
+ * This map is not thread-safe.
+ */
+public final class ContextDataMap extends AbstractMap<String, Object> {
+
+    private static final int MAX_INLINE = 8;
+    private static final Object[] EMPTY = new Object[0];
+
+    /**
+     * Keys and values, interleaved.
+     */
+    private Object[] table = EMPTY;
+    private int size;
+    /**
+     * {@code true} if {@link #table} is shared with a copy of this map and must be copied before it is written.
+     */
+    private boolean shared;
+    private HashMap<String, Object> map;
+    private Set<Entry<String, Object>> entrySet;
+
+    /**
+     * Construct a new, empty instance.
+     */
+    public ContextDataMap() {
+    }
+
+    /**
+     * Construct a new instance containing the entries of the given map.
+     *
+     * @param other the map to copy
+     */
+    public ContextDataMap(final Map<String, ?> other) {
+        putAll(other);
+    }
+
+    /**
+     * Get a copy of this map.  The copy shares its entries with this map until either map is modified.
+     *
+     * @return the copy
+     */
+    public ContextDataMap copy() {
+        final ContextDataMap copy = new ContextDataMap();
+        final HashMap<String, Object> map = this.map;
+        if (map != null) {
+            copy.map = new HashMap<>(map);
+        } else if (size > 0) {
+            copy.table = table;
+            copy.size = size;
+            copy.shared = shared = true;
+        }
+        return copy;
+    }
+
+    public int size() {
+        final HashMap<String, Object> map = this.map;
+        return map == null ? size : map.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(final Object key) {
+        final HashMap<String, Object> map = this.map;
+        return map == null ? indexOf(key) >= 0 : map.containsKey(key);
+    }
+
+    public Object get(final Object key) {
+        final HashMap<String, Object> map = this.map;
+        if (map != null) {
+            return map.get(key);
+        }
+        final int idx = indexOf(key);
+        return idx < 0 ? null : table[idx + 1];
+    }
+
+    public Object put(final String key, final Object value) {
+        final HashMap<String, Object> map = this.map;
+        if (map != null) {
+            return map.put(key, value);
+        }
+        final int idx = indexOf(key);
+        if (idx >= 0) {
+            final Object[] table = writableTable(0);
+            final Object old = table[idx + 1];
+            table[idx + 1] = value;
+            return old;
+        }
+        final int size = this.size;
+        if (size == MAX_INLINE) {
+            inflate().put(key, value);
+            return null;
+        }
+        final Object[] table = writableTable((size + 1) << 1);
+        table[size << 1] = key;
+        table[(size << 1) + 1] = value;
+        this.size = size + 1;
+        return null;
+    }
+
+    public Object remove(final Object key) {
+        final HashMap<String, Object> map = this.map;
+        if (map != null) {
+            return map.remove(key);
+        }
+        final int idx = indexOf(key);
+        return idx < 0 ? null : removeAt(idx);
+    }
+
+    public void clear() {
+        map = null;
+        table = EMPTY;
+        size = 0;
+        shared = false;
+    }
+
+    /**
+     * Clear this map for reuse, keeping its inline table.  A map which has grown into a hash map, or which shares its
+     * table with a copy, is not cleared and should be dropped instead.
+     *
+     * @return {@code true} if the map was cleared, {@code false} if it should be dropped
+     */
+    boolean recycle() {
+        if (map != null || shared) {
+            return false;
+        }
+        Arrays.fill(table, 0, size << 1, null);
+        size = 0;
+        return true;
+    }
+
+    public Set<Entry<String, Object>> entrySet() {
+        final Set<Entry<String, Object>> entrySet = this.entrySet;
+        return entrySet == null ? this.entrySet = new EntrySet() : entrySet;
+    }
+
+    private int indexOf(final Object key) {
+        final Object[] table = this.table;
+        final int end = size << 1;
+        for (int i = 0; i < end; i += 2) {
+            final Object k = table[i];
+            if (k == key || k != null && k.equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Object[] writableTable(final int minLength) {
+        Object[] table = this.table;
+        if (shared || table.length < minLength) {
+            final int length = table.length < minLength ? Math.max(minLength, table.length == 0 ? MAX_INLINE : MAX_INLINE << 1) : table.length;
+            this.table = table = Arrays.copyOf(table, length);
+            shared = false;
+        }
+        return table;
+    }
+
+    private Object removeAt(final int idx) {
+        final Object[] table = writableTable(0);
+        final Object old = table[idx + 1];
+        final int last = (size - 1) << 1;
+        table[idx] = table[last];
+        table[idx + 1] = table[last + 1];
+        table[last] = null;
+        table[last + 1] = null;
+        size--;
+        return old;
+    }
+
+    private HashMap<String, Object> inflate() {
+        final HashMap<String, Object> map = new HashMap<>(MAX_INLINE << 2);
+        final Object[] table = this.table;
+        for (int i = 0; i < size << 1; i += 2) {
+            map.put((String) table[i], table[i + 1]);
+        }
+        this.table = EMPTY;
+        size = 0;
+        shared = false;
+        return this.map = map;
+    }
+
+    final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        public Iterator<Entry<String, Object>> iterator() {
+            final HashMap<String, Object> map = ContextDataMap.this.map;
+            return map == null ? new InlineIterator() : map.entrySet().iterator();
+        }
+
+        public int size() {
+            return ContextDataMap.this.size();
+        }
+
+        public void clear() {
+            ContextDataMap.this.clear();
+        }
+    }
+
+    final class InlineIterator implements Iterator<Entry<String, Object>> {
+        private int next;
+        private int current = -1;
+
+        public boolean hasNext() {
+            if (map != null) {
+                // the map was inflated, which moved every entry out of the table this iterator walks
+                throw new ConcurrentModificationException();
+            }
+            return next < size << 1;
+        }
+
+        public Entry<String, Object> next() {
+            if (! hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next += 2;
+            return new InlineEntry(current);
+        }
+
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            if (map != null) {
+                throw new ConcurrentModificationException();
+            }
+            // the last entry is moved into the removed position, so visit that position again
+            removeAt(current);
+            next = current;
+            current = -1;
+        }
+    }
+
+    final class InlineEntry implements Entry<String, Object> {
+        private final int idx;
+
+        InlineEntry(final int idx) {
+            this.idx = idx;
+        }
+
+        public String getKey() {
+            return (String) table[idx];
+        }
+
+        public Object getValue() {
+            return table[idx + 1];
+        }
+
+        public Object setValue(final Object value) {
+            final Object[] table = writableTable(0);
+            final Object old = table[idx + 1];
+            table[idx + 1] = value;
+            return old;
+        }
+
+        public boolean equals(final Object obj) {
+            if (! (obj instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> other = (Entry<?, ?>) obj;
+            final Object key = getKey();
+            final Object value = getValue();
+            return (key == null ? other.getKey() == null : key.equals(other.getKey())) && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+        }
+
+        public int hashCode() {
+            final Object key = getKey();
+            final Object value = getValue();
+            return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+        }
+
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
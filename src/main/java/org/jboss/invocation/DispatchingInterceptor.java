@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation;
+
+import java.lang.reflect.Method;
+
+import org.jboss.invocation.proxy.Invoker;
+import org.jboss.invocation.proxy.InvokerFactory;
+
+import static org.jboss.invocation.InvocationMessages.msg;
+
+/**
+ * An interceptor which invokes the context's method on the context's target through a generated {@link Invoker}.  The
+ * interceptor is itself the {@link MethodCache} of the method indices, so that each index is looked up once and then
+ * found without further indirection.  Methods which the invoker cannot call are invoked reflectively.
+ */
+final class DispatchingInterceptor extends MethodCache<Integer> implements Interceptor {
+
+    private final InvokerFactory<?> invokerFactory;
+    private final Invoker invoker;
+
+    DispatchingInterceptor(final InvokerFactory<?> invokerFactory) {
+        // room for every method with few collisions, within reason
+        super(Math.min(1024, Math.max(16, invokerFactory.getMethods().size() << 2)), false);
+        this.invokerFactory = invokerFactory;
+        invoker = invokerFactory.getInvoker();
+    }
+
+    protected Integer computeValue(final Method method) {
+        return Integer.valueOf(invokerFactory.getMethodIndex(method));
+    }
+
+    public Object processInvocation(final InterceptorContext context) throws Exception {
+        final Method method = context.getMethod();
+        if (method == null) {
+            return null;
+        }
+        final Object target = context.getTarget();
+        if (target == null) {
+            throw msg.nullProperty("target", context);
+        }
+        final int methodIndex = get(method).intValue();
+        if (methodIndex == -1) {
+            return InvokingInterceptor.INSTANCE.processInvocation(context);
+        }
+        return invoker.invoke(methodIndex, target, context.getParameters());
+    }
+
+    public String toString() {
+        return "dispatching interceptor for " + invokerFactory.getTargetClass().getName();
+    }
+}
@@ -30,6 +30,7 @@ import javax.security.auth.Subject;
 public final class DoAsInterceptor implements Interceptor {
     private static final DoAsInterceptor INSTANCE = new DoAsInterceptor();
     private static final InterceptorFactory FACTORY = new ImmediateInterceptorFactory(INSTANCE);
+    private static final PrivateDataKey<Subject> SUBJECT_KEY = PrivateDataKey.forType(Subject.class);
 
     private DoAsInterceptor() {
     }
@@ -55,7 +56,7 @@ public final class DoAsInterceptor implements Interceptor {
     /** {@inheritDoc} */
     public Object processInvocation(final InterceptorContext context) throws Exception {
         try {
-            return Subject.doAs(context.getPrivateData(Subject.class), context);
+            return Subject.doAs(context.getPrivateData(SUBJECT_KEY), context);
         } catch (PrivilegedActionException e) {
             throw e.getException();
         }
@@ -19,8 +19,10 @@
 package org.jboss.invocation;
 
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
 
 /**
  * The initial interceptor that is called during an invocation.
@@ -33,6 +35,14 @@ public class InitialInterceptor implements Interceptor, Serializable {
     static final InitialInterceptor INSTANCE = new InitialInterceptor();
     static final InterceptorFactory FACTORY = new ImmediateInterceptorFactory(INSTANCE);
 
+    /**
+     * The declared exceptions of each method, kept in a {@link ClassValue} of the declaring class.
+     */
+    private static final MethodCache<DeclaredExceptions> DECLARED_EXCEPTIONS = new MethodCache<DeclaredExceptions>(256, true) {
+        protected DeclaredExceptions computeValue(final Method method) {
+            return new DeclaredExceptions(method.getExceptionTypes());
+        }
+    };
 
     public Object processInvocation(final InterceptorContext context) throws Exception {
         final Method method = context.getMethod();
@@ -43,17 +53,69 @@ public class InitialInterceptor implements Interceptor, Serializable {
         } catch (Error e) {
             throw e;
         } catch (Exception e) {
-            if (method != null) {
-                for (Class<?> expected : method.getExceptionTypes()) {
-                    if (expected.isAssignableFrom(e.getClass())) {
-                        throw e;
-                    }
-                }
+            if (method != null && DECLARED_EXCEPTIONS.get(method).isDeclared(e.getClass())) {
+                throw e;
             }
             throw new UndeclaredThrowableException(e);
         } catch (Throwable t) {
             throw new UndeclaredThrowableException(t);  //We don't seem to get here
         }
     }
-}
 
+    /**
+     * The exception types declared by a method, along with the verdicts for the exception classes most recently
+     * checked, so that a frequently thrown checked exception costs a few comparisons and no allocation, even when a
+     * method throws several exception classes in turn.  Verdicts refer to their exception class weakly, so that they
+     * do not keep the class from being unloaded.
+     */
+    static final class DeclaredExceptions {
+        private static final Verdict[] NO_VERDICTS = new Verdict[0];
+        private static final int MAX_VERDICTS = 8;
+
+        private final Class<?>[] exceptionTypes;
+        private Verdict[] verdicts = NO_VERDICTS;
+
+        DeclaredExceptions(final Class<?>[] exceptionTypes) {
+            this.exceptionTypes = exceptionTypes;
+        }
+
+        boolean isDeclared(final Class<?> exceptionClass) {
+            final Verdict[] verdicts = this.verdicts;
+            for (Verdict verdict : verdicts) {
+                // an element may appear null to a racing reader
+                if (verdict != null && verdict.get() == exceptionClass) {
+                    return verdict.declared;
+                }
+            }
+            boolean declared = false;
+            for (Class<?> expected : exceptionTypes) {
+                if (expected.isAssignableFrom(exceptionClass)) {
+                    declared = true;
+                    break;
+                }
+            }
+            // copy on write, newest first, dropping the verdicts of collected classes and then the oldest; racing
+            // updates are harmless, as any verdict may be displaced
+            final Verdict[] updated = new Verdict[Math.min(verdicts.length + 1, MAX_VERDICTS)];
+            updated[0] = new Verdict(exceptionClass, declared);
+            int size = 1;
+            for (int i = 0; i < verdicts.length && size < updated.length; i++) {
+                final Verdict verdict = verdicts[i];
+                if (verdict != null && verdict.get() != null) {
+                    updated[size++] = verdict;
+                }
+            }
+            this.verdicts = size == updated.length ? updated : Arrays.copyOf(updated, size);
+            return declared;
+        }
+    }
+
+    static final class Verdict extends WeakReference<Class<?>> {
+        final boolean declared;
+
+        Verdict(final Class<?> exceptionClass, final boolean declared) {
+            super(exceptionClass);
+            this.declared = declared;
+        }
+    }
+}
@@ -29,6 +29,8 @@ import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import jakarta.interceptor.InvocationContext;
 import jakarta.transaction.SystemException;
@@ -43,6 +45,7 @@ import org.wildfly.common.function.ExceptionSupplier;
  */
 public final class InterceptorContext implements Cloneable, PrivilegedExceptionAction<Object> {
     static final Map<Class<?>, Class<?>> PRIMITIVES;
+    private static final Object[] NO_SLOTS = new Object[0];
 
     static {
         final HashMap<Class<?>, Class<?>> map = new HashMap<>();
@@ -59,13 +62,21 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
 
     private Object target;
     private Method method;
+    private int methodIndex = -1;
     private Constructor<?> constructor;
     private Object[] parameters;
+    private ArgumentFrame arguments;
     private Map<String, Object> contextData;
+    /**
+     * The context data map which this context created itself, and which {@link #reset()} may therefore reuse.
+     */
+    private ContextDataMap ownContextData;
     private Object timer;
     private Interceptor[] interceptors = Interceptor.EMPTY_ARRAY;
     private int interceptorPosition = 0;
+    private CompiledChain compiledChain;
     private final Map<Object, Object> privateData;
+    private Object[] privateSlots = NO_SLOTS;
     private InvocationContext invocationContext;
     private boolean blockingCaller = false;
     private ExceptionSupplier<Transaction, SystemException> transactionSupplier;
@@ -77,18 +88,29 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
     InterceptorContext(final InterceptorContext interceptorContext, final boolean clone) {
         if (clone) {
             this.privateData = new IdentityHashMap<>(interceptorContext.privateData);
-            this.contextData = new HashMap<>(interceptorContext.contextData);
+            final Object[] privateSlots = interceptorContext.privateSlots;
+            this.privateSlots = privateSlots.length == 0 ? NO_SLOTS : privateSlots.clone();
+            final Map<String, Object> contextData = interceptorContext.contextData;
+            if (contextData instanceof ContextDataMap) {
+                this.contextData = ownContextData = ((ContextDataMap) contextData).copy();
+            } else {
+                this.contextData = contextData == null ? null : new HashMap<>(contextData);
+            }
         } else {
             this.privateData = interceptorContext.privateData;
+            this.privateSlots = interceptorContext.privateSlots;
             this.contextData = interceptorContext.contextData;
         }
         this.target = interceptorContext.target;
         this.method = interceptorContext.method;
+        this.methodIndex = interceptorContext.methodIndex;
         this.constructor = interceptorContext.constructor;
         this.parameters = interceptorContext.parameters;
+        this.arguments = interceptorContext.arguments;
         this.timer = interceptorContext.timer;
         interceptors = interceptorContext.interceptors;
         interceptorPosition = interceptorContext.interceptorPosition;
+        compiledChain = interceptorContext.compiledChain;
     }
 
     /**
@@ -125,6 +147,28 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
      */
     public void setMethod(final Method method) {
         this.method = method;
+        methodIndex = -1;
+    }
+
+    /**
+     * Get the index of the invoked method in the proxy class through which it was invoked.  Indices are only unique
+     * within one proxy class, so the index is a hint which must be checked against {@link #getMethod()}.
+     *
+     * @return the method index, or {@code -1} if it is not known
+     */
+    public int getMethodIndex() {
+        return methodIndex;
+    }
+
+    /**
+     * Set the invoked method along with its index in the proxy class through which it was invoked.
+     *
+     * @param method the method
+     * @param methodIndex the method index, or {@code -1} if it is not known
+     */
+    public void setMethod(final Method method, final int methodIndex) {
+        this.method = method;
+        this.methodIndex = methodIndex;
     }
 
     /**
@@ -146,11 +190,21 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
     }
 
     /**
-     * Get the method parameters which are reported to the interceptor invocation context.
+     * Get the method parameters which are reported to the interceptor invocation context.  If the parameters were
+     * given as an {@link ArgumentFrame}, they are boxed into an array on the first call to this method; from then on,
+     * that array holds the parameters.
      *
      * @return the method parameters
      */
     public Object[] getParameters() {
+        Object[] parameters = this.parameters;
+        if (parameters == null) {
+            final ArgumentFrame arguments = this.arguments;
+            if (arguments != null) {
+                this.parameters = parameters = arguments.toArray();
+                this.arguments = null;
+            }
+        }
         return parameters;
     }
 
@@ -161,18 +215,169 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
      */
     public void setParameters(final Object[] parameters) {
         this.parameters = parameters;
+        this.arguments = null;
+    }
+
+    /**
+     * Set the method parameters as a frame of possibly unboxed arguments.  The frame is only converted to an array
+     * if {@link #getParameters()} is called; the typed parameter accessors such as {@link #getIntParameter(int)} read
+     * the frame directly.
+     *
+     * @param arguments the argument frame
+     */
+    public void setArguments(final ArgumentFrame arguments) {
+        this.arguments = arguments;
+        this.parameters = null;
+    }
+
+    /**
+     * Get the number of method parameters.
+     *
+     * @return the number of parameters
+     * @throws IllegalStateException if no parameters were set
+     */
+    public int getParameterCount() {
+        final ArgumentFrame arguments = this.arguments;
+        if (arguments != null) {
+            return arguments.size();
+        }
+        return checkParameters().length;
+    }
+
+    /**
+     * Get a method parameter, boxing it if it is primitive.
+     *
+     * @param index the parameter index
+     * @return the parameter value
+     */
+    public Object getParameter(final int index) {
+        final ArgumentFrame arguments = this.arguments;
+        return arguments != null ? arguments.getObject(index) : checkParameters()[index];
+    }
+
+    /**
+     * Get a {@code boolean} method parameter without boxing it.
+     *
+     * @param index the parameter index
+     * @return the parameter value
+     * @throws IllegalArgumentException if the parameter is not a {@code boolean}
+     */
+    public boolean getBooleanParameter(final int index) {
+        final ArgumentFrame arguments = this.arguments;
+        return arguments != null ? arguments.getBoolean(index) : ((Boolean) checkParameter(index, boolean.class, Boolean.class)).booleanValue();
+    }
+
+    /**
+     * Get a {@code byte} method parameter without boxing it.
+     *
+     * @param index the parameter index
+     * @return the parameter value
+     * @throws IllegalArgumentException if the parameter is not a {@code byte}
+     */
+    public byte getByteParameter(final int index) {
+        final ArgumentFrame arguments = this.arguments;
+        return arguments != null ? arguments.getByte(index) : ((Byte) checkParameter(index, byte.class, Byte.class)).byteValue();
+    }
+
+    /**
+     * Get a {@code short} method parameter without boxing it.
+     *
+     * @param index the parameter index
+     * @return the parameter value
+     * @throws IllegalArgumentException if the parameter is not a {@code short}
+     */
+    public short getShortParameter(final int index) {
+        final ArgumentFrame arguments = this.arguments;
+        return arguments != null ? arguments.getShort(index) : ((Short) checkParameter(index, short.class, Short.class)).shortValue();
+    }
+
+    /**
+     * Get a {@code char} method parameter without boxing it.
+     *
+     * @param index the parameter index
+     * @return the parameter value
+     * @throws IllegalArgumentException if the parameter is not a {@code char}
+     */
+    public char getCharParameter(final int index) {
+        final ArgumentFrame arguments = this.arguments;
+        return arguments != null ? arguments.getChar(index) : ((Character) checkParameter(index, char.class, Character.class)).charValue();
+    }
+
+    /**
+     * Get an {@code int} method parameter without boxing it.
+     *
+     * @param index the parameter index
+     * @return the parameter value
+     * @throws IllegalArgumentException if the parameter is not an {@code int}
+     */
+    public int getIntParameter(final int index) {
+        final ArgumentFrame arguments = this.arguments;
+        return arguments != null ? arguments.getInt(index) : ((Integer) checkParameter(index, int.class, Integer.class)).intValue();
+    }
+
+    /**
+     * Get a {@code long} method parameter without boxing it.
+     *
+     * @param index the parameter index
+     * @return the parameter value
+     * @throws IllegalArgumentException if the parameter is not a {@code long}
+     */
+    public long getLongParameter(final int index) {
+        final ArgumentFrame arguments = this.arguments;
+        return arguments != null ? arguments.getLong(index) : ((Long) checkParameter(index, long.class, Long.class)).longValue();
     }
 
     /**
-     * Get the context data which is reported to the interceptor invocation context.
+     * Get a {@code float} method parameter without boxing it.
+     *
+     * @param index the parameter index
+     * @return the parameter value
+     * @throws IllegalArgumentException if the parameter is not a {@code float}
+     */
+    public float getFloatParameter(final int index) {
+        final ArgumentFrame arguments = this.arguments;
+        return arguments != null ? arguments.getFloat(index) : ((Float) checkParameter(index, float.class, Float.class)).floatValue();
+    }
+
+    /**
+     * Get a {@code double} method parameter without boxing it.
+     *
+     * @param index the parameter index
+     * @return the parameter value
+     * @throws IllegalArgumentException if the parameter is not a {@code double}
+     */
+    public double getDoubleParameter(final int index) {
+        final ArgumentFrame arguments = this.arguments;
+        return arguments != null ? arguments.getDouble(index) : ((Double) checkParameter(index, double.class, Double.class)).doubleValue();
+    }
+
+    private Object[] checkParameters() {
+        final Object[] parameters = this.parameters;
+        if (parameters == null) {
+            throw new IllegalStateException("The parameters were not set");
+        }
+        return parameters;
+    }
+
+    private Object checkParameter(final int index, final Class<?> type, final Class<?> boxType) {
+        final Object value = checkParameters()[index];
+        if (! boxType.isInstance(value)) {
+            throw msg.wrongParameterType(index, value == null ? null : value.getClass(), type);
+        }
+        return value;
+    }
+
+    /**
+     * Get the context data which is reported to the interceptor invocation context.  If no context data map was
+     * set, an empty {@link ContextDataMap} is created and retained; earlier versions threw
+     * {@code IllegalStateException} in this case.
      *
      * @return the context data
-     * @throws IllegalStateException if the context data was never initialized
      */
-    public Map<String, Object> getContextData() throws IllegalStateException {
+    public Map<String, Object> getContextData() {
         Map<String, Object> contextData = this.contextData;
         if (contextData == null) {
-            throw new IllegalStateException("The context data was not set");
+            this.contextData = contextData = ownContextData = new ContextDataMap();
         }
         return contextData;
     }
@@ -265,6 +470,10 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
      * @return the data item or {@code null} if no such item exists
      */
     public <T> T getPrivateData(Class<T> type) {
+        final PrivateDataKey<?> key = PrivateDataKey.getRegistered(type);
+        if (key != null) {
+            return type.cast(getSlot(key));
+        }
         return type.cast(privateData.get(type));
     }
 
@@ -275,9 +484,29 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
      * @return the private data object
      */
     public Object getPrivateData(Object key) {
+        if (key instanceof PrivateDataKey) {
+            return getSlot((PrivateDataKey<?>) key);
+        } else if (key instanceof Class) {
+            final PrivateDataKey<?> registered = PrivateDataKey.getRegistered((Class<?>) key);
+            if (registered != null) {
+                return getSlot(registered);
+            }
+        }
         return privateData.get(key);
     }
 
+    /**
+     * Get a private data item.
+     *
+     * @param key the data key
+     * @param <T> the data type
+     * @return the data item or {@code null} if no such item exists
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getPrivateData(PrivateDataKey<T> key) {
+        return (T) getSlot(key);
+    }
+
     /**
      * Insert a private data item.
      *
@@ -287,6 +516,10 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
      * @return the data item which was previously mapped to this position, or {@code null} if no such item exists
      */
     public <T> T putPrivateData(Class<T> type, T value) {
+        final PrivateDataKey<?> key = PrivateDataKey.getRegistered(type);
+        if (key != null) {
+            return type.cast(putSlot(key, type.cast(value)));
+        }
         if (value == null) {
             return type.cast(privateData.remove(type));
         } else {
@@ -296,15 +529,23 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
 
     /**
      * Insert a private data item.  The key is used by object identity, not by value; in addition, if the key is
-     * a {@code Class} then the value given must be assignable to that class.
+     * a {@code Class} then the value given must be assignable to that class, and if the key is a
+     * {@link PrivateDataKey} then the value given must be assignable to its type.
      *
      * @param key the data key
      * @param value the data item value, or {@code null} to remove the mapping
      * @return the data item which was previously mapped to this position, or {@code null} if no such item exists
      */
     public Object putPrivateData(Object key, Object value) {
-        if (key instanceof Class) {
+        if (key instanceof PrivateDataKey) {
+            final PrivateDataKey<?> dataKey = (PrivateDataKey<?>) key;
+            return putSlot(dataKey, dataKey.getType().cast(value));
+        } else if (key instanceof Class) {
             final Class<?> type = (Class<?>) key;
+            final PrivateDataKey<?> registered = PrivateDataKey.getRegistered(type);
+            if (registered != null) {
+                return type.cast(putSlot(registered, type.cast(value)));
+            }
             if (value == null) {
                 return type.cast(privateData.remove(type));
             } else {
@@ -319,6 +560,51 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
         }
     }
 
+    /**
+     * Insert a private data item.
+     *
+     * @param key the data key
+     * @param value the data item value, or {@code null} to remove the mapping
+     * @param <T> the data type
+     * @return the data item which was previously mapped to this position, or {@code null} if no such item exists
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T putPrivateData(PrivateDataKey<T> key, T value) {
+        return (T) putSlot(key, value);
+    }
+
+    // each key has a pair of slots: the key itself, which keeps its index from being handed to another key while this
+    // context has a value for it, and the value
+
+    private Object getSlot(final PrivateDataKey<?> key) {
+        final Object[] privateSlots = this.privateSlots;
+        final int index = key.index << 1;
+        final Object value = index < privateSlots.length && privateSlots[index] == key ? privateSlots[index + 1] : null;
+        if (value == null && key.isRegistered() && ! privateData.isEmpty()) {
+            // the value may have been stored under the type before the key was registered
+            return privateData.get(key.getType());
+        }
+        return value;
+    }
+
+    private Object putSlot(final PrivateDataKey<?> key, final Object value) {
+        Object[] privateSlots = this.privateSlots;
+        final int index = key.index << 1;
+        if (index >= privateSlots.length) {
+            if (value == null) {
+                return key.isRegistered() && ! privateData.isEmpty() ? privateData.remove(key.getType()) : null;
+            }
+            this.privateSlots = privateSlots = Arrays.copyOf(privateSlots, index + 2);
+        }
+        Object old = privateSlots[index] == key ? privateSlots[index + 1] : null;
+        privateSlots[index] = value == null ? null : key;
+        privateSlots[index + 1] = value;
+        if (old == null && key.isRegistered() && ! privateData.isEmpty()) {
+            old = privateData.remove(key.getType());
+        }
+        return old;
+    }
+
     /**
      * Determine whether this invocation is currently <em>directly</em> blocking the calling thread.  This means that
      * the interceptor is running in the same thread as the original caller.
@@ -395,10 +681,37 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
         if (interceptors == null) {
             throw new IllegalArgumentException("interceptors is null");
         }
+        // a compiled chain only remains valid for the array it was compiled from
+        final CompiledChain compiledChain = this.compiledChain;
+        if (compiledChain != null && compiledChain.interceptors != interceptors) {
+            this.compiledChain = null;
+        }
         this.interceptors = interceptors;
         this.interceptorPosition = nextIndex;
     }
 
+    /**
+     * Set the interceptors along with the compiled chain used to dispatch them.
+     *
+     * @param interceptors the interceptor array
+     * @param nextIndex the next index to proceed
+     * @param compiledChain the compiled chain for the array, or {@code null} to walk the array
+     */
+    void setInterceptors(final Interceptor[] interceptors, int nextIndex, CompiledChain compiledChain) {
+        this.interceptors = interceptors;
+        this.interceptorPosition = nextIndex;
+        this.compiledChain = compiledChain;
+    }
+
+    /**
+     * Get the compiled chain for the current interceptors.
+     *
+     * @return the compiled chain, or {@code null} if the interceptors are walked as an array
+     */
+    CompiledChain getCompiledChain() {
+        return compiledChain;
+    }
+
     /**
      * Set the interceptors, with a starting index to proceed from.
      *
@@ -417,9 +730,11 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
      */
     public Object proceed() throws Exception {
         if (interceptorPosition < interceptors.length) {
-            Interceptor next = interceptors[interceptorPosition++];
+            final int position = interceptorPosition++;
+            Interceptor next = interceptors[position];
+            final CompiledChain compiledChain = this.compiledChain;
             try {
-                return next.processInvocation(this);
+                return compiledChain == null ? next.processInvocation(this) : compiledChain.processInvocation(position, next, this);
             } finally {
                 interceptorPosition--;
             }
@@ -428,6 +743,47 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
         }
     }
 
+    /**
+     * Pass the invocation on to the next step in the chain asynchronously.  If the next interceptor is an
+     * {@link AsyncInterceptor}, it is invoked asynchronously; otherwise it is invoked synchronously and its result
+     * is returned as a completed stage.  Exceptions thrown by the next interceptor are reported through the returned
+     * stage.  Cancelling the returned stage (or a stage derived from it) cancels the stage of the next interceptor.
+     * <p>
+     * A synchronous interceptor runs in the calling thread, and the rest of the chain runs through
+     * {@link #proceed()} if it proceeds; any asynchronous interceptor after it is then invoked through
+     * {@link AsyncInterceptor#processInvocation(InterceptorContext)}, which blocks the calling thread until its stage
+     * completes.  The chain is therefore only non-blocking up to its first synchronous interceptor.
+     * <p>
+     * This method must be called from the interceptor's own invocation method, not from a later stage.
+     *
+     * @return the stage which completes with the result
+     */
+    public CompletionStage<Object> proceedAsync() {
+        if (interceptorPosition < interceptors.length) {
+            final int position = interceptorPosition++;
+            Interceptor next = interceptors[position];
+            CompletionStage<Object> stage;
+            try {
+                if (next instanceof AsyncInterceptor) {
+                    stage = ((AsyncInterceptor) next).processInvocationAsync(this);
+                    if (stage == null) {
+                        throw msg.nullProperty("result", next);
+                    }
+                } else {
+                    final CompiledChain compiledChain = this.compiledChain;
+                    stage = CompletableFuture.completedFuture(compiledChain == null ? next.processInvocation(this) : compiledChain.processInvocation(position, next, this));
+                }
+            } catch (Exception e) {
+                return AsyncInvocationFuture.failed(e);
+            } finally {
+                interceptorPosition--;
+            }
+            return AsyncInvocationFuture.link(stage);
+        } else {
+            return AsyncInvocationFuture.failed(msg.cannotProceed());
+        }
+    }
+
     /**
      * Synonymous with {@link #proceed()}; exists to implement {@link PrivilegedExceptionAction}.
      *
@@ -438,6 +794,38 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
         return proceed();
     }
 
+    /**
+     * Reset this context to its initial state so that it may be reused for another invocation.  The target, method,
+     * constructor, parameters, context data, timer, private data, transaction, blocking-caller flag and interceptors
+     * are all cleared.  The context (and its {@linkplain #getInvocationContext() invocation context}) must not be
+     * retained by anything which took part in the previous invocation.
+     * <p>
+     * A context data map which this context created is cleared and kept for the next invocation, unless it has grown
+     * beyond its inline entries or shares them with a clone; a map which was {@linkplain #setContextData(Map) set}
+     * from outside is dropped.
+     */
+    public void reset() {
+        target = null;
+        method = null;
+        methodIndex = -1;
+        constructor = null;
+        parameters = null;
+        arguments = null;
+        final ContextDataMap ownContextData = this.ownContextData;
+        if (ownContextData == null || contextData != ownContextData || ! ownContextData.recycle()) {
+            contextData = null;
+            this.ownContextData = null;
+        }
+        timer = null;
+        interceptors = Interceptor.EMPTY_ARRAY;
+        interceptorPosition = 0;
+        compiledChain = null;
+        privateData.clear();
+        Arrays.fill(privateSlots, null);
+        blockingCaller = false;
+        transactionSupplier = null;
+    }
+
     /**
      * Clone this interceptor context instance.  The cloned context will resume execution at the same point that
      * this context would have at the moment it was cloned.
@@ -475,24 +863,7 @@ public final class InterceptorContext implements Cloneable, PrivilegedExceptionA
             }
             final Method method = InterceptorContext.this.getMethod();
             if (method != null) {
-                final Class<?>[] parameterTypes = method.getParameterTypes();
-                if (params.length != parameterTypes.length) {
-                    throw new IllegalArgumentException("Number of parameters must match number of method arguments");
-                }
-                for (int i = 0; i < params.length; ++i) {
-                    final Object param = params[i];
-                    final Class<?> type = parameterTypes[i];
-                    if (param == null) {
-                        if (type.isPrimitive()) {
-                            throw new IllegalArgumentException("Null cannot be assigned to primitive parameter " + i + " (" + parameterTypes[i] + ")");
-                        }
-                    } else {
-                        final Class<?> wrappedType = type.isPrimitive() ? PRIMITIVES.get(type) : type;
-                        if (!wrappedType.isAssignableFrom(param.getClass())) {
-                            throw new IllegalArgumentException("Parameter " + i + " (" + param + ") is not assignable to method parameter type " + parameterTypes[i]);
-                        }
-                    }
-                }
+                ParameterValidator.of(method).validate(params);
             }
             InterceptorContext.this.setParameters(params);
         }
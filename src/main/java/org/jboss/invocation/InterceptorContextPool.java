@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A small pool of reusable {@link InterceptorContext} instances.  The pool is striped by thread so that concurrent
+ * invocations rarely contend; it holds no thread-local state, so it is equally suitable for platform and virtual
+ * threads.  If no pooled context is available, a new one is created, so acquisition never blocks.
+ * <p>
+ * A context must be {@linkplain #release(InterceptorContext) released} only once the invocation which used it is
+ * complete, and nothing which took part in that invocation may retain it afterwards.
+ */
+public final class InterceptorContextPool {
+
+    private final AtomicReferenceArray<InterceptorContext> slots;
+    private final int mask;
+
+    /**
+     * Construct a new instance with a number of slots derived from the number of available processors.
+     */
+    public InterceptorContextPool() {
+        this(Runtime.getRuntime().availableProcessors() << 1);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param size the number of pooled contexts (rounded up to a power of two)
+     */
+    public InterceptorContextPool(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be at least 1");
+        }
+        final int slotCount = size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        slots = new AtomicReferenceArray<>(slotCount);
+        mask = slotCount - 1;
+    }
+
+    /**
+     * Acquire a context from the pool, or create a new one if none is available.
+     *
+     * @return the context (not {@code null})
+     */
+    public InterceptorContext acquire() {
+        final int index = index();
+        final AtomicReferenceArray<InterceptorContext> slots = this.slots;
+        if (slots.get(index) != null) {
+            final InterceptorContext context = slots.getAndSet(index, null);
+            if (context != null) {
+                return context;
+            }
+        }
+        return new InterceptorContext();
+    }
+
+    /**
+     * Reset the given context and return it to the pool.  If the pool slot is occupied, the context is discarded.
+     *
+     * @param context the context to release
+     */
+    public void release(final InterceptorContext context) {
+        context.reset();
+        final int index = index();
+        if (slots.get(index) == null) {
+            slots.compareAndSet(index, null, context);
+        }
+    }
+
+    /**
+     * Determine whether invocations through the given interceptor may run with pooled contexts.  An asynchronous
+     * interceptor may hand the context to another thread, or still hold it once the invocation which started it has
+     * returned, so an interceptor which is asynchronous, or is a chain containing an asynchronous interceptor, never
+     * runs with a pooled context.  The chains of this package are searched for asynchronous interceptors; they are
+     * asynchronous interceptors themselves only so that they can pass asynchronous invocations on.
+     *
+     * @param interceptor the interceptor, or {@code null}
+     * @return {@code true} if contexts may be pooled for the interceptor
+     */
+    static boolean isPoolable(final Interceptor interceptor) {
+        if (interceptor instanceof ChainedInterceptor) {
+            return isPoolable(((ChainedInterceptor) interceptor).getInterceptors());
+        } else if (interceptor instanceof CompiledChain) {
+            return isPoolable(((CompiledChain) interceptor).interceptors);
+        } else if (interceptor instanceof CompiledInterceptor) {
+            return isPoolable(((CompiledInterceptor) interceptor).getInterceptors());
+        } else if (interceptor instanceof TimedChainedInterceptor) {
+            return isPoolable(((TimedChainedInterceptor) interceptor).getInterceptors());
+        } else if (interceptor instanceof ListenableInterceptor) {
+            return isPoolable(((ListenableInterceptor) interceptor).getInterceptors());
+        } else if (interceptor instanceof WeavedInterceptor) {
+            return isPoolable(((WeavedInterceptor) interceptor).getInterceptors());
+        } else if (interceptor instanceof SynchronousInterceptorAdapter) {
+            return isPoolable(((SynchronousInterceptorAdapter) interceptor).getInterceptor());
+        } else {
+            return ! (interceptor instanceof AsyncInterceptor);
+        }
+    }
+
+    /**
+     * Determine whether invocations through the given chain may run with pooled contexts.
+     *
+     * @param interceptors the chain
+     * @return {@code true} if contexts may be pooled for every interceptor of the chain
+     * @see #isPoolable(Interceptor)
+     */
+    static boolean isPoolable(final Interceptor[] interceptors) {
+        for (Interceptor interceptor : interceptors) {
+            if (! isPoolable(interceptor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index() {
+        long id = Thread.currentThread().getId();
+        id ^= id >>> 33;
+        id *= 0xff51afd7ed558ccdL;
+        id ^= id >>> 33;
+        return (int) id & mask;
+    }
+}
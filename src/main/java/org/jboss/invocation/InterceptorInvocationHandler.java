@@ -19,16 +19,24 @@
 package org.jboss.invocation;
 
 import java.io.Serializable;
-import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 
+import org.jboss.invocation.proxy.ProxyConfiguration;
+import org.jboss.invocation.proxy.ProxyDispatcher;
+
 /**
  * A {@link Proxy} {@code InvocationHandler} which delegates invocations to an {@code Interceptor}.
+ * <p>
+ * When used with a {@linkplain ProxyConfiguration#setTypedDispatch(boolean) typed dispatch} proxy, the argument of a
+ * method with a single primitive parameter is passed to the interceptor in an {@link ArgumentFrame}, so that
+ * interceptors which read it with the typed accessors of {@link InterceptorContext}, such as
+ * {@link InterceptorContext#getIntParameter(int)}, do not box it.  The argument is still boxed if an interceptor
+ * or the invoked target asks for the {@linkplain InterceptorContext#getParameters() parameter array}.
  *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
-public class InterceptorInvocationHandler implements InvocationHandler, Serializable {
+public class InterceptorInvocationHandler extends ProxyDispatcher implements Serializable {
 
     private static final long serialVersionUID = -7550306900997519378L;
 
@@ -39,13 +47,37 @@ public class InterceptorInvocationHandler implements InvocationHandler, Serializ
      */
     private final Interceptor interceptor;
 
+    /**
+     * {@code true} if interceptor contexts are taken from a shared pool and reused.
+     *
+     * @serial
+     */
+    private final boolean pooled;
+
+    private static final InterceptorContextPool POOL = new InterceptorContextPool();
+
     /**
      * Construct a new instance.
      *
      * @param interceptor the interceptor to send invocations through
      */
     public InterceptorInvocationHandler(final Interceptor interceptor) {
+        this(interceptor, false);
+    }
+
+    /**
+     * Construct a new instance.  If {@code pooled} is {@code true}, each invocation runs with an interceptor context
+     * taken from a shared {@link InterceptorContextPool}, which is reset and returned to the pool once the invocation
+     * completes.  This mode must only be used for interceptors which do not retain the context (or its invocation
+     * context) beyond the invocation; interceptors needing the context afterwards must {@linkplain InterceptorContext#clone() clone} it.
+     * Contexts are not pooled if the interceptor is an {@link AsyncInterceptor}, or a chain which contains one.
+     *
+     * @param interceptor the interceptor to send invocations through
+     * @param pooled {@code true} to reuse interceptor contexts, {@code false} to create one per invocation
+     */
+    public InterceptorInvocationHandler(final Interceptor interceptor, final boolean pooled) {
         this.interceptor = interceptor;
+        this.pooled = pooled && InterceptorContextPool.isPoolable(interceptor);
     }
 
     /**
@@ -58,10 +90,87 @@ public class InterceptorInvocationHandler implements InvocationHandler, Serializ
      * @throws Throwable the exception to thrown from the method invocation on the proxy instance, if any
      */
     public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
-        InterceptorContext context = new InterceptorContext();
-        context.setParameters(args);
-        context.setMethod(method);
-        return interceptor.processInvocation(context);
+        return process(-1, method, args, null);
+    }
+
+    /** {@inheritDoc} */
+    public Object invoke(final Object proxy, final int methodIndex, final Method method, final Object[] args) throws Throwable {
+        return process(methodIndex, method, args, null);
+    }
+
+    /** {@inheritDoc} */
+    public Object invokeI(final Object proxy, final int methodIndex, final Method method, final int arg) throws Throwable {
+        final ArgumentFrame frame = new ArgumentFrame(getParameterTypes(method));
+        final Class<?> type = frame.getParameterType(0);
+        if (type == int.class) {
+            frame.setInt(0, arg);
+        } else if (type == boolean.class) {
+            frame.setBoolean(0, arg != 0);
+        } else if (type == byte.class) {
+            frame.setByte(0, (byte) arg);
+        } else if (type == short.class) {
+            frame.setShort(0, (short) arg);
+        } else {
+            frame.setChar(0, (char) arg);
+        }
+        return process(methodIndex, method, null, frame);
+    }
+
+    /** {@inheritDoc} */
+    public Object invokeJ(final Object proxy, final int methodIndex, final Method method, final long arg) throws Throwable {
+        final ArgumentFrame frame = new ArgumentFrame(getParameterTypes(method));
+        frame.setLong(0, arg);
+        return process(methodIndex, method, null, frame);
+    }
+
+    /** {@inheritDoc} */
+    public Object invokeD(final Object proxy, final int methodIndex, final Method method, final double arg) throws Throwable {
+        final ArgumentFrame frame = new ArgumentFrame(getParameterTypes(method));
+        if (frame.getParameterType(0) == float.class) {
+            frame.setFloat(0, (float) arg);
+        } else {
+            frame.setDouble(0, arg);
+        }
+        return process(methodIndex, method, null, frame);
+    }
+
+    private Object process(final int methodIndex, final Method method, final Object[] args, final ArgumentFrame frame) throws Exception {
+        return process(pooled, methodIndex, method, args, frame, interceptor, null);
+    }
+
+    /**
+     * Send a proxy method invocation either through the given interceptor chain or, if there is none, to the given
+     * interceptor, using an interceptor context which is either new or taken from the shared pool.
+     *
+     * @param pooled {@code true} to take the context from the shared pool
+     * @param methodIndex the index of the method in the proxy class, or {@code -1} if it is not known
+     * @param method the invoked method
+     * @param args the method arguments, or {@code null} if they are given by {@code frame}
+     * @param frame the method arguments, or {@code null} if they are given by {@code args}
+     * @param interceptor the interceptor, if there is no chain
+     * @param chain the interceptor chain, or {@code null} to call {@code interceptor}
+     * @return the result of the invocation
+     * @throws Exception if the invocation throws an exception
+     */
+    static Object process(final boolean pooled, final int methodIndex, final Method method, final Object[] args, final ArgumentFrame frame, final Interceptor interceptor, final Interceptor[] chain) throws Exception {
+        final InterceptorContext context = pooled ? POOL.acquire() : new InterceptorContext();
+        try {
+            if (frame == null) {
+                context.setParameters(args);
+            } else {
+                context.setArguments(frame);
+            }
+            context.setMethod(method, methodIndex);
+            if (chain == null) {
+                return interceptor.processInvocation(context);
+            }
+            context.setInterceptors(chain);
+            return context.proceed();
+        } finally {
+            if (pooled) {
+                POOL.release(context);
+            }
+        }
     }
 
     /** {@inheritDoc} */
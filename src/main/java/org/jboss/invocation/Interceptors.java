@@ -19,6 +19,11 @@
 package org.jboss.invocation;
 
 import java.util.Collection;
+import java.util.concurrent.Executor;
+
+import org.jboss.invocation.proxy.Invoker;
+import org.jboss.invocation.proxy.InvokerFactory;
+import org.wildfly.common.Assert;
 
 import static org.jboss.invocation.InvocationMessages.msg;
 
@@ -89,6 +94,19 @@ public final class Interceptors {
         return InvokingInterceptor.FACTORY;
     }
 
+    /**
+     * Get an interceptor which invokes the context's method on the context's target through the {@link Invoker}
+     * generated by the given factory, instead of by reflection.  Like the {@linkplain #getInvokingInterceptor() invoking
+     * interceptor}, it returns {@code null} if the invoked method is {@code null}.  Methods which the invoker cannot
+     * call are invoked reflectively.
+     *
+     * @param invokerFactory the factory of the invoker for the target class
+     * @return the interceptor
+     */
+    public static Interceptor getDispatchingInterceptor(final InvokerFactory<?> invokerFactory) {
+        return new DispatchingInterceptor(invokerFactory);
+    }
+
     /**
      * Get a chained interceptor which passes the invocation through the given interceptors.
      *
@@ -131,6 +149,196 @@ public final class Interceptors {
         return size == 1 ? instances.iterator().next() : new ChainedInterceptorFactory(instances.toArray(InterceptorFactory.EMPTY_ARRAY));
     }
 
+    /**
+     * Get a chained interceptor which passes the invocation through the given interceptors, inlining nested chained
+     * interceptors so that the invocation walks a single array.  A nested chain is inlined when it is the last of the
+     * given interceptors (or the last of a chain which is itself inlined), which is how chains composed of other chains
+     * are normally built; the resulting interceptor behaves exactly like the
+     * {@linkplain #getChainedInterceptor(Interceptor...) equivalent nested chain}, but each inlined level no longer
+     * saves and restores the interceptors of the context.
+     *
+     * @param instances the interceptors to pass through
+     * @return the chained interceptor
+     */
+    public static Interceptor getFlattenedChainedInterceptor(Interceptor... instances) {
+        return getChainedInterceptor(ChainedInterceptor.flatten(instances));
+    }
+
+    /**
+     * Get a chained interceptor which passes the invocation through the given interceptors, inlining nested chained
+     * interceptors so that the invocation walks a single array.
+     *
+     * @param instances the interceptors to pass through
+     * @return the chained interceptor
+     * @see #getFlattenedChainedInterceptor(Interceptor...)
+     */
+    public static Interceptor getFlattenedChainedInterceptor(Collection<Interceptor> instances) {
+        return getFlattenedChainedInterceptor(instances.toArray(Interceptor.EMPTY_ARRAY));
+    }
+
+    /**
+     * Get a chained interceptor factory which builds a flattened chained interceptor using the given factories.
+     *
+     * @param instances the interceptor factories to use
+     * @return the chained interceptor factory
+     * @see #getFlattenedChainedInterceptor(Interceptor...)
+     */
+    public static InterceptorFactory getFlattenedChainedInterceptorFactory(InterceptorFactory... instances) {
+        return new ChainedInterceptorFactory(true, instances);
+    }
+
+    /**
+     * Get a chained interceptor factory which builds a flattened chained interceptor using the given factories.
+     *
+     * @param instances the interceptor factories to use
+     * @return the chained interceptor factory
+     * @see #getFlattenedChainedInterceptor(Interceptor...)
+     */
+    public static InterceptorFactory getFlattenedChainedInterceptorFactory(Collection<InterceptorFactory> instances) {
+        return getFlattenedChainedInterceptorFactory(instances.toArray(InterceptorFactory.EMPTY_ARRAY));
+    }
+
+    /**
+     * Get a chained interceptor which passes the invocation through the given interceptors, recording the self time of
+     * each interceptor into the given statistics.  Nested chained interceptors are
+     * {@linkplain #getFlattenedChainedInterceptor(Interceptor...) flattened}, so that their interceptors are timed
+     * individually.
+     *
+     * @param statistics the statistics to record into (must not be {@code null})
+     * @param instances the interceptors to pass through
+     * @return the timed chained interceptor
+     */
+    public static Interceptor getTimedChainedInterceptor(ChainStatistics statistics, Interceptor... instances) {
+        Assert.checkNotNullParam("statistics", statistics);
+        return new TimedChainedInterceptor(statistics, ChainedInterceptor.flatten(instances));
+    }
+
+    /**
+     * Get a chained interceptor factory which builds a timed chained interceptor using the given factories.  The
+     * statistics are not serialized with the factory, so a deserialized factory builds chains which are not timed.
+     *
+     * @param statistics the statistics to record into (must not be {@code null})
+     * @param instances the interceptor factories to use
+     * @return the chained interceptor factory
+     * @see #getTimedChainedInterceptor(ChainStatistics, Interceptor...)
+     */
+    public static InterceptorFactory getTimedChainedInterceptorFactory(ChainStatistics statistics, InterceptorFactory... instances) {
+        return new ChainedInterceptorFactory(statistics, instances);
+    }
+
+    /**
+     * Get a chained interceptor factory which builds a timed chained interceptor using the given factories.  The
+     * statistics are not serialized with the factory, so a deserialized factory builds chains which are not timed.
+     *
+     * @param statistics the statistics to record into (must not be {@code null})
+     * @param instances the interceptor factories to use
+     * @return the chained interceptor factory
+     * @see #getTimedChainedInterceptor(ChainStatistics, Interceptor...)
+     */
+    public static InterceptorFactory getTimedChainedInterceptorFactory(ChainStatistics statistics, Collection<InterceptorFactory> instances) {
+        return getTimedChainedInterceptorFactory(statistics, instances.toArray(InterceptorFactory.EMPTY_ARRAY));
+    }
+
+    /**
+     * Get a compiled interceptor which passes the invocation through the given interceptors.  A compiled interceptor
+     * behaves exactly like a {@linkplain #getChainedInterceptor(Interceptor...) chained interceptor}, but dispatches
+     * each position of the chain from a separate call site in a class generated for the shape of the chain, which
+     * allows the JIT to inline across the chain.  If the chain cannot be compiled, or is longer than the point where
+     * compiling pays off, it is walked as an array.
+     *
+     * @param instances the interceptors to pass through
+     * @return the compiled interceptor
+     */
+    public static Interceptor getCompiledInterceptor(Interceptor... instances) {
+        return instances.length == 1 ? instances[0] : CompiledInterceptor.create(instances);
+    }
+
+    /**
+     * Get a compiled interceptor which passes the invocation through the given interceptors.
+     *
+     * @param instances the interceptors to pass through
+     * @return the compiled interceptor
+     * @see #getCompiledInterceptor(Interceptor...)
+     */
+    public static Interceptor getCompiledInterceptor(Collection<Interceptor> instances) {
+        final int size = instances.size();
+        return size == 1 ? instances.iterator().next() : CompiledInterceptor.create(instances.toArray(Interceptor.EMPTY_ARRAY));
+    }
+
+    /**
+     * Get a compiled interceptor factory which builds a compiled interceptor using the given factories.
+     *
+     * @param instances the interceptor factories to use
+     * @return the compiled interceptor factory
+     * @see #getCompiledInterceptor(Interceptor...)
+     */
+    public static InterceptorFactory getCompiledInterceptorFactory(InterceptorFactory... instances) {
+        return instances.length == 1 ? instances[0] : new CompiledInterceptorFactory(instances);
+    }
+
+    /**
+     * Get a compiled interceptor factory which builds a compiled interceptor using the given factories.
+     *
+     * @param instances the interceptor factories to use
+     * @return the compiled interceptor factory
+     * @see #getCompiledInterceptor(Interceptor...)
+     */
+    public static InterceptorFactory getCompiledInterceptorFactory(Collection<InterceptorFactory> instances) {
+        final int size = instances.size();
+        return size == 1 ? instances.iterator().next() : new CompiledInterceptorFactory(instances.toArray(InterceptorFactory.EMPTY_ARRAY));
+    }
+
+    /**
+     * Get an asynchronous view of the given interceptor.  If the interceptor is already an {@link AsyncInterceptor},
+     * it is returned as-is; otherwise it is adapted so that it runs synchronously and reports its outcome as a
+     * completed stage.
+     *
+     * @param interceptor the interceptor
+     * @return the asynchronous interceptor
+     */
+    public static AsyncInterceptor getAsyncInterceptor(Interceptor interceptor) {
+        return interceptor instanceof AsyncInterceptor ? (AsyncInterceptor) interceptor : new SynchronousInterceptorAdapter(interceptor);
+    }
+
+    /**
+     * Get an interceptor which runs the remainder of the chain on a virtual thread (or on a daemon thread if the JVM
+     * does not support virtual threads) for asynchronous invocations whose caller
+     * {@linkplain InterceptorContext#isBlockingCaller() must not block}, allowing at most {@code 256} such invocations
+     * at a time.  Synchronous invocations, and asynchronous invocations whose caller may block, proceed inline.
+     * The thread context class loader and current security identity of the caller are propagated to the executing thread.
+     *
+     * @return the offload interceptor
+     */
+    public static AsyncInterceptor getOffloadInterceptor() {
+        return new OffloadInterceptor(OffloadInterceptor.getDefaultExecutor(), OffloadInterceptor.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Get an interceptor which runs the remainder of the chain on a virtual thread (or on a daemon thread if the JVM
+     * does not support virtual threads) for asynchronous invocations whose caller
+     * {@linkplain InterceptorContext#isBlockingCaller() must not block}.  Synchronous invocations, and asynchronous
+     * invocations whose caller may block, proceed inline.
+     *
+     * @param maxConcurrency the maximum number of invocations which may run on offload threads at once (must be at least 1)
+     * @return the offload interceptor
+     */
+    public static AsyncInterceptor getOffloadInterceptor(int maxConcurrency) {
+        return new OffloadInterceptor(OffloadInterceptor.getDefaultExecutor(), maxConcurrency);
+    }
+
+    /**
+     * Get an interceptor which runs the remainder of the chain on the given executor for asynchronous invocations whose
+     * caller {@linkplain InterceptorContext#isBlockingCaller() must not block}.  Synchronous invocations, and
+     * asynchronous invocations whose caller may block, proceed inline.
+     *
+     * @param executor the executor to run invocations on (must not be {@code null})
+     * @param maxConcurrency the maximum number of invocations which may run on the executor at once (must be at least 1)
+     * @return the offload interceptor
+     */
+    public static AsyncInterceptor getOffloadInterceptor(Executor executor, int maxConcurrency) {
+        return new OffloadInterceptor(executor, maxConcurrency);
+    }
+
     public static Interceptor getWeavedInterceptor(final Interceptor... interceptors) {
         return new WeavedInterceptor(interceptors);
     }
@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation;
+
+/**
+ * A listener which is notified when invocations pass through a {@link ListenableInterceptorFactory} chain.  All methods
+ * are called on the thread which runs the chain; the default implementations do nothing.
+ * <p>
+ * Listeners should not throw exceptions; an exception thrown by a listener is propagated to the caller of the
+ * invocation.
+ */
+public interface InvocationListener {
+
+    /**
+     * Handle the start of an invocation, before the first interceptor of the chain runs.
+     *
+     * @param context the interceptor context
+     */
+    default void invocationStarted(InterceptorContext context) {
+    }
+
+    /**
+     * Handle the successful completion of an invocation.
+     *
+     * @param context the interceptor context
+     * @param result the result of the invocation
+     */
+    default void invocationSucceeded(InterceptorContext context, Object result) {
+    }
+
+    /**
+     * Handle the failure of an invocation.  Errors thrown by the chain are not reported.
+     *
+     * @param context the interceptor context
+     * @param cause the exception thrown by the chain
+     */
+    default void invocationFailed(InterceptorContext context, Exception cause) {
+    }
+}
@@ -77,4 +77,10 @@ interface InvocationMessages {
 
     @Message(id = 14, value = "No asynchronous result supplier is set")
     IllegalStateException noAsynchronousResultSupplierSet();
+
+    @Message(id = 15, value = "Parameter %d is of type %s, not %s")
+    IllegalArgumentException wrongParameterType(int index, Class<?> actual, Class<?> requested);
+
+    @Message(id = 16, value = "Chain of %d interceptors cannot be timed by %s, which times chains of %d interceptors")
+    IllegalArgumentException wrongChainLength(int length, ChainStatistics statistics, int expected);
 }
@@ -44,7 +44,8 @@ class InvokingInterceptor implements Interceptor, Serializable {
             if (target == null) {
                 throw msg.nullProperty("target", context);
             }
-            return method.invoke(target, context.getParameters());
+            final MethodInvoker invoker = MethodInvoker.of(method);
+            return invoker == null ? method.invoke(target, context.getParameters()) : invoker.invoke(target, context.getParameters());
         } catch (IllegalAccessException e) {
             final IllegalAccessError n = new IllegalAccessError(e.getMessage());
             n.setStackTrace(e.getStackTrace());
@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free, fixed-size, log-linear histogram of durations in nanoseconds.  Each power of two is split into eight
+ * linear buckets, so a recorded value is known to within 12.5%; durations of 2<sup>36</sup> nanoseconds (about 68
+ * seconds) or more share the last bucket.  A histogram takes about 2.2 KB.  Once concurrent updates are seen to
+ * contend, later updates go to one of several stripes chosen by the recording thread, so that concurrent threads
+ * mostly update different cache lines; the stripes take about 2.3 KB more for each processor, up to four.
+ */
+final class LatencyHistogram {
+
+    /**
+     * The number of buckets.
+     */
+    static final int BUCKETS = 272;
+
+    /**
+     * The index of the total duration in an accumulator.
+     */
+    static final int TOTAL = BUCKETS;
+
+    /**
+     * The index of the maximum duration in an accumulator.
+     */
+    static final int MAX = BUCKETS + 1;
+
+    /**
+     * The length of an accumulator.
+     */
+    static final int ACCUMULATOR_LENGTH = BUCKETS + 2;
+
+    private static final int MAX_EXPONENT = 35;
+    // padded so that the hot cells of neighbouring stripes do not share a cache line
+    private static final int STRIDE = ACCUMULATOR_LENGTH + 8;
+    private static final int STRIPES = Math.min(4, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    private final AtomicLongArray cells = new AtomicLongArray(ACCUMULATOR_LENGTH);
+    /**
+     * The striped cells, which are created when updates of {@link #cells} first contend.
+     */
+    private volatile AtomicLongArray stripes;
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        AtomicLongArray stripes = this.stripes;
+        if (stripes == null) {
+            final AtomicLongArray cells = this.cells;
+            if (STRIPES == 1) {
+                cells.getAndAdd(TOTAL, nanos);
+                update(cells, 0, nanos);
+                return;
+            }
+            // every update adds to the total, so a failure to add to it is taken as a sign of contention
+            final long total = cells.get(TOTAL);
+            if (cells.compareAndSet(TOTAL, total, total + nanos)) {
+                update(cells, 0, nanos);
+                return;
+            }
+            stripes = getStripes();
+        }
+        @SuppressWarnings("deprecation")
+        final int base = ((int) Thread.currentThread().getId() & (STRIPES - 1)) * STRIDE;
+        stripes.getAndAdd(base + TOTAL, nanos);
+        update(stripes, base, nanos);
+    }
+
+    private AtomicLongArray getStripes() {
+        synchronized (this) {
+            AtomicLongArray stripes = this.stripes;
+            if (stripes == null) {
+                this.stripes = stripes = new AtomicLongArray(STRIPES * STRIDE);
+            }
+            return stripes;
+        }
+    }
+
+    private static void update(final AtomicLongArray cells, final int base, final long nanos) {
+        cells.getAndIncrement(base + bucket(nanos));
+        long max;
+        while (nanos > (max = cells.get(base + MAX)) && ! cells.compareAndSet(base + MAX, max, nanos)) {
+            // retry
+        }
+    }
+
+    /**
+     * Add the contents of this histogram to the given accumulator.
+     *
+     * @param accumulator the accumulator, of length {@link #ACCUMULATOR_LENGTH}
+     */
+    void addTo(final long[] accumulator) {
+        addTo(accumulator, cells, 0);
+        final AtomicLongArray stripes = this.stripes;
+        if (stripes != null) {
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                addTo(accumulator, stripes, stripe * STRIDE);
+            }
+        }
+    }
+
+    private static void addTo(final long[] accumulator, final AtomicLongArray cells, final int base) {
+        for (int i = 0; i < BUCKETS; i++) {
+            accumulator[i] += cells.get(base + i);
+        }
+        accumulator[TOTAL] += cells.get(base + TOTAL);
+        accumulator[MAX] = Math.max(accumulator[MAX], cells.get(base + MAX));
+    }
+
+    /**
+     * Get the bucket of a duration.
+     *
+     * @param nanos the non-negative duration
+     * @return the bucket index
+     */
+    static int bucket(final long nanos) {
+        if (nanos < 8) {
+            return (int) nanos;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        return (exponent - 2) << 3 | (int) (nanos >>> (exponent - 3)) & 7;
+    }
+
+    /**
+     * Get the largest duration which falls into a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the largest duration of the bucket
+     */
+    static long highestValue(final int bucket) {
+        if (bucket < 8) {
+            return bucket;
+        }
+        final int shift = (bucket >> 3) - 1;
+        return (8L + (bucket & 7) << shift) + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation;
+
+/**
+ * A snapshot of the self times recorded for one position of a {@linkplain ChainStatistics timed chain}.  Percentiles
+ * are reported as the largest duration of the histogram bucket they fall into, which is at most 12.5% above the
+ * recorded duration.
+ */
+public final class LatencySnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param accumulator the accumulated histogram contents
+     */
+    LatencySnapshot(final long[] accumulator) {
+        final long[] counts = new long[LatencyHistogram.BUCKETS];
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            count += counts[i] = accumulator[i];
+        }
+        this.counts = counts;
+        this.count = count;
+        totalNanos = accumulator[LatencyHistogram.TOTAL];
+        maxNanos = accumulator[LatencyHistogram.MAX];
+    }
+
+    /**
+     * Get the number of recorded invocations.
+     *
+     * @return the number of recorded invocations
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the total self time of the recorded invocations.
+     *
+     * @return the total self time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Get the mean self time of the recorded invocations.
+     *
+     * @return the mean self time in nanoseconds, or 0 if there are no recorded invocations
+     */
+    public double getMeanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * Get the largest self time of the recorded invocations.
+     *
+     * @return the largest self time in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Get the median self time.
+     *
+     * @return the median self time in nanoseconds
+     */
+    public long getP50Nanos() {
+        return getValueAtPercentile(50);
+    }
+
+    /**
+     * Get the 90th percentile of the self time.
+     *
+     * @return the 90th percentile in nanoseconds
+     */
+    public long getP90Nanos() {
+        return getValueAtPercentile(90);
+    }
+
+    /**
+     * Get the 99th percentile of the self time.
+     *
+     * @return the 99th percentile in nanoseconds
+     */
+    public long getP99Nanos() {
+        return getValueAtPercentile(99);
+    }
+
+    /**
+     * Get the self time at the given percentile.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the self time in nanoseconds, or 0 if there are no recorded invocations
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+        final long[] counts = this.counts;
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValue(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    public String toString() {
+        return String.format("count=%d, mean=%.1fns, p50=%dns, p99=%dns, max=%dns", count, getMeanNanos(), getP50Nanos(), getP99Nanos(), maxNanos);
+    }
+}
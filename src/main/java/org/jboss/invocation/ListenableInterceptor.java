@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An interceptor which passes invocations through a compiled chain, notifying the listeners of the
+ * {@link ListenableInterceptorFactory} which created it.  Listeners are registered with the factory in this JVM only,
+ * so the interceptor is serialized as a plain chain of the same interceptors.
+ */
+class ListenableInterceptor implements AsyncInterceptor, Serializable {
+
+    private static final long serialVersionUID = -4178466125362092573L;
+
+    private final ListenableInterceptorFactory factory;
+    private final Interceptor[] interceptors;
+    private final CompiledChain compiledChain;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param factory the factory which holds the listeners
+     * @param interceptors the child interceptors
+     */
+    ListenableInterceptor(final ListenableInterceptorFactory factory, final Interceptor[] interceptors) {
+        this.factory = factory;
+        this.interceptors = interceptors;
+        compiledChain = CompiledChain.compile(interceptors);
+    }
+
+    /**
+     * Get the child interceptors.
+     *
+     * @return the child interceptors
+     */
+    Interceptor[] getInterceptors() {
+        return interceptors;
+    }
+
+    /** {@inheritDoc} */
+    public Object processInvocation(final InterceptorContext context) throws Exception {
+        final InvocationListener[] listeners = factory.getListeners();
+        final int oldNext = context.getNextInterceptorIndex();
+        final Interceptor[] old = context.getInterceptors();
+        final CompiledChain oldChain = context.getCompiledChain();
+        context.setInterceptors(interceptors, 0, compiledChain);
+        try {
+            if (listeners == null) {
+                return context.proceed();
+            }
+            return proceedListened(listeners, context);
+        } finally {
+            context.setInterceptors(old, oldNext, oldChain);
+        }
+    }
+
+    private static Object proceedListened(final InvocationListener[] listeners, final InterceptorContext context) throws Exception {
+        for (InvocationListener listener : listeners) {
+            listener.invocationStarted(context);
+        }
+        final Object result;
+        try {
+            result = context.proceed();
+        } catch (Exception e) {
+            for (InvocationListener listener : listeners) {
+                listener.invocationFailed(context, e);
+            }
+            throw e;
+        }
+        for (InvocationListener listener : listeners) {
+            listener.invocationSucceeded(context, result);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}  The listeners are notified of the outcome when the returned stage completes, so dependent stages
+     * may run before they are notified, and exceptions thrown by the listeners at that point are not propagated.  As
+     * the context may have been restored, reset or reused by then, they are given a copy of it, taken when the chain
+     * returned its stage.
+     */
+    public CompletionStage<Object> processInvocationAsync(final InterceptorContext context) throws Exception {
+        final InvocationListener[] listeners = factory.getListeners();
+        final int oldNext = context.getNextInterceptorIndex();
+        final Interceptor[] old = context.getInterceptors();
+        final CompiledChain oldChain = context.getCompiledChain();
+        context.setInterceptors(interceptors, 0, compiledChain);
+        try {
+            if (listeners == null) {
+                return context.proceedAsync();
+            }
+            for (InvocationListener listener : listeners) {
+                listener.invocationStarted(context);
+            }
+            final CompletionStage<Object> stage = context.proceedAsync();
+            final InterceptorContext copy = context.clone();
+            // notify without wrapping the stage, so that cancellation still reaches the chain
+            stage.whenComplete((result, problem) -> {
+                if (problem == null) {
+                    for (InvocationListener listener : listeners) {
+                        listener.invocationSucceeded(copy, result);
+                    }
+                    return;
+                }
+                final Throwable cause = problem instanceof CompletionException && problem.getCause() != null ? problem.getCause() : problem;
+                // errors are not reported, just like on the synchronous path
+                if (cause instanceof Exception) {
+                    for (InvocationListener listener : listeners) {
+                        listener.invocationFailed(copy, (Exception) cause);
+                    }
+                }
+            });
+            return stage;
+        } finally {
+            context.setInterceptors(old, oldNext, oldChain);
+        }
+    }
+
+    protected Object writeReplace() {
+        return new ChainedInterceptor(interceptors);
+    }
+}
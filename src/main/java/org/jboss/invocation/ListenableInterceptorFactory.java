@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.wildfly.common.Assert;
+
+/**
+ * An interceptor factory which builds a compiled chain from the interceptors of the given factories, and which
+ * notifies {@linkplain InvocationListener invocation listeners} of the invocations passing through every chain it has
+ * created.  Listeners may be added and removed at any time; chains which were already created pick up the change
+ * without being rebuilt.
+ * <p>
+ * While no listener is registered with any factory, the listener check is compiled away and a chain behaves exactly
+ * like a {@linkplain Interceptors#getCompiledInterceptor(Interceptor...) compiled interceptor}.  Registering the first
+ * listener anywhere deoptimizes the code which depends on this, so listeners which are no longer needed should be
+ * removed.
+ */
+public final class ListenableInterceptorFactory implements InterceptorFactory {
+
+    private static final InvocationListener[] NO_LISTENERS = new InvocationListener[0];
+    private static final MethodHandle FALSE = MethodHandles.constant(boolean.class, Boolean.FALSE);
+    private static final MethodHandle TRUE = MethodHandles.constant(boolean.class, Boolean.TRUE);
+    private static final MutableCallSite LISTENING = new MutableCallSite(FALSE);
+    private static final MethodHandle LISTENING_INVOKER = LISTENING.dynamicInvoker();
+    private static final Object LOCK = new Object();
+
+    private static int registered;
+
+    private final InterceptorFactory[] interceptorFactories;
+    private volatile InvocationListener[] listeners = NO_LISTENERS;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param interceptorFactories the interceptor factories to use
+     */
+    public ListenableInterceptorFactory(final InterceptorFactory... interceptorFactories) {
+        Assert.checkNotNullParam("interceptorFactories", interceptorFactories);
+        this.interceptorFactories = interceptorFactories;
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param interceptorFactories the interceptor factories to use
+     */
+    public ListenableInterceptorFactory(final Collection<InterceptorFactory> interceptorFactories) {
+        this(interceptorFactories.toArray(InterceptorFactory.EMPTY_ARRAY));
+    }
+
+    /** {@inheritDoc} */
+    public Interceptor create(final InterceptorFactoryContext context) {
+        final InterceptorFactory[] factories = interceptorFactories;
+        final int length = factories.length;
+        final Interceptor[] interceptors = new Interceptor[length];
+        for (int i = 0; i < length; i++) {
+            interceptors[i] = factories[i].create(context);
+        }
+        return new ListenableInterceptor(this, interceptors);
+    }
+
+    /**
+     * Add a listener.  The listener is notified of invocations which start after this method returns.  A listener which
+     * is added more than once is notified once for each time it was added.
+     *
+     * @param listener the listener to add (must not be {@code null})
+     */
+    public void addListener(final InvocationListener listener) {
+        Assert.checkNotNullParam("listener", listener);
+        synchronized (LOCK) {
+            final InvocationListener[] listeners = this.listeners;
+            final InvocationListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+            newListeners[listeners.length] = listener;
+            this.listeners = newListeners;
+            if (registered++ == 0) {
+                LISTENING.setTarget(TRUE);
+                MutableCallSite.syncAll(new MutableCallSite[] { LISTENING });
+            }
+        }
+    }
+
+    /**
+     * Remove a listener.  Invocations which are already running may still notify the listener.
+     *
+     * @param listener the listener to remove
+     * @return {@code true} if the listener was removed, {@code false} if it was not registered
+     */
+    public boolean removeListener(final InvocationListener listener) {
+        synchronized (LOCK) {
+            final InvocationListener[] listeners = this.listeners;
+            final int length = listeners.length;
+            for (int i = 0; i < length; i++) {
+                if (listeners[i] == listener) {
+                    final InvocationListener[] newListeners = new InvocationListener[length - 1];
+                    System.arraycopy(listeners, 0, newListeners, 0, i);
+                    System.arraycopy(listeners, i + 1, newListeners, i, length - i - 1);
+                    this.listeners = newListeners;
+                    if (--registered == 0) {
+                        LISTENING.setTarget(FALSE);
+                        MutableCallSite.syncAll(new MutableCallSite[] { LISTENING });
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Get the listeners to notify of an invocation.
+     *
+     * @return the listeners, or {@code null} if there are none
+     */
+    InvocationListener[] getListeners() {
+        if (! isListening()) {
+            return null;
+        }
+        final InvocationListener[] listeners = this.listeners;
+        return listeners.length == 0 ? null : listeners;
+    }
+
+    /**
+     * Determine whether any factory has a listener.  The call site target is constant-folded by the JIT, so this check
+     * costs nothing while no listener is registered.
+     *
+     * @return {@code true} if any factory has a listener
+     */
+    private static boolean isListening() {
+        try {
+            return (boolean) LISTENING_INVOKER.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
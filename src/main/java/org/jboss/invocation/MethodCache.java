@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of values computed once per method.  Values are kept in one of two stores: either in a
+ * {@link ClassValue} of the declaring class, so that a cache held in a static field does not keep classes from being
+ * unloaded, or in a map owned by the cache, for a cache whose owner only sees the methods of classes it refers to
+ * anyway.  Either store is
+ * looked up by method equality, so that distinct {@link Method} objects for the same method share one value.
+ * <p>
+ * In front of the store, recently used values are kept in a direct-mapped table keyed by the identity of the
+ * {@code Method} object, since callers such as proxies pass the same instance on every invocation.  In front of the
+ * per-class store, the table refers to both the method and the value weakly, the values themselves being kept alive
+ * by the store.  A method whose value is {@code null} is cached as such.
+ *
+ * @param <V> the value type
+ */
+abstract class MethodCache<V> {
+
+    private static final Object NONE = new Object();
+
+    private final Entry[] recent;
+    private final ClassValue<ConcurrentHashMap<Method, Object>> perClass;
+    private final ConcurrentHashMap<Method, Object> owned;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param size the number of recently used values to keep, rounded up to a power of two
+     * @param perClass {@code true} to keep values in a {@code ClassValue} of the declaring class, {@code false} to
+     *      keep them in a map owned by this cache
+     */
+    MethodCache(final int size, final boolean perClass) {
+        recent = new Entry[size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1];
+        if (perClass) {
+            this.perClass = new ClassValue<ConcurrentHashMap<Method, Object>>() {
+                protected ConcurrentHashMap<Method, Object> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+            owned = null;
+        } else {
+            this.perClass = null;
+            owned = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Get the value for the given method, computing it if it is not yet cached.
+     *
+     * @param method the method
+     * @return the value (may be {@code null})
+     */
+    @SuppressWarnings("unchecked")
+    final V get(final Method method) {
+        final Entry[] recent = this.recent;
+        final int index = System.identityHashCode(method) & recent.length - 1;
+        final Entry entry = recent[index];
+        if (entry != null) {
+            if (perClass == null) {
+                if (entry.method == method) {
+                    final Object value = entry.value;
+                    return value == NONE ? null : (V) value;
+                }
+            } else if (((WeakReference<?>) entry.method).get() == method) {
+                final Object value = ((WeakReference<?>) entry.value).get();
+                if (value != null) {
+                    return value == NONE ? null : (V) value;
+                }
+            }
+        }
+        return getSlow(method, index);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V getSlow(final Method method, final int index) {
+        final ConcurrentHashMap<Method, Object> values = perClass == null ? owned : perClass.get(method.getDeclaringClass());
+        Object value = values.get(method);
+        if (value == null) {
+            final V computed = computeValue(method);
+            value = computed == null ? NONE : computed;
+            final Object appearing = values.putIfAbsent(method, value);
+            if (appearing != null) {
+                value = appearing;
+            }
+        }
+        // racing updates are harmless, as entries are immutable and any entry may be displaced
+        recent[index] = perClass == null ? new Entry(method, value) : new Entry(new WeakReference<>(method), new WeakReference<>(value));
+        return value == NONE ? null : (V) value;
+    }
+
+    /**
+     * Compute the value for the given method.  The value may be computed more than once if threads race.
+     *
+     * @param method the method
+     * @return the value (may be {@code null})
+     */
+    protected abstract V computeValue(Method method);
+
+    static final class Entry {
+        /**
+         * The method, or a weak reference to it if values are kept per class.
+         */
+        final Object method;
+        /**
+         * The value, or a weak reference to it if values are kept per class.
+         */
+        final Object value;
+
+        Entry(final Object method, final Object value) {
+            this.method = method;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.invocation.proxy.IndexedInvocationHandler;
+import org.jboss.invocation.proxy.MethodIdentifier;
+import org.wildfly.common.Assert;
+
+/**
+ * A {@link Proxy} {@code InvocationHandler} which sends each invocation through an interceptor chain selected by the
+ * invoked method, so that methods which need few interceptors run a short chain, and interceptors which only apply
+ * to some methods need not check {@link InterceptorContext#getMethod()}.
+ * <p>
+ * Chains are selected by {@link MethodIdentifier}, so a chain applies to every method with the same signature, such
+ * as the method of a business interface and the method of the proxied class which implements it.  The chain of each
+ * method is looked up once, and is then kept in a table keyed by the identity of the {@link Method} object, since
+ * proxies pass the same instance on every invocation, backed by a map keyed by the method itself.  Proxies which pass the index of the invoked
+ * method, such as those generated with {@linkplain org.jboss.invocation.proxy.ProxyConfiguration#setTypedDispatch(boolean)
+ * typed dispatch}, find the chain in a table indexed by method instead.
+ */
+public class MethodChainInvocationHandler implements IndexedInvocationHandler, Serializable {
+
+    private static final long serialVersionUID = 2925498420478117212L;
+
+    /**
+     * The interceptor chain of each method.
+     *
+     * @serial
+     */
+    private final HashMap<MethodIdentifier, Interceptor[]> chains;
+
+    /**
+     * The interceptor chain of methods which have no chain of their own.
+     *
+     * @serial
+     */
+    private final Interceptor[] defaultChain;
+
+    /**
+     * {@code true} if interceptor contexts are taken from a shared pool and reused.
+     *
+     * @serial
+     */
+    private final boolean pooled;
+
+    /**
+     * The chains of invoked methods, which is created on first use.
+     */
+    private transient volatile MethodCache<Interceptor[]> methodChains;
+
+    /**
+     * The chains of invoked methods by method index, which is created on first use and grown as needed.
+     */
+    private transient volatile Entry[] indexedEntries;
+
+    // a proxy class has at most 65535 methods
+    private static final int MAX_INDEXED = 65536;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param chains the interceptor chain of each method
+     * @param defaultChain the interceptor chain of methods which are not in {@code chains}
+     */
+    public MethodChainInvocationHandler(final Map<MethodIdentifier, Interceptor[]> chains, final Interceptor[] defaultChain) {
+        this(chains, defaultChain, false);
+    }
+
+    /**
+     * Construct a new instance.  If {@code pooled} is {@code true}, each invocation runs with an interceptor context
+     * taken from a shared {@link InterceptorContextPool}, with the same restrictions as
+     * {@link InterceptorInvocationHandler#InterceptorInvocationHandler(Interceptor, boolean)}.  Contexts are not pooled if
+     * any chain contains an {@link AsyncInterceptor}.
+     *
+     * @param chains the interceptor chain of each method
+     * @param defaultChain the interceptor chain of methods which are not in {@code chains}
+     * @param pooled {@code true} to reuse interceptor contexts, {@code false} to create one per invocation
+     */
+    public MethodChainInvocationHandler(final Map<MethodIdentifier, Interceptor[]> chains, final Interceptor[] defaultChain, final boolean pooled) {
+        Assert.checkNotNullParam("chains", chains);
+        Assert.checkNotNullParam("defaultChain", defaultChain);
+        this.chains = new HashMap<>(chains);
+        this.defaultChain = defaultChain;
+        this.pooled = pooled && isPoolable(chains.values(), defaultChain);
+    }
+
+    private static boolean isPoolable(final Collection<Interceptor[]> chains, final Interceptor[] defaultChain) {
+        for (Interceptor[] chain : chains) {
+            if (! InterceptorContextPool.isPoolable(chain)) {
+                return false;
+            }
+        }
+        return InterceptorContextPool.isPoolable(defaultChain);
+    }
+
+    /**
+     * Get the interceptor chain for a method.
+     *
+     * @param method the invoked method
+     * @return the interceptor chain
+     */
+    Interceptor[] getChain(final Method method) {
+        MethodCache<Interceptor[]> methodChains = this.methodChains;
+        if (methodChains == null) {
+            // room for every method with few collisions, within reason; racing threads may each create a cache
+            this.methodChains = methodChains = new MethodCache<Interceptor[]>(Math.min(1024, Math.max(16, chains.size() << 2)), false) {
+                protected Interceptor[] computeValue(final Method method) {
+                    final Interceptor[] chain = chains.get(MethodIdentifier.getIdentifierForMethod(method));
+                    return chain == null ? defaultChain : chain;
+                }
+            };
+        }
+        return methodChains.get(method);
+    }
+
+    /**
+     * Get the interceptor chain for a method which is identified by an index.
+     *
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @return the interceptor chain
+     */
+    Interceptor[] getChain(final int methodIndex, final Method method) {
+        Entry[] entries = this.indexedEntries;
+        if (entries != null && methodIndex < entries.length) {
+            final Entry entry = entries[methodIndex];
+            // the method is checked, as the handler may be shared by proxy classes with different indices
+            if (entry != null && entry.method == method) {
+                return entry.chain;
+            }
+        }
+        final Interceptor[] chain = getChain(method);
+        if (methodIndex >= 0 && methodIndex < MAX_INDEXED) {
+            if (entries == null || methodIndex >= entries.length) {
+                entries = entries == null ? new Entry[Math.max(16, methodIndex + 1)] : Arrays.copyOf(entries, Math.max(entries.length << 1, methodIndex + 1));
+            }
+            // as above, racing updates may lose an entry, which is then looked up again
+            entries[methodIndex] = new Entry(method, chain);
+            this.indexedEntries = entries;
+        }
+        return chain;
+    }
+
+    /**
+     * Handle a proxy method invocation.
+     *
+     * @param proxy the proxy instance
+     * @param method the invoked method
+     * @param args the method arguments
+     * @return the result of the method call
+     * @throws Throwable the exception to thrown from the method invocation on the proxy instance, if any
+     */
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        return invoke(-1, method, args, getChain(method));
+    }
+
+    /**
+     * Handle a proxy method invocation.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param args the method arguments
+     * @return the result of the method call
+     * @throws Throwable the exception to thrown from the method invocation on the proxy instance, if any
+     */
+    public Object invoke(final Object proxy, final int methodIndex, final Method method, final Object[] args) throws Throwable {
+        return invoke(methodIndex, method, args, getChain(methodIndex, method));
+    }
+
+    private Object invoke(final int methodIndex, final Method method, final Object[] args, final Interceptor[] chain) throws Exception {
+        return InterceptorInvocationHandler.process(pooled, methodIndex, method, args, null, null, chain);
+    }
+
+    /** {@inheritDoc} */
+    public String toString() {
+        return "method chain invocation handler";
+    }
+
+    static final class Entry {
+        final Method method;
+        final Interceptor[] chain;
+
+        Entry(final Method method, final Interceptor[] chain) {
+            this.method = method;
+            this.chain = chain;
+        }
+    }
+}
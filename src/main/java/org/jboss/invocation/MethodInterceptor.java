@@ -18,6 +18,10 @@
 
 package org.jboss.invocation;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -37,10 +41,15 @@ import org.wildfly.common.Assert;
  */
 public final class MethodInterceptor implements Interceptor {
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType WITH_CONTEXT_TYPE = MethodType.methodType(Object.class, Object.class, InvocationContext.class);
+    private static final MethodType WITHOUT_CONTEXT_TYPE = MethodType.methodType(void.class, Object.class);
+
     private final Object interceptorInstance;
     private final Method method;
     private final boolean withContext;
     private final boolean changeMethod;
+    private final MethodHandle handle;
 
     /**
      * Construct a new instance.  The given method should be a proper interceptor method; otherwise invocation may fail.
@@ -50,6 +59,19 @@ public final class MethodInterceptor implements Interceptor {
      * @param changeMethod {@code true} to change the method on the context to equal the given method, {@code false} to leave it as-is
      */
     public MethodInterceptor(final Object interceptorInstance, final Method method, final boolean changeMethod) {
+        this(interceptorInstance, method, changeMethod, method == null ? null : unreflect(method));
+    }
+
+    /**
+     * Construct a new instance using a method handle previously obtained from {@link #unreflect(Method)} for the
+     * same method.
+     *
+     * @param interceptorInstance the interceptor object instance
+     * @param method the interceptor method
+     * @param changeMethod {@code true} to change the method on the context to equal the given method, {@code false} to leave it as-is
+     * @param handle the method handle for the method, or {@code null} to invoke the method reflectively
+     */
+    MethodInterceptor(final Object interceptorInstance, final Method method, final boolean changeMethod, final MethodHandle handle) {
         Assert.checkNotNullParam("interceptorInstance", interceptorInstance);
         Assert.checkNotNullParam("method", method);
         this.changeMethod = changeMethod;
@@ -57,6 +79,7 @@ public final class MethodInterceptor implements Interceptor {
         this.interceptorInstance = interceptorInstance;
         checkMethodType(interceptorInstance);
         withContext = method.getParameterCount() == 1;
+        this.handle = handle;
     }
 
     /**
@@ -69,8 +92,63 @@ public final class MethodInterceptor implements Interceptor {
         this(interceptorInstance, method, false);
     }
 
+    /**
+     * Get a method handle which invokes the given interceptor method, adapted to the type
+     * {@code (Object,InvocationContext)Object} if the method accepts the invocation context, or to
+     * {@code (Object)void} otherwise.  The handle of a static method ignores the interceptor instance.
+     *
+     * @param method the interceptor method
+     * @return the method handle, or {@code null} if the method cannot be invoked through a method handle and should be
+     *     invoked reflectively
+     */
+    static MethodHandle unreflect(final Method method) {
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        try {
+            return handle.asType(method.getParameterCount() == 1 ? WITH_CONTEXT_TYPE : WITHOUT_CONTEXT_TYPE);
+        } catch (WrongMethodTypeException e) {
+            return null;
+        }
+    }
+
     /** {@inheritDoc} */
     public Object processInvocation(final InterceptorContext context) throws Exception {
+        final MethodHandle handle = this.handle;
+        if (handle == null) {
+            return processInvocationReflectively(context);
+        }
+        try {
+            if (withContext) {
+                if (changeMethod) {
+                    final Method oldMethod = context.getMethod();
+                    context.setMethod(method);
+                    try {
+                        return (Object) handle.invokeExact(interceptorInstance, context.getInvocationContext());
+                    } finally {
+                        context.setMethod(oldMethod);
+                    }
+                } else {
+                    return (Object) handle.invokeExact(interceptorInstance, context.getInvocationContext());
+                }
+            } else {
+                handle.invokeExact(interceptorInstance);
+            }
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw Interceptors.rethrow(t);
+        }
+        return context.proceed();
+    }
+
+    private Object processInvocationReflectively(final InterceptorContext context) throws Exception {
         try {
             Method method = this.method;
             if (withContext) {
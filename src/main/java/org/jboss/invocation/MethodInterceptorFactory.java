@@ -18,6 +18,7 @@
 
 package org.jboss.invocation;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.Map;
 
@@ -31,6 +32,8 @@ public final class MethodInterceptorFactory implements InterceptorFactory {
     private final InterceptorInstanceFactory instanceFactory;
     private final Method interceptorMethod;
     private final boolean changeMethod;
+    private MethodHandle handle;
+    private volatile boolean unreflected;
 
     /**
      * Construct a new instance.
@@ -61,7 +64,16 @@ public final class MethodInterceptorFactory implements InterceptorFactory {
         if (map.containsKey(this)) {
             return (Interceptor) map.get(this);
         } else {
-            final MethodInterceptor interceptor = new MethodInterceptor(instanceFactory.createInstance(context), interceptorMethod, changeMethod);
+            final MethodHandle handle;
+            if (unreflected) {
+                handle = this.handle;
+            } else {
+                // resolved on first use, as the method may not be made accessible until after construction; a method
+                // which has no handle is remembered as such, and invoked reflectively
+                this.handle = handle = MethodInterceptor.unreflect(interceptorMethod);
+                unreflected = true;
+            }
+            final MethodInterceptor interceptor = new MethodInterceptor(instanceFactory.createInstance(context), interceptorMethod, changeMethod, handle);
             map.put(this, interceptor);
             return interceptor;
         }
@@ -0,0 +1,284 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.jboss.classfilewriter.AccessFlag;
+import org.jboss.classfilewriter.ClassFile;
+import org.jboss.classfilewriter.ClassMethod;
+import org.jboss.classfilewriter.code.CodeAttribute;
+
+import static org.jboss.invocation.InvocationMessages.msg;
+
+/**
+ * An invoker for a single method, which behaves like {@link Method#invoke(Object, Object...)} but calls the method
+ * through a spread method handle.  Invokers are cached per method in a {@link MethodCache}, so that the cache does not
+ * keep the declaring class from being unloaded.  A method whose handle cannot be obtained is cached as having no
+ * invoker.
+ * <p>
+ * Where the JVM supports hidden classes, each invoker is an instance of its own hidden class which holds the method
+ * handle in a static final field, so that the JIT can inline the handle into the caller.  Hidden classes are not
+ * tied to the class loader which defines them, so they are unloaded along with the declaring class.  Otherwise the
+ * invoker holds the handle in an instance field.
+ */
+abstract class MethodInvoker {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodHandle WRAP_EXCEPTION;
+
+    static {
+        try {
+            WRAP_EXCEPTION = LOOKUP.findStatic(MethodInvoker.class, "wrapException", MethodType.methodType(Object.class, Throwable.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final MethodCache<MethodInvoker> INVOKERS = new MethodCache<MethodInvoker>(64, true) {
+        protected MethodInvoker computeValue(final Method method) {
+            return create(method);
+        }
+    };
+
+    /**
+     * The handle being installed by the static initializer of a hidden invoker class on this thread.
+     */
+    private static final ThreadLocal<MethodHandle> PENDING = new ThreadLocal<>();
+
+    private final boolean isStatic;
+
+    MethodInvoker(final boolean isStatic) {
+        this.isStatic = isStatic;
+    }
+
+    /**
+     * Get the invoker for the given method.  Only methods which may be invoked reflectively without an access check
+     * (that is, public methods of public classes, or methods which have been made accessible) have invokers.
+     *
+     * @param method the method
+     * @return the invoker, or {@code null} if the method must be invoked reflectively
+     */
+    @SuppressWarnings("deprecation")
+    static MethodInvoker of(final Method method) {
+        if (! method.isAccessible() && ! (Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers()))) {
+            return null;
+        }
+        return INVOKERS.get(method);
+    }
+
+    /**
+     * Get an invoker which calls the given method through {@link Method#invoke(Object, Object...)}, for a method which
+     * has no invoker of its own.
+     *
+     * @param method the method
+     * @return the reflective invoker
+     */
+    static MethodInvoker reflective(final Method method) {
+        return new Reflective(method);
+    }
+
+    private static MethodInvoker create(final Method method) {
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+        // wrap every exception thrown by the method itself, so that it can be told apart from argument errors
+        handle = MethodHandles.catchException(handle, Throwable.class, WRAP_EXCEPTION.asType(MethodType.methodType(handle.type().returnType(), Throwable.class)));
+        final boolean isStatic = Modifier.isStatic(method.getModifiers());
+        if (isStatic) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        handle = handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+        final MethodInvoker hidden = Hidden.create(handle, isStatic);
+        return hidden == null ? new Bound(handle, isStatic) : hidden;
+    }
+
+    private static Object wrapException(final Throwable cause) throws InvocationTargetException {
+        throw new InvocationTargetException(cause);
+    }
+
+    /**
+     * Get the handle being installed by the static initializer of a hidden invoker class.  Called from generated code.
+     *
+     * @return the handle
+     */
+    static MethodHandle pendingHandle() {
+        return PENDING.get();
+    }
+
+    /**
+     * Invoke the adapted method handle, which has the type {@code (Object,Object[])Object}.
+     *
+     * @param target the target object
+     * @param args the arguments
+     * @return the result
+     * @throws Throwable if the handle throws an exception
+     */
+    abstract Object invokeHandle(Object target, Object[] args) throws Throwable;
+
+    /**
+     * Invoke the method.
+     *
+     * @param target the target object (ignored for static methods)
+     * @param args the arguments, which may be {@code null} for methods with no parameters
+     * @return the result of the method, boxed if it is primitive, or {@code null} if the method is {@code void}
+     * @throws InvocationTargetException if the method threw an exception
+     * @throws IllegalAccessException if a reflective invoker may not call the method
+     * @throws IllegalArgumentException if the target or the arguments are not of the right type or number
+     */
+    final Object invoke(final Object target, final Object[] args) throws InvocationTargetException, IllegalAccessException {
+        if (target == null && ! isStatic) {
+            throw new NullPointerException();
+        }
+        try {
+            return invokeHandle(target, args);
+        } catch (InvocationTargetException | IllegalAccessException | IllegalArgumentException e) {
+            throw e;
+        } catch (ClassCastException | NullPointerException e) {
+            // raised while converting the target or the arguments
+            throw new IllegalArgumentException(e.getMessage(), e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw msg.undeclaredThrowable(t);
+        }
+    }
+
+    /**
+     * An invoker which holds its handle in an instance field.
+     */
+    static final class Bound extends MethodInvoker {
+        private final MethodHandle handle;
+
+        Bound(final MethodHandle handle, final boolean isStatic) {
+            super(isStatic);
+            this.handle = handle;
+        }
+
+        Object invokeHandle(final Object target, final Object[] args) throws Throwable {
+            return (Object) handle.invokeExact(target, args);
+        }
+    }
+
+    /**
+     * An invoker which calls its method reflectively.
+     */
+    static final class Reflective extends MethodInvoker {
+        private final Method method;
+
+        Reflective(final Method method) {
+            super(Modifier.isStatic(method.getModifiers()));
+            this.method = method;
+        }
+
+        Object invokeHandle(final Object target, final Object[] args) throws Throwable {
+            return method.invoke(target, args);
+        }
+    }
+
+    /**
+     * The definition of hidden invoker classes.  Every hidden invoker class has the same bytes; its static initializer
+     * takes its handle from {@link #pendingHandle()}.
+     */
+    static final class Hidden {
+        private static final String HANDLE_DESCRIPTOR = "Ljava/lang/invoke/MethodHandle;";
+        private static final MethodHandle DEFINE_HIDDEN_CLASS;
+        private static final Object NO_OPTIONS;
+        private static final byte[] BYTES;
+
+        static {
+            MethodHandle defineHiddenClass = null;
+            Object noOptions = null;
+            byte[] bytes = null;
+            try {
+                final Class<?> optionClass = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+                noOptions = Array.newInstance(optionClass, 0);
+                defineHiddenClass = MethodHandles.publicLookup().findVirtual(MethodHandles.Lookup.class, "defineHiddenClass",
+                        MethodType.methodType(MethodHandles.Lookup.class, byte[].class, boolean.class, noOptions.getClass())).asFixedArity();
+                bytes = generate();
+            } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+                // hidden classes are not supported
+            } catch (RuntimeException | LinkageError e) {
+                // the class could not be generated; use bound invokers
+                defineHiddenClass = null;
+            }
+            DEFINE_HIDDEN_CLASS = defineHiddenClass;
+            NO_OPTIONS = noOptions;
+            BYTES = bytes;
+        }
+
+        private static byte[] generate() {
+            final String superName = MethodInvoker.class.getName();
+            final String className = superName + "$$Invoker";
+            final ClassFile classFile = new ClassFile(className, AccessFlag.of(AccessFlag.SUPER, AccessFlag.FINAL, AccessFlag.SYNTHETIC),
+                    superName, MethodInvoker.class.getClassLoader(), (loader, name, b, off, len, protectionDomain) -> {
+                        // the bytes are defined as hidden classes instead
+                        throw new UnsupportedOperationException();
+                    });
+            classFile.addField(AccessFlag.of(AccessFlag.PRIVATE, AccessFlag.STATIC, AccessFlag.FINAL), "HANDLE", HANDLE_DESCRIPTOR);
+
+            CodeAttribute ca = classFile.addMethod(AccessFlag.STATIC, "<clinit>", "V").getCodeAttribute();
+            ca.invokestatic(superName, "pendingHandle", "()" + HANDLE_DESCRIPTOR);
+            ca.putstatic(className, "HANDLE", HANDLE_DESCRIPTOR);
+            ca.returnInstruction();
+
+            ca = classFile.addMethod(0, "<init>", "V", "Z").getCodeAttribute();
+            ca.aload(0);
+            ca.iload(1);
+            ca.invokespecial(superName, "<init>", "(Z)V");
+            ca.returnInstruction();
+
+            final ClassMethod method = classFile.addMethod(0, "invokeHandle", "Ljava/lang/Object;", "Ljava/lang/Object;", "[Ljava/lang/Object;");
+            method.addCheckedExceptions("java.lang.Throwable");
+            ca = method.getCodeAttribute();
+            ca.getstatic(className, "HANDLE", HANDLE_DESCRIPTOR);
+            ca.aload(1);
+            ca.aload(2);
+            ca.invokevirtual(MethodHandle.class.getName(), "invokeExact", INVOKER_TYPE.toMethodDescriptorString());
+            ca.returnInstruction();
+            return classFile.toBytecode();
+        }
+
+        static MethodInvoker create(final MethodHandle handle, final boolean isStatic) {
+            if (BYTES == null) {
+                return null;
+            }
+            PENDING.set(handle);
+            try {
+                final MethodHandles.Lookup lookup = (MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(LOOKUP, BYTES, true, NO_OPTIONS);
+                return (MethodInvoker) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, boolean.class)).invoke(isStatic);
+            } catch (Throwable t) {
+                // use a bound invoker instead
+                return null;
+            } finally {
+                PENDING.remove();
+            }
+        }
+    }
+}
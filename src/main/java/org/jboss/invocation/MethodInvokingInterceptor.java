@@ -32,6 +32,7 @@ import static org.jboss.invocation.Interceptors.rethrow;
 public final class MethodInvokingInterceptor implements Interceptor {
     private final Object target;
     private final Method method;
+    private volatile MethodInvoker invoker;
 
     /**
      * Construct a new instance.
@@ -47,7 +48,16 @@ public final class MethodInvokingInterceptor implements Interceptor {
     /** {@inheritDoc} */
     public Object processInvocation(final InterceptorContext context) throws Exception {
         try {
-            return method.invoke(target, (Object[]) context.getParameters());
+            MethodInvoker invoker = this.invoker;
+            if (invoker == null) {
+                // not resolved by the constructor, since the caller may make the method accessible afterwards
+                invoker = MethodInvoker.of(method);
+                if (invoker == null) {
+                    invoker = MethodInvoker.reflective(method);
+                }
+                this.invoker = invoker;
+            }
+            return invoker.invoke(target, (Object[]) context.getParameters());
         }
         catch (InvocationTargetException e) {
             throw rethrow(e.getCause());
@@ -0,0 +1,239 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.security.PrivilegedActionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.wildfly.common.Assert;
+import org.wildfly.security.auth.server.SecurityDomain;
+import org.wildfly.security.auth.server.SecurityIdentity;
+
+/**
+ * An interceptor which moves the remainder of the chain off of a non-blocking caller.  Only invocations which arrive
+ * through {@link #processInvocationAsync(InterceptorContext)} from a caller which
+ * {@linkplain InterceptorContext#isBlockingCaller() must not block} are offloaded: a copy of the context proceeds on a
+ * thread of the given executor and the result is reported through the returned stage.  Offloading costs a clone of the
+ * context and a thread hand-off, so all other invocations, including every invocation through the synchronous
+ * {@link #processInvocation(InterceptorContext)} (whose caller waits for the result anyway), proceed inline.
+ * The thread context class loader and the current security identity of the caller are carried over to the executing
+ * thread.
+ * <p>
+ * At most {@code maxConcurrency} invocations run on the executor at a time; further invocations are queued without
+ * blocking the caller.
+ */
+final class OffloadInterceptor implements AsyncInterceptor {
+
+    /**
+     * The default maximum number of concurrently offloaded invocations.
+     */
+    static final int DEFAULT_MAX_CONCURRENCY = 256;
+
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final AtomicInteger running = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Task> pending = new ConcurrentLinkedQueue<>();
+
+    OffloadInterceptor(final Executor executor, final int maxConcurrency) {
+        Assert.checkNotNullParam("executor", executor);
+        Assert.checkMinimumParameter("maxConcurrency", 1, maxConcurrency);
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /** {@inheritDoc} */
+    public CompletionStage<Object> processInvocationAsync(final InterceptorContext context) {
+        if (context.isBlockingCaller()) {
+            return context.proceedAsync();
+        }
+        final InterceptorContext copy = context.clone();
+        copy.setBlockingCaller(true);
+        final Task task;
+        if (System.getSecurityManager() == null) {
+            task = new Task(copy, Thread.currentThread().getContextClassLoader(), currentIdentity());
+        } else {
+            task = AccessController.doPrivileged((PrivilegedAction<Task>) () -> new Task(copy, Thread.currentThread().getContextClassLoader(), currentIdentity()));
+        }
+        pending.add(task);
+        drain();
+        return task;
+    }
+
+    /** {@inheritDoc} */
+    public Object processInvocation(final InterceptorContext context) throws Exception {
+        return context.proceed();
+    }
+
+    public String toString() {
+        return "offload interceptor (max " + maxConcurrency + ") to " + executor;
+    }
+
+    /**
+     * Get the shared default executor, which starts a virtual thread per task if the JVM supports virtual threads,
+     * or otherwise uses a cached pool of daemon threads.
+     *
+     * @return the default executor
+     */
+    static Executor getDefaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    private static SecurityIdentity currentIdentity() {
+        final SecurityDomain domain = SecurityDomain.getCurrent();
+        return domain == null ? null : domain.getCurrentSecurityIdentity();
+    }
+
+    private void drain() {
+        for (;;) {
+            int cnt = running.get();
+            if (cnt >= maxConcurrency || pending.isEmpty()) {
+                return;
+            }
+            if (! running.compareAndSet(cnt, cnt + 1)) {
+                continue;
+            }
+            final Task task = pending.poll();
+            if (task == null) {
+                running.decrementAndGet();
+                continue;
+            }
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                task.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void done() {
+        running.decrementAndGet();
+        drain();
+    }
+
+    final class Task extends CompletableFuture<Object> implements Runnable {
+        private static final int NEW = 0;
+        private static final int RUNNING = 1;
+        private static final int INTERRUPTING = 2;
+        private static final int FINISHED = 3;
+
+        private final InterceptorContext context;
+        private final ClassLoader classLoader;
+        private final SecurityIdentity identity;
+        private final AtomicInteger state = new AtomicInteger(NEW);
+        private volatile Thread thread;
+
+        Task(final InterceptorContext context, final ClassLoader classLoader, final SecurityIdentity identity) {
+            this.context = context;
+            this.classLoader = classLoader;
+            this.identity = identity;
+        }
+
+        public void run() {
+            try {
+                final Thread current = Thread.currentThread();
+                thread = current;
+                if (! state.compareAndSet(NEW, RUNNING)) {
+                    // cancelled before it started
+                    thread = null;
+                    return;
+                }
+                final ClassLoader old = setContextClassLoader(current, classLoader);
+                try {
+                    complete(identity == null ? context.proceed() : identity.runAs(context));
+                } catch (PrivilegedActionException e) {
+                    completeExceptionally(e.getException());
+                } catch (Throwable t) {
+                    completeExceptionally(t);
+                } finally {
+                    if (! state.compareAndSet(RUNNING, FINISHED)) {
+                        // a cancelling thread is about to interrupt this one; wait for it so that the interrupt
+                        // cannot land after this task has finished
+                        while (state.get() == INTERRUPTING) {
+                            Thread.yield();
+                        }
+                    }
+                    thread = null;
+                    setContextClassLoader(current, old);
+                    // do not leak a cancellation interrupt to the next task on this thread
+                    Thread.interrupted();
+                }
+            } finally {
+                done();
+            }
+        }
+
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && ! state.compareAndSet(NEW, FINISHED) && mayInterruptIfRunning
+                    && state.compareAndSet(RUNNING, INTERRUPTING)) {
+                try {
+                    thread.interrupt();
+                } finally {
+                    state.set(FINISHED);
+                }
+            }
+            return cancelled;
+        }
+
+        private ClassLoader setContextClassLoader(final Thread thread, final ClassLoader classLoader) {
+            if (System.getSecurityManager() == null) {
+                final ClassLoader old = thread.getContextClassLoader();
+                thread.setContextClassLoader(classLoader);
+                return old;
+            }
+            return AccessController.doPrivileged((PrivilegedAction<ClassLoader>) () -> {
+                final ClassLoader old = thread.getContextClassLoader();
+                thread.setContextClassLoader(classLoader);
+                return old;
+            });
+        }
+    }
+
+    static final class DefaultExecutorHolder {
+        static final Executor EXECUTOR = createDefaultExecutor();
+
+        private static Executor createDefaultExecutor() {
+            try {
+                return (ExecutorService) MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class)).invokeExact();
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                // no virtual threads on this JVM
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+            final AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                final Thread thread = new Thread(r, "invocation-offload-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation;
+
+import java.lang.reflect.Method;
+
+/**
+ * A validator of the parameters passed to {@link jakarta.interceptor.InvocationContext#setParameters(Object[])} for one
+ * method, which holds the parameter types of the method with primitive types replaced by their wrappers.  Validators
+ * are cached per method in a {@link MethodCache}, so that the cache does not keep the declaring class from being
+ * unloaded.
+ */
+final class ParameterValidator {
+
+    private static final MethodCache<ParameterValidator> VALIDATORS = new MethodCache<ParameterValidator>(1024, true) {
+        protected ParameterValidator computeValue(final Method method) {
+            return new ParameterValidator(method.getParameterTypes());
+        }
+    };
+
+    private final Class<?>[] parameterTypes;
+    private final Class<?>[] wrappedTypes;
+
+    private ParameterValidator(final Class<?>[] parameterTypes) {
+        this.parameterTypes = parameterTypes;
+        final Class<?>[] wrappedTypes = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; ++i) {
+            final Class<?> type = parameterTypes[i];
+            wrappedTypes[i] = type.isPrimitive() ? InterceptorContext.PRIMITIVES.get(type) : type;
+        }
+        this.wrappedTypes = wrappedTypes;
+    }
+
+    /**
+     * Get the validator for the given method.
+     *
+     * @param method the method
+     * @return the validator
+     */
+    static ParameterValidator of(final Method method) {
+        return VALIDATORS.get(method);
+    }
+
+    /**
+     * Validate the given parameters against the parameter types of the method.
+     *
+     * @param params the parameters
+     * @throws IllegalArgumentException if the number of parameters is wrong, or a parameter is not assignable to its
+     *      parameter type
+     */
+    void validate(final Object[] params) {
+        final Class<?>[] wrappedTypes = this.wrappedTypes;
+        if (params.length != wrappedTypes.length) {
+            throw new IllegalArgumentException("Number of parameters must match number of method arguments");
+        }
+        for (int i = 0; i < params.length; ++i) {
+            final Object param = params[i];
+            if (param == null) {
+                if (parameterTypes[i].isPrimitive()) {
+                    throw new IllegalArgumentException("Null cannot be assigned to primitive parameter " + i + " (" + parameterTypes[i] + ")");
+                }
+            } else if (! wrappedTypes[i].isInstance(param)) {
+                throw new IllegalArgumentException("Parameter " + i + " (" + param + ") is not assignable to method parameter type " + parameterTypes[i]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.wildfly.common.Assert;
+
+/**
+ * A key for an {@link InterceptorContext} private data item.  Each key is assigned a dense index when it is created,
+ * and the context stores the values of such keys in a small array addressed by that index rather than in a hash map.
+ * <p>
+ * Keys are intended to be held in {@code static final} fields.  The key returned by {@link #forType(Class)} is
+ * additionally registered for its type, so that the {@code Class}-keyed private data methods of
+ * {@code InterceptorContext} also use its slot.  Such a key should be registered before the type is used as a
+ * private data key; values stored under the type before registration remain visible, but are looked up more slowly.
+ * <p>
+ * Type registrations are held by the type itself, so registering a key does not prevent the type's class loader from
+ * being unloaded.  Looking up the key of a type which was never registered records nothing for the type.  The index of
+ * a key that has been collected is handed to the next key created, which keeps indices (and so the slot arrays of
+ * contexts using them) small across repeated deployments.  A context which holds a value for a key also holds the key,
+ * so an index is only handed on once no context has a value for it.
+ *
+ * @param <T> the data type
+ */
+public final class PrivateDataKey<T> {
+
+    private static final Object INDEX_LOCK = new Object();
+    private static final ReferenceQueue<PrivateDataKey<?>> COLLECTED = new ReferenceQueue<>();
+    private static final Set<IndexReference> LIVE = new HashSet<>();
+    private static final PriorityQueue<Integer> FREE_INDICES = new PriorityQueue<>();
+    private static int nextIndex;
+
+    private static final ClassValue<PrivateDataKey<?>> REGISTERED = new ClassValue<PrivateDataKey<?>>() {
+        protected PrivateDataKey<?> computeValue(final Class<?> type) {
+            return new PrivateDataKey<>(type, true);
+        }
+    };
+
+    /**
+     * The registered keys by type identity, for lookups which must not register anything.  The table is open
+     * addressed, at most half full, and copied on write; its references are weak, so that the table does not keep
+     * registered types alive.
+     */
+    private static volatile KeyReference[] registeredKeys = new KeyReference[16];
+
+    private final Class<T> type;
+    private final boolean registered;
+    final int index;
+
+    private PrivateDataKey(final Class<T> type, final boolean registered) {
+        this.type = type;
+        this.registered = registered;
+        index = allocateIndex(this);
+    }
+
+    private static int allocateIndex(final PrivateDataKey<?> key) {
+        synchronized (INDEX_LOCK) {
+            Reference<?> reference;
+            while ((reference = COLLECTED.poll()) != null) {
+                final IndexReference collected = (IndexReference) reference;
+                LIVE.remove(collected);
+                FREE_INDICES.add(Integer.valueOf(collected.index));
+            }
+            final Integer free = FREE_INDICES.poll();
+            final int index = free == null ? nextIndex++ : free.intValue();
+            LIVE.add(new IndexReference(key, index));
+            return index;
+        }
+    }
+
+    /**
+     * Create a new, distinct key for values of the given type.
+     *
+     * @param type the data type class object
+     * @param <T> the data type
+     * @return the new key
+     */
+    public static <T> PrivateDataKey<T> create(final Class<T> type) {
+        Assert.checkNotNullParam("type", type);
+        return new PrivateDataKey<>(type, false);
+    }
+
+    /**
+     * Get the key registered for the given type, registering a new one if none exists.  Private data stored or
+     * retrieved using the type itself as the key uses the same slot as the returned key.
+     *
+     * @param type the data type class object
+     * @param <T> the data type
+     * @return the registered key
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PrivateDataKey<T> forType(final Class<T> type) {
+        Assert.checkNotNullParam("type", type);
+        final PrivateDataKey<?> key = REGISTERED.get(type);
+        if (getRegistered(type) != key) {
+            publish(key);
+        }
+        return (PrivateDataKey<T>) key;
+    }
+
+    /**
+     * Get the key registered for the given type, if any, without registering one.
+     *
+     * @param type the data type class object
+     * @return the registered key, or {@code null} if none is registered
+     */
+    static PrivateDataKey<?> getRegistered(final Class<?> type) {
+        final KeyReference[] table = registeredKeys;
+        final int mask = table.length - 1;
+        for (int i = System.identityHashCode(type) & mask;; i = i + 1 & mask) {
+            final KeyReference reference = table[i];
+            if (reference == null) {
+                return null;
+            }
+            final PrivateDataKey<?> key = reference.get();
+            if (key != null && key.type == type) {
+                return key;
+            }
+        }
+    }
+
+    private static void publish(final PrivateDataKey<?> key) {
+        synchronized (INDEX_LOCK) {
+            if (getRegistered(key.type) == key) {
+                return;
+            }
+            // rebuild the table without the keys of unloaded types
+            final KeyReference[] table = registeredKeys;
+            int live = 1;
+            for (KeyReference reference : table) {
+                if (reference != null && reference.get() != null) {
+                    live++;
+                }
+            }
+            int length = 16;
+            while (length < live << 1) {
+                length <<= 1;
+            }
+            final KeyReference[] rebuilt = new KeyReference[length];
+            for (KeyReference reference : table) {
+                if (reference != null) {
+                    final PrivateDataKey<?> registered = reference.get();
+                    if (registered != null) {
+                        insert(rebuilt, registered, reference);
+                    }
+                }
+            }
+            insert(rebuilt, key, new KeyReference(key));
+            registeredKeys = rebuilt;
+        }
+    }
+
+    private static void insert(final KeyReference[] table, final PrivateDataKey<?> key, final KeyReference reference) {
+        final int mask = table.length - 1;
+        int i = System.identityHashCode(key.type) & mask;
+        while (table[i] != null) {
+            i = i + 1 & mask;
+        }
+        table[i] = reference;
+    }
+
+    /**
+     * Get the data type of this key.
+     *
+     * @return the data type class object
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Determine whether this key is registered for its type.
+     *
+     * @return {@code true} if the {@code Class} key of the type maps to this key, {@code false} otherwise
+     */
+    boolean isRegistered() {
+        return registered;
+    }
+
+    public String toString() {
+        return "private data key " + index + " (" + type.getName() + ")";
+    }
+
+    static final class KeyReference extends WeakReference<PrivateDataKey<?>> {
+        KeyReference(final PrivateDataKey<?> key) {
+            super(key);
+        }
+    }
+
+    static final class IndexReference extends PhantomReference<PrivateDataKey<?>> {
+        final int index;
+
+        IndexReference(final PrivateDataKey<?> key, final int index) {
+            super(key, COLLECTED);
+            this.index = index;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.wildfly.security.auth.server.SecurityIdentity;
 public final class SecurityIdentityInterceptor implements Interceptor {
     private static final SecurityIdentityInterceptor INSTANCE = new SecurityIdentityInterceptor();
     private static final InterceptorFactory FACTORY = new ImmediateInterceptorFactory(INSTANCE);
+    private static final PrivateDataKey<SecurityIdentity> IDENTITY_KEY = PrivateDataKey.forType(SecurityIdentity.class);
 
     private SecurityIdentityInterceptor() {
     }
@@ -54,7 +55,7 @@ public final class SecurityIdentityInterceptor implements Interceptor {
 
     /** {@inheritDoc} */
     public Object processInvocation(final InterceptorContext context) throws Exception {
-        final SecurityIdentity identity = context.getPrivateData(SecurityIdentity.class);
+        final SecurityIdentity identity = context.getPrivateData(IDENTITY_KEY);
         if (identity != null) try {
             return identity.runAs(context);
         } catch (PrivilegedActionException e) {
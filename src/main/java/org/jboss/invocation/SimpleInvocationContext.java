@@ -22,7 +22,6 @@ import static org.jboss.invocation.InvocationMessages.msg;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
 
 import jakarta.interceptor.InvocationContext;
@@ -71,7 +70,7 @@ public class SimpleInvocationContext implements InvocationContext {
      * @param timer the associated timer (may be {@code null})
      */
     public SimpleInvocationContext(final Object target, final Method method, final Object[] parameters, final Object timer) {
-        this(target, method, parameters, new HashMap<String, Object>(), timer, null);
+        this(target, method, parameters, new ContextDataMap(), timer, null);
     }
 
     /**
@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.wildfly.common.Assert;
+
+/**
+ * An asynchronous interceptor which runs a synchronous interceptor and reports its outcome as a completed stage.
+ * Any blocking done by the synchronous interceptor (including waiting for an asynchronous remainder of the chain
+ * when it calls {@link InterceptorContext#proceed()}) happens in the calling thread.
+ */
+final class SynchronousInterceptorAdapter implements AsyncInterceptor, Serializable {
+
+    private static final long serialVersionUID = -5398711356414342402L;
+
+    private final Interceptor interceptor;
+
+    SynchronousInterceptorAdapter(final Interceptor interceptor) {
+        Assert.checkNotNullParam("interceptor", interceptor);
+        this.interceptor = interceptor;
+    }
+
+    /**
+     * Get the adapted interceptor.
+     *
+     * @return the adapted interceptor
+     */
+    Interceptor getInterceptor() {
+        return interceptor;
+    }
+
+    /** {@inheritDoc} */
+    public CompletionStage<Object> processInvocationAsync(final InterceptorContext context) {
+        try {
+            return CompletableFuture.completedFuture(interceptor.processInvocation(context));
+        } catch (Exception e) {
+            return AsyncInvocationFuture.failed(e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    public Object processInvocation(final InterceptorContext context) throws Exception {
+        return interceptor.processInvocation(context);
+    }
+
+    public String toString() {
+        return "asynchronous adapter for " + interceptor;
+    }
+}
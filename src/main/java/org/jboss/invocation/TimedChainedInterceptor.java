@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An interceptor which passes invocations through a series of nested interceptors, recording the self time of each
+ * position into {@link ChainStatistics}.  Invocations which are not sampled walk the interceptors as they are; sampled
+ * invocations walk a copy of the chain in which each interceptor is wrapped by a {@link Position} which times it.
+ */
+class TimedChainedInterceptor implements AsyncInterceptor {
+
+    private static final ThreadLocal<Sample> CURRENT = new ThreadLocal<>();
+
+    private final ChainStatistics statistics;
+    private final Interceptor[] interceptors;
+    private final Interceptor[] timed;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param statistics the statistics to record into
+     * @param interceptors the child interceptors
+     */
+    TimedChainedInterceptor(final ChainStatistics statistics, final Interceptor[] interceptors) {
+        statistics.bind(interceptors);
+        this.statistics = statistics;
+        this.interceptors = interceptors;
+        final Interceptor[] timed = new Interceptor[interceptors.length];
+        for (int i = 0; i < timed.length; i++) {
+            timed[i] = new Position(i, interceptors[i]);
+        }
+        this.timed = timed;
+    }
+
+    /**
+     * Get the child interceptors.
+     *
+     * @return the child interceptors
+     */
+    Interceptor[] getInterceptors() {
+        return interceptors;
+    }
+
+    /** {@inheritDoc} */
+    public Object processInvocation(final InterceptorContext context) throws Exception {
+        final int oldNext = context.getNextInterceptorIndex();
+        final Interceptor[] old = context.getInterceptors();
+        final CompiledChain oldChain = context.getCompiledChain();
+        if (! statistics.sample()) {
+            context.setInterceptors(interceptors, 0, null);
+            try {
+                return context.proceed();
+            } finally {
+                context.setInterceptors(old, oldNext, oldChain);
+            }
+        }
+        final Sample oldSample = CURRENT.get();
+        CURRENT.set(new Sample(statistics.getHistograms(context.getMethodIndex(), context.getMethod())));
+        context.setInterceptors(timed, 0, null);
+        try {
+            return context.proceed();
+        } finally {
+            context.setInterceptors(old, oldNext, oldChain);
+            CURRENT.set(oldSample);
+        }
+    }
+
+    /**
+     * {@inheritDoc}  Asynchronous invocations are not timed.
+     */
+    public CompletionStage<Object> processInvocationAsync(final InterceptorContext context) throws Exception {
+        final int oldNext = context.getNextInterceptorIndex();
+        final Interceptor[] old = context.getInterceptors();
+        final CompiledChain oldChain = context.getCompiledChain();
+        context.setInterceptors(interceptors, 0, null);
+        try {
+            return context.proceedAsync();
+        } finally {
+            context.setInterceptors(old, oldNext, oldChain);
+        }
+    }
+
+    /**
+     * The state of a timed invocation.
+     */
+    static final class Sample {
+        final LatencyHistogram[] histograms;
+        long downstreamNanos;
+
+        Sample(final LatencyHistogram[] histograms) {
+            this.histograms = histograms;
+        }
+    }
+
+    /**
+     * An interceptor which times one position of a sampled invocation.
+     */
+    static final class Position implements Interceptor {
+        private final int position;
+        private final Interceptor interceptor;
+
+        Position(final int position, final Interceptor interceptor) {
+            this.position = position;
+            this.interceptor = interceptor;
+        }
+
+        public Object processInvocation(final InterceptorContext context) throws Exception {
+            final Sample sample = CURRENT.get();
+            if (sample == null) {
+                // proceeding on another thread
+                return interceptor.processInvocation(context);
+            }
+            final long outerDownstream = sample.downstreamNanos;
+            sample.downstreamNanos = 0;
+            final long start = System.nanoTime();
+            try {
+                return interceptor.processInvocation(context);
+            } finally {
+                final long elapsed = System.nanoTime() - start;
+                sample.histograms[position].record(elapsed - sample.downstreamNanos);
+                sample.downstreamNanos = outerDownstream + elapsed;
+            }
+        }
+    }
+}
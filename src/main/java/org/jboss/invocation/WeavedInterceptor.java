@@ -19,11 +19,15 @@
 package org.jboss.invocation;
 
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
 
 /**
  * Weaves a series of interceptors into an existing interceptor chain.
  *
- * This interceptor is not very memory efficient, and should be avoided
+ * The woven array for each outer chain and position is cached, so the outer interceptor arrays must not be
+ * modified once they have been used.  The cache refers to outer arrays weakly, and drops the woven arrays of outer
+ * arrays which have been collected, so it does not keep discarded chains alive.  This interceptor is not very memory
+ * efficient, and should be avoided
  *
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
@@ -32,25 +36,78 @@ class WeavedInterceptor implements Interceptor, Serializable {
 
     private static final long serialVersionUID = -2015905619563503718L;
 
+    private static final int CACHE_SIZE = 8;
+
     private final Interceptor[] interceptors;
+    private transient volatile Entry[] cache;
 
     WeavedInterceptor(final Interceptor... interceptors) {
         this.interceptors = interceptors;
     }
 
+    /**
+     * Get the child interceptors.
+     *
+     * @return the child interceptors
+     */
+    Interceptor[] getInterceptors() {
+        return interceptors;
+    }
+
     @Override
     public Object processInvocation(InterceptorContext context) throws Exception {
         final int oldNext = context.getNextInterceptorIndex();
         final Interceptor[] old = context.getInterceptors();
-        final Interceptor[] interceptors = new Interceptor[this.interceptors.length + old.length - oldNext];
-        System.arraycopy(this.interceptors, 0, interceptors, 0, this.interceptors.length);
-        System.arraycopy(old, oldNext, interceptors, this.interceptors.length, old.length - oldNext);
-        context.setInterceptors(interceptors);
+        final CompiledChain oldChain = context.getCompiledChain();
+        context.setInterceptors(getWoven(old, oldNext), 0, null);
         try {
             return context.proceed();
         }
         finally {
-            context.setInterceptors(old, oldNext);
+            context.setInterceptors(old, oldNext, oldChain);
+        }
+    }
+
+    /**
+     * Get the interceptors of this instance followed by the remainder of the given outer chain.
+     *
+     * @param outer the outer interceptor chain
+     * @param next the index of the next interceptor of the outer chain
+     * @return the woven interceptor array
+     */
+    private Interceptor[] getWoven(final Interceptor[] outer, final int next) {
+        Entry[] cache = this.cache;
+        if (cache == null) {
+            this.cache = cache = new Entry[CACHE_SIZE];
+        }
+        // racing updates just replace one another
+        final int idx = (System.identityHashCode(outer) + next) & (CACHE_SIZE - 1);
+        final Entry entry = cache[idx];
+        if (entry != null && entry.get() == outer && entry.next == next) {
+            return entry.woven;
+        }
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            final Entry other = cache[i];
+            if (other != null && other.get() == null) {
+                cache[i] = null;
+            }
+        }
+        final Interceptor[] interceptors = this.interceptors;
+        final Interceptor[] woven = new Interceptor[interceptors.length + outer.length - next];
+        System.arraycopy(interceptors, 0, woven, 0, interceptors.length);
+        System.arraycopy(outer, next, woven, interceptors.length, outer.length - next);
+        cache[idx] = new Entry(outer, next, woven);
+        return woven;
+    }
+
+    static final class Entry extends WeakReference<Interceptor[]> {
+        final int next;
+        final Interceptor[] woven;
+
+        Entry(final Interceptor[] outer, final int next, final Interceptor[] woven) {
+            super(outer);
+            this.next = next;
+            this.woven = woven;
         }
     }
 }
@@ -191,10 +191,9 @@ public abstract class AbstractClassFactory<T> {
         if (generatedClass == null) {
             synchronized (this) {
                 if (generatedClass == null) {
-                    try {
-                        // first check that the proxy has not already been created
-                        generatedClass = (Class<? extends T>) classLoader.loadClass(this.className);
-                    } catch (ClassNotFoundException e) {
+                    // first check that the proxy has not already been created
+                    generatedClass = (Class<? extends T>) findDefinedClass();
+                    if (generatedClass == null) {
                         buildClassDefinition();
                         if (protectionDomain == null) {
                             generatedClass = (Class<? extends T>) classFile.define();
@@ -210,6 +209,21 @@ public abstract class AbstractClassFactory<T> {
         return generatedClass;
     }
 
+    /**
+     * Finds a class with the name of the generated class which is already defined, so that {@link #defineClass()}
+     * does not define it again.  By default the class is looked up in the class loader of the factory; subclasses which
+     * define classes that cannot be found by name may override this method to return {@code null}.
+     *
+     * @return the class, or {@code null} if it is not defined yet
+     */
+    protected Class<?> findDefinedClass() {
+        try {
+            return classLoader.loadClass(this.className);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
     /**
      * Checks if the proxy class is defined in the factories class loader
      *
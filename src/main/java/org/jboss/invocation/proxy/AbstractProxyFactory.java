@@ -33,6 +33,7 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +57,8 @@ public abstract class AbstractProxyFactory<T> extends AbstractSubclassFactory<T>
 
     private final List<Method> cachedMethods = new ArrayList<Method>(0);
 
+    private boolean prebuilt;
+
 
     /**
      * Construct a new instance.
@@ -100,6 +103,10 @@ public abstract class AbstractProxyFactory<T> extends AbstractSubclassFactory<T>
     @Override
     public void afterClassLoad(Class<?> clazz) {
         super.afterClassLoad(clazz);
+        //hidden classes are initialized when they are defined, and cannot be found by name
+        if (HiddenClassFactory.isHidden(clazz)) {
+            return;
+        }
         //force <clinit> to be run, while the correct ThreadLocal is set
         //if we do not run this then <clinit> may be run later, perhaps even in
         //another thread
@@ -111,7 +118,12 @@ public abstract class AbstractProxyFactory<T> extends AbstractSubclassFactory<T>
     }
 
     private void setupCachedProxyFields() {
-        cachedMethods.addAll(methodIdentifiers.keySet());
+        //index order, so that the position of each method is the index passed to an IndexedInvocationHandler
+        final Method[] methods = new Method[identifierCount];
+        for (Map.Entry<Method, Integer> entry : methodIdentifiers.entrySet()) {
+            methods[entry.getValue()] = entry.getKey();
+        }
+        cachedMethods.addAll(Arrays.asList(methods));
 
         //set the methods to be accessible
         AccessController.doPrivileged(new PrivilegedAction<Object>() {
@@ -124,26 +136,36 @@ public abstract class AbstractProxyFactory<T> extends AbstractSubclassFactory<T>
             }
         });
 
-        //store the Method objects in a thread local, so that
-        //the proxies <clinit> method can access them
-        //this removes the need for reflection in the proxy <clinit> method
-        final Method[] methods = new Method[identifierCount];
-        for (Map.Entry<Method, Integer> entry : methodIdentifiers.entrySet()) {
-            methods[entry.getValue()] = entry.getKey();
-        }
-        MethodStore.METHODS.put(new ClassIdentifier(classFile.getName(), getClassLoader()), methods);
-
-        //add the bytecode to load the cached fields in the static constructor
         CodeAttribute ca = staticConstructor.getCodeAttribute();
-        ca.getstatic(MethodStore.class.getName(), "METHODS", "Ljava/util/Map;");
-        ca.newInstruction(ClassIdentifier.class);
-        ca.dup();
-        ca.ldc(classFile.getName());
-        ca.loadClass(classFile.getName());
-        ca.invokevirtual("java.lang.Class", "getClassLoader", "()Ljava/lang/ClassLoader;");
-        ca.invokespecial(ClassIdentifier.class.getName(), "<init>", "(Ljava/lang/String;Ljava/lang/ClassLoader;)V");
-        ca.invokeinterface(Map.class.getName(), "remove", "(Ljava/lang/Object;)Ljava/lang/Object;");
-        ca.checkcast("[Ljava/lang/reflect/Method;");
+        if (prebuilt) {
+            //the class is not defined by this factory, so the proxies <clinit> method resolves the methods itself
+            StringBuilder specs = new StringBuilder();
+            for (Method method : methods) {
+                if (specs.length() > 0) {
+                    specs.append('\n');
+                }
+                specs.append(method.getDeclaringClass().getName()).append('#').append(method.getName()).append(MethodStore.getDescriptor(method));
+            }
+            ca.loadClass(classFile.getName());
+            ca.ldc(specs.toString());
+            ca.invokestatic(MethodStore.class.getName(), "resolveMethods", "(Ljava/lang/Class;Ljava/lang/String;)[Ljava/lang/reflect/Method;");
+        } else {
+            //store the Method objects in a thread local, so that
+            //the proxies <clinit> method can access them
+            //this removes the need for reflection in the proxy <clinit> method
+            MethodStore.METHODS.put(new ClassIdentifier(classFile.getName(), getClassLoader()), methods);
+
+            //add the bytecode to load the cached fields in the static constructor
+            ca.getstatic(MethodStore.class.getName(), "METHODS", "Ljava/util/Map;");
+            ca.newInstruction(ClassIdentifier.class);
+            ca.dup();
+            ca.ldc(classFile.getName());
+            ca.loadClass(classFile.getName());
+            ca.invokevirtual("java.lang.Class", "getClassLoader", "()Ljava/lang/ClassLoader;");
+            ca.invokespecial(ClassIdentifier.class.getName(), "<init>", "(Ljava/lang/String;Ljava/lang/ClassLoader;)V");
+            ca.invokeinterface(Map.class.getName(), "remove", "(Ljava/lang/Object;)Ljava/lang/Object;");
+            ca.checkcast("[Ljava/lang/reflect/Method;");
+        }
         for (int i = 0; i < identifierCount; ++i) {
             ca.dup();
             ca.ldc(i);
@@ -155,6 +177,9 @@ public abstract class AbstractProxyFactory<T> extends AbstractSubclassFactory<T>
     /**
      * Returns all Method objects that are cached by the proxy. These Methods objects are passed to the proxies
      * {@link InvocationHandler} when the corresponding proxy action is invoked
+     * <p/>
+     * The methods are in the order of their identifier indices, so the position of a method in the list is the index
+     * which is passed to an {@link IndexedInvocationHandler} when it is invoked.
      *
      * @return The cached methods
      */
@@ -163,6 +188,38 @@ public abstract class AbstractProxyFactory<T> extends AbstractSubclassFactory<T>
         return cachedMethods;
     }
 
+    /**
+     * Generates the class for use ahead of time, instead of defining it.  The static initializer of such a class
+     * resolves its cached methods by name, so that the class can be loaded from a class file without this factory.  The
+     * class can no longer be defined by this factory afterwards.
+     *
+     * @return the class bytes
+     * @throws IllegalStateException if the class has already been generated
+     */
+    public byte[] toPrebuiltBytecode() {
+        synchronized (this) {
+            if (classFile == null || staticConstructor == null) {
+                throw new IllegalStateException("Class " + getClassName() + " has already been generated");
+            }
+            prebuilt = true;
+            buildClassDefinition();
+            byte[] bytes = classFile.toBytecode();
+            classFile = null;
+            return bytes;
+        }
+    }
+
+    /**
+     * Loads the cached methods from a proxy class which was generated by another factory, so that
+     * {@link #getCachedMethods()} returns the methods of that class in the order of their indices.
+     *
+     * @param clazz the proxy class
+     */
+    protected void loadCachedMethods(Class<?> clazz) {
+        cachedMethods.clear();
+        cachedMethods.addAll(Arrays.asList(AccessController.doPrivileged(new CachedMethodGetter(clazz))));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -183,15 +240,25 @@ public abstract class AbstractProxyFactory<T> extends AbstractSubclassFactory<T>
      * @param method       the subclass method to populate
      */
     protected void loadMethodIdentifier(Method methodToLoad, ClassMethod method) {
-        if (!methodIdentifiers.containsKey(methodToLoad)) {
-            int identifierNo = identifierCount++;
+        method.getCodeAttribute().getstatic(getClassName(), METHOD_FIELD_PREFIX + getMethodIdentifierIndex(methodToLoad), METHOD_FIELD_DESCRIPTOR);
+    }
+
+    /**
+     * Returns the index of the identifier for the given method, adding the identifier to the class if it does not exist
+     * yet.  Indices are assigned from zero in the order in which methods are first loaded.
+     *
+     * @param methodToLoad the method
+     * @return the index of the method identifier
+     */
+    protected int getMethodIdentifierIndex(Method methodToLoad) {
+        Integer identifierNo = methodIdentifiers.get(methodToLoad);
+        if (identifierNo == null) {
+            identifierNo = identifierCount++;
             String fieldName = METHOD_FIELD_PREFIX + identifierNo;
             classFile.addField(AccessFlag.PRIVATE | AccessFlag.STATIC, fieldName, Method.class);
             methodIdentifiers.put(methodToLoad, identifierNo);
-
         }
-        final Integer fieldNo = methodIdentifiers.get(methodToLoad);
-        method.getCodeAttribute().getstatic(getClassName(), METHOD_FIELD_PREFIX + fieldNo, METHOD_FIELD_DESCRIPTOR);
+        return identifierNo;
     }
 
     /**
@@ -200,21 +267,30 @@ public abstract class AbstractProxyFactory<T> extends AbstractSubclassFactory<T>
      * @author Stuart Douglas
      * @see AbstractProxyFactory#loadMethodIdentifier(Method, ClassMethod)
      */
-    private class CachedMethodGetter implements PrivilegedAction<Method[]> {
+    private static class CachedMethodGetter implements PrivilegedAction<Method[]> {
+
+        private final Class<?> clazz;
+
+        CachedMethodGetter(Class<?> clazz) {
+            this.clazz = clazz;
+        }
 
         @Override
         public Method[] run() {
-            Method[] methods = new Method[identifierCount];
-            Class<?> clazz = defineClass();
-            int i = 0;
+            List<Field> fields = new ArrayList<Field>();
             for (Field field : clazz.getDeclaredFields()) {
+                if (field.getName().startsWith(METHOD_FIELD_PREFIX)) {
+                    fields.add(field);
+                }
+            }
+            Method[] methods = new Method[fields.size()];
+            for (Field field : fields) {
                 try {
-                    if (field.getName().startsWith(METHOD_FIELD_PREFIX)) {
-                        field.setAccessible(true);
-                        methods[i] = (Method) field.get(null);
-                        methods[i].setAccessible(true);
-                        i++;
-                    }
+                    field.setAccessible(true);
+                    //the field name holds the index of the method
+                    int i = Integer.parseInt(field.getName().substring(METHOD_FIELD_PREFIX.length()));
+                    methods[i] = (Method) field.get(null);
+                    methods[i].setAccessible(true);
                 } catch (IllegalArgumentException e) {
                     throw new RuntimeException(e);
                 } catch (IllegalAccessException e) {
@@ -226,4 +302,3 @@ public abstract class AbstractProxyFactory<T> extends AbstractSubclassFactory<T>
 
     }
 }
-
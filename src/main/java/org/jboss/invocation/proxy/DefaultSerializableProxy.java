@@ -25,7 +25,9 @@ import java.lang.reflect.InvocationHandler;
  * Serialized representation of a proxy.
  * <p>
  * Provides a simple default serialized representation, that saves the {@link InvocationHandler} state and loads the proxy into
- * the Thread Context Class Loader.
+ * the Thread Context Class Loader.  Proxies which are hidden classes are resolved to the same hidden class in that class
+ * loader, as long as it has not been unloaded; otherwise they cannot be resolved, as a hidden class cannot be defined again
+ * under its name.
  * <p>
  * This class should not be used if a security manager is present that prevents access to the Thread Context Class Loader.
  * 
@@ -70,10 +72,19 @@ public class DefaultSerializableProxy implements SerializableProxy {
      * Get the associated proxy class.
      *
      * @return the proxy class
-     * @throws ClassNotFoundException if the proxy class is not found
+     * @throws ClassNotFoundException if the proxy class is not found, or is a hidden class which is no longer defined
      */
     protected Class<?> getProxyClass() throws ClassNotFoundException {
         ClassLoader classLoader = getProxyClassLoader();
+        // hidden proxy classes cannot be found by name, but may still be defined by their proxy factory
+        Class<?> hiddenClass = HiddenClassFactory.findClass(classLoader, proxyClassName);
+        if (hiddenClass != null) {
+            return hiddenClass;
+        }
+        if (HiddenClassFactory.isHiddenName(proxyClassName)) {
+            throw new ClassNotFoundException("Hidden proxy class " + proxyClassName + " is not defined in " + classLoader
+                    + "; it may have been unloaded");
+        }
         return Class.forName(proxyClassName, false, classLoader);
     }
 
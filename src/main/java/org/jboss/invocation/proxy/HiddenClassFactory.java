@@ -0,0 +1,175 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.proxy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.security.ProtectionDomain;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.classfilewriter.ClassFactory;
+
+/**
+ * A class factory which defines classes as hidden classes through a {@link MethodHandles.Lookup}, in the package and
+ * class loader of the lookup class.  Hidden classes are only available from Java 15, so they are defined reflectively.
+ * <p>
+ * Since hidden classes cannot be found by name, the classes defined by this factory are registered by their full
+ * name, which is the name they were generated with followed by a slash and a suffix which is unique to the class, so
+ * that {@link DefaultSerializableProxy} can resolve them while they are alive.  The registry
+ * holds the classes weakly, so that they can be unloaded independently of their class loader, and drops the entries of
+ * unloaded classes whenever another class is defined in the same class loader.
+ */
+final class HiddenClassFactory implements ClassFactory {
+
+    private static final MethodHandle DEFINE_HIDDEN_CLASS;
+    private static final MethodHandle IS_HIDDEN;
+    private static final Object NO_OPTIONS;
+    private static final Object NESTMATE_OPTIONS;
+
+    static {
+        MethodHandle defineHiddenClass = null;
+        MethodHandle isHidden = null;
+        Object noOptions = null;
+        Object nestmateOptions = null;
+        try {
+            final Class<?> optionClass = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            noOptions = Array.newInstance(optionClass, 0);
+            nestmateOptions = Array.newInstance(optionClass, 1);
+            Array.set(nestmateOptions, 0, optionClass.getField("NESTMATE").get(null));
+            defineHiddenClass = MethodHandles.publicLookup().findVirtual(MethodHandles.Lookup.class, "defineHiddenClass",
+                    MethodType.methodType(MethodHandles.Lookup.class, byte[].class, boolean.class, noOptions.getClass())).asFixedArity();
+            isHidden = MethodHandles.publicLookup().findVirtual(Class.class, "isHidden", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            // hidden classes are not supported
+            defineHiddenClass = null;
+            isHidden = null;
+        }
+        DEFINE_HIDDEN_CLASS = defineHiddenClass;
+        IS_HIDDEN = isHidden;
+        NO_OPTIONS = noOptions;
+        NESTMATE_OPTIONS = nestmateOptions;
+    }
+
+    private static final Map<ClassLoader, ConcurrentHashMap<String, WeakReference<Class<?>>>> CLASSES = new WeakHashMap<>();
+
+    private final MethodHandles.Lookup lookup;
+    private final boolean nestmate;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param lookup the lookup which defines the classes, which must have full privilege access
+     * @param nestmate {@code true} to add the classes to the nest of the lookup class
+     * @throws UnsupportedOperationException if the JVM does not support hidden classes
+     */
+    HiddenClassFactory(final MethodHandles.Lookup lookup, final boolean nestmate) {
+        if (DEFINE_HIDDEN_CLASS == null) {
+            throw new UnsupportedOperationException("Hidden classes are not supported by this JVM");
+        }
+        this.lookup = lookup;
+        this.nestmate = nestmate;
+    }
+
+    /**
+     * Defines the class as a hidden class and initializes it.  The class loader and protection domain are those of
+     * the lookup class.
+     *
+     * @param loader ignored
+     * @param name the name the class was generated with
+     * @param b the class bytes
+     * @param off the offset of the class bytes
+     * @param len the length of the class bytes
+     * @param protectionDomain ignored
+     * @return the hidden class
+     */
+    public Class<?> defineClass(final ClassLoader loader, final String name, final byte[] b, final int off, final int len,
+                                final ProtectionDomain protectionDomain) throws ClassFormatError {
+        final byte[] bytes = off == 0 && len == b.length ? b : Arrays.copyOfRange(b, off, off + len);
+        final Class<?> clazz;
+        try {
+            clazz = ((MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(lookup, bytes, true, nestmate ? NESTMATE_OPTIONS : NO_OPTIONS)).lookupClass();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException("Could not define hidden class " + name, t);
+        }
+        final ConcurrentHashMap<String, WeakReference<Class<?>>> classes;
+        synchronized (CLASSES) {
+            classes = CLASSES.computeIfAbsent(clazz.getClassLoader(), classLoader -> new ConcurrentHashMap<>());
+        }
+        classes.values().removeIf(reference -> reference.get() == null);
+        classes.put(clazz.getName(), new WeakReference<Class<?>>(clazz));
+        return clazz;
+    }
+
+    /**
+     * Get a hidden class defined by this factory.
+     *
+     * @param classLoader the class loader of the class
+     * @param name the name of the hidden class
+     * @return the class, or {@code null} if there is no such class or it has been unloaded
+     */
+    static Class<?> findClass(final ClassLoader classLoader, final String name) {
+        final ConcurrentHashMap<String, WeakReference<Class<?>>> classes;
+        synchronized (CLASSES) {
+            classes = CLASSES.get(classLoader);
+        }
+        if (classes == null) {
+            return null;
+        }
+        final WeakReference<Class<?>> ref = classes.get(name);
+        return ref == null ? null : ref.get();
+    }
+
+    /**
+     * Determine whether a class name is the name of a hidden class, which cannot be found by
+     * {@link Class#forName(String, boolean, ClassLoader)}.
+     *
+     * @param name the class name
+     * @return {@code true} if it is the name of a hidden class
+     */
+    static boolean isHiddenName(final String name) {
+        return name.indexOf('/') != -1;
+    }
+
+    /**
+     * Determine whether a class is a hidden class.
+     *
+     * @param clazz the class
+     * @return {@code true} if the class is hidden
+     */
+    static boolean isHidden(final Class<?> clazz) {
+        if (IS_HIDDEN == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_HIDDEN.invokeExact(clazz);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.proxy;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+/**
+ * An {@link InvocationHandler} which is also given the index of the invoked method in the proxy class.  Proxies created
+ * with {@linkplain ProxyConfiguration#setTypedDispatch(boolean) typed dispatch} pass each invocation to this method,
+ * so that per-method state can be kept in arrays indexed by method instead of in maps keyed by {@link Method}.
+ * <p>
+ * The index of a method is its position in {@link AbstractProxyFactory#getCachedMethods()}.  Indices are only unique
+ * within one proxy class, so a handler which is shared by several proxy classes must check that the state found at an
+ * index belongs to the invoked method.
+ */
+public interface IndexedInvocationHandler extends InvocationHandler {
+
+    /**
+     * Handle a proxy method invocation.  The arguments of primitive parameters are boxed.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param args the arguments
+     * @return the result, or {@code null} for {@code void} methods
+     * @throws Throwable if the invocation fails
+     */
+    Object invoke(Object proxy, int methodIndex, Method method, Object[] args) throws Throwable;
+}
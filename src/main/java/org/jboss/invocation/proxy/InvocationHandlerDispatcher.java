@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.proxy;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+/**
+ * A dispatcher which passes every invocation to an {@link InvocationHandler}, or to an
+ * {@link IndexedInvocationHandler} along with the method index.
+ */
+final class InvocationHandlerDispatcher extends ProxyDispatcher implements Serializable {
+
+    private static final long serialVersionUID = 2893626264806440133L;
+
+    private final InvocationHandler handler;
+
+    InvocationHandlerDispatcher(final InvocationHandler handler) {
+        this.handler = handler;
+    }
+
+    InvocationHandler getHandler() {
+        return handler;
+    }
+
+    /** {@inheritDoc} */
+    public Object invoke(final Object proxy, final int methodIndex, final Method method, final Object[] args) throws Throwable {
+        final InvocationHandler handler = this.handler;
+        if (handler instanceof IndexedInvocationHandler) {
+            return ((IndexedInvocationHandler) handler).invoke(proxy, methodIndex, method, args);
+        }
+        return handler.invoke(proxy, method, args);
+    }
+
+    /** {@inheritDoc} */
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        return handler.invoke(proxy, method, args);
+    }
+}
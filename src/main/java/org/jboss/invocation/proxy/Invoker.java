@@ -0,0 +1,49 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.proxy;
+
+/**
+ * A dispatcher which invokes the methods of one target class by index, as generated by an {@link InvokerFactory}.
+ * Each method is called directly, so no reflection is involved.
+ *
+ * @see InvokerFactory
+ */
+public abstract class Invoker {
+
+    /**
+     * Construct a new instance.
+     */
+    protected Invoker() {
+    }
+
+    /**
+     * Invoke a method on the target object.  As with reflection, the target and the arguments must be of the types
+     * of the method, and the arguments of its number; a primitive parameter accepts the wrapper of its type, or of a
+     * type which widens to it.  Exceptions thrown by the method are propagated as-is.
+     *
+     * @param methodIndex the index of the method, as given by
+     *      {@link InvokerFactory#getMethodIndex(java.lang.reflect.Method)}
+     * @param target the target object
+     * @param args the arguments
+     * @return the result of the method, boxed if it is primitive, or {@code null} if the method is {@code void}
+     * @throws IllegalArgumentException if the method index is out of range, or the target or the arguments are not of
+     *      the right type or number
+     * @throws Exception if the method throws an exception
+     */
+    public abstract Object invoke(int methodIndex, Object target, Object[] args) throws Exception;
+}
@@ -0,0 +1,447 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.proxy;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.classfilewriter.AccessFlag;
+import org.jboss.classfilewriter.ClassFactory;
+import org.jboss.classfilewriter.ClassMethod;
+import org.jboss.classfilewriter.code.BranchEnd;
+import org.jboss.classfilewriter.code.CodeAttribute;
+import org.jboss.classfilewriter.code.ExceptionHandler;
+import org.jboss.classfilewriter.code.TableSwitchBuilder;
+import org.jboss.classfilewriter.util.Boxing;
+import org.jboss.classfilewriter.util.DescriptorUtils;
+import org.jboss.invocation.proxy.reflection.DefaultReflectionMetadataSource;
+import org.jboss.invocation.proxy.reflection.ReflectionMetadataSource;
+
+/**
+ * Class factory which generates one {@link Invoker} for a target class.  The generated
+ * {@link Invoker#invoke(int, Object, Object[]) invoke} method switches on the method index and calls the corresponding
+ * method of the target class directly, giving the JIT a single compact dispatcher for all of the methods of the class.
+ * <p>
+ * Every non-static method of the target class and its supertypes which the invoker can call is assigned an index:
+ * public methods, and methods which are neither public nor private if they belong to the package and class loader of
+ * the invoker.  Overridden methods are dispatched virtually, so each method signature has a single index.  Should the
+ * class have so many methods that the dispatcher would exceed the limit on the size of a method, the remaining
+ * methods are not assigned an index.
+ * <p>
+ * Typical usage looks like:
+ *
+ * <pre>
+ * InvokerFactory&lt;SimpleClass&gt; invokerFactory = new InvokerFactory&lt;SimpleClass&gt;(SimpleClass.class, classFactory);
+ * int index = invokerFactory.getMethodIndex(method);
+ * Object result = invokerFactory.getInvoker().invoke(index, instance, args);
+ * </pre>
+ *
+ * @param <T> the target class type
+ */
+public class InvokerFactory<T> extends AbstractClassFactory<Invoker> {
+
+    /**
+     * The largest estimated size of the code of the generated {@code invoke} method, which must stay below 64KiB.
+     */
+    private static final int MAX_CODE_SIZE = 60000;
+
+    private static final String INVALID_INDEX = "Invalid method index";
+
+    private static final String WRONG_NUMBER_OF_ARGUMENTS = "wrong number of arguments";
+
+    /**
+     * The primitive types whose values widen to each primitive type, as reflection allows, with the type itself last.
+     */
+    private static final Map<Class<?>, Class<?>[]> WIDENING;
+
+    static {
+        final Map<Class<?>, Class<?>[]> widening = new HashMap<Class<?>, Class<?>[]>();
+        widening.put(boolean.class, new Class<?>[] { boolean.class });
+        widening.put(char.class, new Class<?>[] { char.class });
+        widening.put(byte.class, new Class<?>[] { byte.class });
+        widening.put(short.class, new Class<?>[] { byte.class, short.class });
+        widening.put(int.class, new Class<?>[] { byte.class, short.class, char.class, int.class });
+        widening.put(long.class, new Class<?>[] { byte.class, short.class, char.class, int.class, long.class });
+        widening.put(float.class, new Class<?>[] { byte.class, short.class, char.class, int.class, long.class, float.class });
+        widening.put(double.class, new Class<?>[] { byte.class, short.class, char.class, int.class, long.class, float.class, double.class });
+        WIDENING = widening;
+    }
+
+    private final Class<T> targetClass;
+
+    private final ReflectionMetadataSource reflectionMetadataSource;
+
+    /**
+     * The methods which have an index, in index order
+     */
+    private final List<Method> methods = new ArrayList<Method>();
+
+    private final Map<MethodIdentifier, Integer> methodIndices = new HashMap<MethodIdentifier, Integer>();
+
+    private int codeSize;
+
+    private volatile Invoker invoker;
+
+    /**
+     * Construct a new instance.  The invoker is named after the target class, and is defined in the target class's
+     * class loader.
+     *
+     * @param targetClass  the target class
+     * @param classFactory the class factory used to define the invoker
+     */
+    public InvokerFactory(Class<T> targetClass, ClassFactory classFactory) {
+        this(targetClass.getName() + "$$Invoker", targetClass, targetClass.getClassLoader(), classFactory, null,
+                DefaultReflectionMetadataSource.INSTANCE);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param className                the invoker class name
+     * @param targetClass              the target class
+     * @param classLoader              the class loader used to define the invoker
+     * @param classFactory             the class factory used to define the invoker
+     * @param protectionDomain         the protection domain of the invoker
+     * @param reflectionMetadataSource the source of the methods of the target class
+     */
+    public InvokerFactory(String className, Class<T> targetClass, ClassLoader classLoader, ClassFactory classFactory,
+                          ProtectionDomain protectionDomain, ReflectionMetadataSource reflectionMetadataSource) {
+        super(className, Invoker.class, classLoader, classFactory, protectionDomain);
+        if (targetClass == null) {
+            throw new IllegalArgumentException("Target class cannot be null for invoker " + className);
+        }
+        this.targetClass = targetClass;
+        this.reflectionMetadataSource = reflectionMetadataSource;
+        addMethods();
+    }
+
+    private void addMethods() {
+        final Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        if (targetClass.isInterface()) {
+            addInterfaces(targetClass, interfaces);
+        } else {
+            Class<?> currentClass = targetClass;
+            while (currentClass != null) {
+                for (Method method : reflectionMetadataSource.getClassMetadata(currentClass).getDeclaredMethods()) {
+                    addMethod(method);
+                }
+                for (Class<?> iface : currentClass.getInterfaces()) {
+                    addInterfaces(iface, interfaces);
+                }
+                currentClass = currentClass.getSuperclass();
+            }
+        }
+        // default methods, and abstract methods which an abstract target class does not implement
+        for (Class<?> iface : interfaces) {
+            for (Method method : reflectionMetadataSource.getClassMetadata(iface).getDeclaredMethods()) {
+                addMethod(method);
+            }
+        }
+    }
+
+    private static void addInterfaces(Class<?> iface, Set<Class<?>> interfaces) {
+        if (interfaces.add(iface)) {
+            for (Class<?> superInterface : iface.getInterfaces()) {
+                addInterfaces(superInterface, interfaces);
+            }
+        }
+    }
+
+    private void addMethod(Method method) {
+        if (!isCallable(method)) {
+            return;
+        }
+        final MethodIdentifier identifier = MethodIdentifier.getIdentifierForMethod(method);
+        if (methodIndices.containsKey(identifier)) {
+            return; // overridden
+        }
+        // a generous estimate of the bytecode for the case, the argument checks and conversions, the call, the return
+        // and the handler of argument errors
+        int size = 60;
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            size += parameterType.isPrimitive() ? 11 + 17 * WIDENING.get(parameterType).length : 11;
+        }
+        if (codeSize + size > MAX_CODE_SIZE) {
+            return;
+        }
+        codeSize += size;
+        methodIndices.put(identifier, Integer.valueOf(methods.size()));
+        methods.add(method);
+    }
+
+    private boolean isCallable(Method method) {
+        final int modifiers = method.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers)) {
+            return false;
+        }
+        if (Modifier.isPublic(modifiers)) {
+            return true;
+        }
+        // package private and protected methods can only be called from the same runtime package
+        final Class<?> declaringClass = method.getDeclaringClass();
+        return declaringClass.getClassLoader() == getClassLoader()
+                && packageName(declaringClass.getName()).equals(packageName(getClassName()));
+    }
+
+    private static String packageName(String className) {
+        final int index = className.lastIndexOf('.');
+        return index == -1 ? "" : className.substring(0, index);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void generateClass() {
+        CodeAttribute ca = classFile.addMethod(AccessFlag.PUBLIC, "<init>", "V").getCodeAttribute();
+        ca.aload(0);
+        ca.invokespecial(Invoker.class.getName(), "<init>", "()V");
+        ca.returnInstruction();
+
+        final ClassMethod invoke = classFile.addMethod(AccessFlag.PUBLIC, "invoke", "Ljava/lang/Object;", "I",
+                "Ljava/lang/Object;", "[Ljava/lang/Object;");
+        invoke.addCheckedExceptions(Exception.class.getName());
+        ca = invoke.getCodeAttribute();
+        final int size = methods.size();
+        if (size > 0) {
+            ca.iload(1);
+            final TableSwitchBuilder builder = new TableSwitchBuilder(0, size - 1);
+            final List<AtomicReference<BranchEnd>> cases = new ArrayList<AtomicReference<BranchEnd>>(size);
+            for (int i = 0; i < size; ++i) {
+                cases.add(builder.add());
+            }
+            ca.tableswitch(builder);
+            for (int i = 0; i < size; ++i) {
+                ca.branchEnd(cases.get(i).get());
+                invokeMethod(ca, methods.get(i));
+            }
+            ca.branchEnd(builder.getDefaultBranchEnd().get());
+        }
+        ca.newInstruction(IllegalArgumentException.class);
+        ca.dup();
+        ca.ldc(INVALID_INDEX);
+        ca.invokespecial(IllegalArgumentException.class.getName(), "<init>", "(Ljava/lang/String;)V");
+        ca.athrow();
+    }
+
+    private void invokeMethod(CodeAttribute ca, Method method) {
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        // check the number of arguments as reflection does, allowing null for no arguments
+        final BranchEnd wrongNumber;
+        ca.aload(3);
+        if (parameterTypes.length == 0) {
+            final BranchEnd noArguments = ca.ifnull();
+            ca.aload(3);
+            ca.arraylength();
+            wrongNumber = ca.ifne();
+            ca.branchEnd(noArguments);
+        } else {
+            final BranchEnd nullArguments = ca.ifnull();
+            ca.aload(3);
+            ca.arraylength();
+            ca.iconst(parameterTypes.length);
+            final BranchEnd rightNumber = ca.ifIcmpeq();
+            ca.branchEnd(nullArguments);
+            wrongNumber = ca.gotoInstruction();
+            ca.branchEnd(rightNumber);
+        }
+        // the conversions of the target and the arguments throw ClassCastException or NullPointerException, which are
+        // reported as IllegalArgumentException; exceptions thrown by the method itself are propagated as-is
+        final ExceptionHandler conversionError = ca.exceptionBlockStart(RuntimeException.class.getName());
+        ca.aload(2);
+        ca.checkcast(targetClass);
+        for (int i = 0; i < parameterTypes.length; ++i) {
+            ca.aload(3);
+            ca.iconst(i);
+            ca.aaload();
+            if (parameterTypes[i].isPrimitive()) {
+                unbox(ca, parameterTypes[i]);
+            } else {
+                ca.checkcast(parameterTypes[i]);
+            }
+        }
+        ca.exceptionBlockEnd(conversionError);
+        final String descriptor = DescriptorUtils.methodDescriptor(method);
+        if (targetClass.isInterface()) {
+            ca.invokeinterface(targetClass.getName(), method.getName(), descriptor);
+        } else {
+            ca.invokevirtual(targetClass.getName(), method.getName(), descriptor);
+        }
+        final Class<?> returnType = method.getReturnType();
+        if (returnType == void.class) {
+            ca.aconstNull();
+        } else if (returnType.isPrimitive()) {
+            Boxing.boxIfNessesary(ca, DescriptorUtils.makeDescriptor(returnType));
+        }
+        ca.returnInstruction();
+
+        ca.branchEnd(wrongNumber);
+        ca.newInstruction(IllegalArgumentException.class);
+        ca.dup();
+        ca.ldc(WRONG_NUMBER_OF_ARGUMENTS);
+        ca.invokespecial(IllegalArgumentException.class.getName(), "<init>", "(Ljava/lang/String;)V");
+        ca.athrow();
+
+        // new IllegalArgumentException(e.getMessage(), e)
+        ca.exceptionHandlerStart(conversionError);
+        ca.newInstruction(IllegalArgumentException.class);
+        ca.dupX1();
+        ca.swap();
+        ca.dup();
+        ca.invokevirtual(Throwable.class.getName(), "getMessage", "()Ljava/lang/String;");
+        ca.swap();
+        ca.invokespecial(IllegalArgumentException.class.getName(), "<init>", "(Ljava/lang/String;Ljava/lang/Throwable;)V");
+        ca.athrow();
+    }
+
+    /**
+     * Unbox the argument on top of the stack to the given primitive type.  As with reflection, the argument may be
+     * the wrapper of the type or of a type which widens to it; anything else raises {@code ClassCastException}, and
+     * {@code null} raises {@code NullPointerException}.
+     */
+    private static void unbox(CodeAttribute ca, Class<?> type) {
+        final Class<?>[] sources = WIDENING.get(type);
+        final int last = sources.length - 1;
+        final List<BranchEnd> unboxed = new ArrayList<BranchEnd>(last);
+        for (int i = 0; i < last; ++i) {
+            final Class<?> wrapper = wrapper(sources[i]);
+            ca.dup();
+            ca.instanceofInstruction(wrapper.getName());
+            final BranchEnd other = ca.ifeq();
+            ca.checkcast(wrapper);
+            ca.invokevirtual(wrapper.getName(), sources[i].getName() + "Value", "()" + DescriptorUtils.makeDescriptor(sources[i]));
+            widen(ca, sources[i], type);
+            unboxed.add(ca.gotoInstruction());
+            ca.branchEnd(other);
+        }
+        final Class<?> wrapper = wrapper(type);
+        ca.checkcast(wrapper);
+        ca.invokevirtual(wrapper.getName(), type.getName() + "Value", "()" + DescriptorUtils.makeDescriptor(type));
+        for (BranchEnd end : unboxed) {
+            ca.branchEnd(end);
+        }
+    }
+
+    private static void widen(CodeAttribute ca, Class<?> from, Class<?> to) {
+        if (to == long.class) {
+            ca.i2l();
+        } else if (to == float.class) {
+            if (from == long.class) {
+                ca.l2f();
+            } else {
+                ca.i2f();
+            }
+        } else if (to == double.class) {
+            if (from == long.class) {
+                ca.l2d();
+            } else if (from == float.class) {
+                ca.f2d();
+            } else {
+                ca.i2d();
+            }
+        }
+    }
+
+    private static Class<?> wrapper(Class<?> type) {
+        if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == char.class) {
+            return Character.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else {
+            return Double.class;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void cleanup() {
+        // the methods are kept, as they map the indices used by the invoker
+    }
+
+    /**
+     * Get the target class.
+     *
+     * @return the target class
+     */
+    public Class<T> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * Get the methods which the invoker can call, in index order.
+     *
+     * @return the methods
+     */
+    public List<Method> getMethods() {
+        return Collections.unmodifiableList(methods);
+    }
+
+    /**
+     * Get the index of a method, which is the index of the method of the target class with the same signature.  The
+     * method may belong to a supertype of the target class, such as a business interface.
+     *
+     * @param method the method
+     * @return the index, or {@code -1} if the invoker cannot call the method
+     */
+    public int getMethodIndex(Method method) {
+        final Integer index = methodIndices.get(MethodIdentifier.getIdentifierForMethod(method));
+        return index == null ? -1 : index.intValue();
+    }
+
+    /**
+     * Get the invoker, defining the invoker class if it does not exist.  Invokers are stateless, so one instance is
+     * shared.
+     *
+     * @return the invoker
+     */
+    public Invoker getInvoker() {
+        Invoker invoker = this.invoker;
+        if (invoker == null) {
+            synchronized (this) {
+                invoker = this.invoker;
+                if (invoker == null) {
+                    try {
+                        this.invoker = invoker = newInstance();
+                    } catch (InstantiationException e) {
+                        throw new IllegalStateException(e);
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        }
+        return invoker;
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.proxy;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A cache of generated proxy classes which is shared by all proxy factories, so that factories with the same
+ * structural configuration reuse one proxy class per class loader instead of each generating their own.
+ * <p>
+ * Classes are cached per defining class loader, in a map which holds the loader weakly.  Neither keys nor values hold
+ * strong references to classes or other objects which may belong to the loader, so that the cache never prevents a
+ * loader from being unloaded: classes are referenced by name, which is unambiguous within one loader, other objects
+ * such as the metadata source by weak identity, and the proxy classes themselves weakly.  While a class is being
+ * generated, its entry holds a task which other threads requesting the same class wait for, so that each class is only
+ * generated once.  Entries whose weakly held objects or classes have been collected can no longer be found, and are
+ * purged whenever a class is looked up in the cache of their loader.
+ */
+final class ProxyClassCache {
+
+    private static final Map<ClassLoader, ConcurrentHashMap<Key, Object>> CACHE = new WeakHashMap<>();
+
+    private ProxyClassCache() {
+    }
+
+    /**
+     * Get the cached proxy class for a key, generating it if it is not cached yet.  If another thread is already
+     * generating the class, the current thread waits for it instead.
+     *
+     * @param classLoader the defining class loader
+     * @param key the structural key of the class
+     * @param generator the action which generates and defines the class
+     * @return the proxy class
+     */
+    static Class<?> get(final ClassLoader classLoader, final Key key, final Callable<Class<?>> generator) {
+        final ConcurrentHashMap<Key, Object> classes;
+        synchronized (CACHE) {
+            classes = CACHE.computeIfAbsent(classLoader, loader -> new ConcurrentHashMap<>());
+        }
+        purge(classes);
+        for (;;) {
+            final Object value = classes.get(key);
+            if (value instanceof WeakReference) {
+                final Class<?> clazz = (Class<?>) ((WeakReference<?>) value).get();
+                if (clazz != null) {
+                    return clazz;
+                }
+                // cannot normally happen while the loader is alive, but start over if it does
+                classes.remove(key, value);
+                continue;
+            }
+            if (value != null) {
+                return await((FutureTask<?>) value);
+            }
+            final FutureTask<Class<?>> task = new FutureTask<>(generator);
+            if (classes.putIfAbsent(key, task) != null) {
+                continue;
+            }
+            task.run();
+            try {
+                final Class<?> clazz = await(task);
+                // the task holds the class strongly, so replace it
+                classes.replace(key, task, new WeakReference<Class<?>>(clazz));
+                return clazz;
+            } catch (RuntimeException | Error e) {
+                // let a later request try again
+                classes.remove(key, task);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Get the cached proxy class for a key, without generating it or waiting for it to be generated.
+     *
+     * @param classLoader the defining class loader
+     * @param key the structural key of the class
+     * @return the proxy class, or {@code null} if it is not cached
+     */
+    static Class<?> find(final ClassLoader classLoader, final Key key) {
+        final ConcurrentHashMap<Key, Object> classes;
+        synchronized (CACHE) {
+            classes = CACHE.get(classLoader);
+        }
+        final Object value = classes == null ? null : classes.get(key);
+        return value instanceof WeakReference ? (Class<?>) ((WeakReference<?>) value).get() : null;
+    }
+
+    /**
+     * Remove the entries which can no longer be found, because an object of their key or their class was collected.
+     *
+     * @param classes the classes of one class loader
+     */
+    private static void purge(final ConcurrentHashMap<Key, Object> classes) {
+        for (Map.Entry<Key, Object> entry : classes.entrySet()) {
+            final Object value = entry.getValue();
+            if (entry.getKey().isCleared() || value instanceof WeakReference && ((WeakReference<?>) value).get() == null) {
+                classes.remove(entry.getKey(), value);
+            }
+        }
+    }
+
+    private static Class<?> await(final FutureTask<?> task) {
+        boolean interrupted = false;
+        try {
+            for (;;) {
+                try {
+                    return (Class<?>) task.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new RuntimeException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The structural key of a proxy class within its class loader.
+     */
+    static final class Key {
+        private final String[] names;
+        private final Object[] identities;
+        private final int hashCode;
+
+        /**
+         * Construct a new instance.
+         *
+         * @param names the names of the classes and other settings which determine the generated class, in order
+         * @param identities the objects which determine the generated class and are compared by identity, in order;
+         *      they are held weakly and may be {@code null}
+         */
+        Key(final String[] names, final Object... identities) {
+            this.names = names;
+            final Object[] weak = new Object[identities.length];
+            int hashCode = Arrays.hashCode(names);
+            for (int i = 0; i < identities.length; i++) {
+                final Object identity = identities[i];
+                if (identity != null) {
+                    weak[i] = new WeakReference<>(identity);
+                }
+                hashCode = hashCode * 31 + System.identityHashCode(identity);
+            }
+            this.identities = weak;
+            this.hashCode = hashCode;
+        }
+
+        /**
+         * Determine whether an object of this key was collected, in which case no other key can equal it.
+         *
+         * @return {@code true} if a weakly held object was collected
+         */
+        boolean isCleared() {
+            for (Object identity : identities) {
+                if (identity != null && ((WeakReference<?>) identity).get() == null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public int hashCode() {
+            return hashCode;
+        }
+
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && equals((Key) obj);
+        }
+
+        private boolean equals(final Key other) {
+            if (this == other) {
+                return true;
+            }
+            if (hashCode != other.hashCode || ! Arrays.equals(names, other.names) || identities.length != other.identities.length) {
+                return false;
+            }
+            for (int i = 0; i < identities.length; i++) {
+                final Object a = identities[i];
+                final Object b = other.identities[i];
+                if (a == null || b == null) {
+                    if (a != b) {
+                        return false;
+                    }
+                } else {
+                    final Object referent = ((WeakReference<?>) a).get();
+                    // a cleared reference matches nothing, as its object can no longer be passed in
+                    if (referent == null || referent != ((WeakReference<?>) b).get()) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.jboss.classfilewriter.ClassFactory;
 import org.jboss.invocation.proxy.reflection.DefaultReflectionMetadataSource;
 import org.jboss.invocation.proxy.reflection.ReflectionMetadataSource;
 
+import java.lang.invoke.MethodHandles;
 import java.security.ProtectionDomain;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -38,6 +39,10 @@ public class ProxyConfiguration<T> {
     private ProtectionDomain protectionDomain;
     private final List<Class<?>> additionalInterfaces = new ArrayList<Class<?>>(0);
     private ClassFactory classFactory;
+    private boolean typedDispatch;
+    private boolean shareProxyClass;
+    private MethodHandles.Lookup hiddenClassLookup;
+    private boolean hiddenClassNestmate;
 
     /**
      * @return Any additional interfaces that the proxy should implement
@@ -109,6 +114,87 @@ public class ProxyConfiguration<T> {
         return this;
     }
 
+    /**
+     * @return Whether proxy methods dispatch to a {@link ProxyDispatcher} through typed entry points
+     */
+    public boolean isTypedDispatch() {
+        return typedDispatch;
+    }
+
+    /**
+     * Sets whether proxy methods dispatch to a {@link ProxyDispatcher} through entry points which are specialized for
+     * the parameter and return types, instead of passing boxed arguments to an
+     * {@link java.lang.reflect.InvocationHandler}.  Invocation handlers which are not dispatchers still work with such
+     * proxies, and an {@link IndexedInvocationHandler} is also given the index of each invoked method.
+     *
+     * @param typedDispatch {@code true} to use typed dispatch
+     * @return The builder
+     */
+    public ProxyConfiguration<T> setTypedDispatch(final boolean typedDispatch) {
+        this.typedDispatch = typedDispatch;
+        return this;
+    }
+
+    /**
+     * @return Whether the proxy class may be shared with other proxy factories
+     */
+    public boolean isShareProxyClass() {
+        return shareProxyClass;
+    }
+
+    /**
+     * Sets whether the proxy class may be shared with other proxy factories.  If so, factories with the same
+     * superclass, additional interfaces, metadata source, serializable proxy class and class loader (as well as the same
+     * class factory, protection domain and dispatch mode, and a hidden class lookup with the same lookup class and
+     * access modes) which also share their class use one proxy class, which is generated by whichever factory needs it
+     * first.  The name of the shared class is the proxy name of that factory, which is what
+     * {@link ProxyFactory#getClassName()} returns once the class is defined.  Shared classes are held weakly, so that
+     * they do not prevent their class loader from being unloaded.
+     *
+     * @param shareProxyClass {@code true} to share the proxy class
+     * @return The builder
+     */
+    public ProxyConfiguration<T> setShareProxyClass(final boolean shareProxyClass) {
+        this.shareProxyClass = shareProxyClass;
+        return this;
+    }
+
+    /**
+     * @return The lookup through which proxies are defined as hidden classes, or {@code null} if they are defined as
+     *         normal classes
+     */
+    public MethodHandles.Lookup getHiddenClassLookup() {
+        return hiddenClassLookup;
+    }
+
+    /**
+     * @return Whether proxies which are defined as hidden classes are nestmates of the lookup class
+     */
+    public boolean isHiddenClassNestmate() {
+        return hiddenClassNestmate;
+    }
+
+    /**
+     * Sets the lookup through which proxies are defined as hidden classes.  Hidden classes cannot be found by name, and
+     * are unloaded once they are no longer used, independently of their class loader.  They require Java 15 or later.
+     * <p>
+     * The lookup must have full privilege access, and the proxy name must be in the package of the lookup class.  The
+     * proxy is defined in the class loader and protection domain of the lookup class, so the class loader defaults to
+     * that class loader, and if it is set, it must be the same; the class factory and protection domain are ignored.
+     * A proxy which is a hidden class can be serialized with a {@link SerializableProxy} such as
+     * {@link DefaultSerializableProxy}, but not directly.
+     *
+     * @param hiddenClassLookup the lookup, or {@code null} to define proxies as normal classes
+     * @param nestmate {@code true} to add the proxies to the nest of the lookup class, so that they can access its
+     *        private members
+     * @return The builder
+     */
+    public ProxyConfiguration<T> setHiddenClassLookup(final MethodHandles.Lookup hiddenClassLookup, final boolean nestmate) {
+        this.hiddenClassLookup = hiddenClassLookup;
+        this.hiddenClassNestmate = nestmate;
+        return this;
+    }
+
     /**
      * @return The proxy Name
      */
@@ -0,0 +1,455 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.proxy;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An invocation handler for {@link ProxyFactory} proxies which are generated with
+ * {@linkplain ProxyConfiguration#setTypedDispatch(boolean) typed dispatch}.  Proxy methods with no parameters or a
+ * single parameter call an entry point which is specialized for the kind of the parameter and of the return type, so
+ * that a dispatcher which overrides the entry point can handle the invocation without boxing or allocating an argument
+ * array.  All other methods call {@link #invoke(Object, int, Method, Object[])}.
+ * <p>
+ * Each entry point receives the index of the method in the proxy class along with the method itself.  By default,
+ * every entry point boxes its arguments and delegates to {@link #invoke(Object, int, Method, Object[])}, which in turn
+ * delegates to {@link #invoke(Object, Method, Object[])}; subclasses override the entry points of the methods they
+ * want to handle directly.  Like the other proxies of {@code ProxyFactory}, checked exceptions thrown by the
+ * dispatcher are propagated as they are.  The default entry points of methods with a primitive return type accept
+ * only the wrapper of that type as the result of the generic path, as {@link java.lang.reflect.Proxy} does; any other
+ * result raises {@code ClassCastException}, and {@code null} raises {@code NullPointerException}.
+ */
+public abstract class ProxyDispatcher implements IndexedInvocationHandler {
+
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final ClassValue<ConcurrentMap<Method, Class<?>[]>> PARAMETER_TYPES = new ClassValue<ConcurrentMap<Method, Class<?>[]>>() {
+        protected ConcurrentMap<Method, Class<?>[]> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Construct a new instance.
+     */
+    protected ProxyDispatcher() {
+    }
+
+    /**
+     * Get a dispatcher for the given invocation handler.  If the handler is a dispatcher, it is returned as-is;
+     * otherwise a dispatcher which passes every invocation to the handler is returned, along with the method index if
+     * the handler is an {@link IndexedInvocationHandler}.
+     *
+     * @param handler the invocation handler
+     * @return the dispatcher, or {@code null} if the handler is {@code null}
+     */
+    public static ProxyDispatcher of(final InvocationHandler handler) {
+        return handler == null || handler instanceof ProxyDispatcher ? (ProxyDispatcher) handler : new InvocationHandlerDispatcher(handler);
+    }
+
+    /**
+     * Get the invocation handler which a dispatcher was {@linkplain #of(InvocationHandler) created for}.
+     *
+     * @param dispatcher the dispatcher
+     * @return the invocation handler, or the dispatcher itself if it was not created for another handler
+     */
+    static InvocationHandler unwrap(final ProxyDispatcher dispatcher) {
+        return dispatcher instanceof InvocationHandlerDispatcher ? ((InvocationHandlerDispatcher) dispatcher).getHandler() : dispatcher;
+    }
+
+    /**
+     * Get the parameter types of a method without copying them, as {@link Method#getParameterTypes()} does on every
+     * call.  The types are cached along with the declaring class of the method.
+     *
+     * @param method the method
+     * @return the parameter types, which must not be modified
+     */
+    protected static Class<?>[] getParameterTypes(final Method method) {
+        final ConcurrentMap<Method, Class<?>[]> cache = PARAMETER_TYPES.get(method.getDeclaringClass());
+        Class<?>[] types = cache.get(method);
+        if (types == null) {
+            types = method.getParameterTypes();
+            final Class<?>[] appearing = cache.putIfAbsent(method, types);
+            if (appearing != null) {
+                types = appearing;
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Handle an invocation which has no specialized entry point.  The arguments of primitive parameters are boxed.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param args the arguments
+     * @return the result, or {@code null} for {@code void} methods
+     * @throws Throwable if the invocation fails
+     */
+    public Object invoke(final Object proxy, final int methodIndex, final Method method, final Object[] args) throws Throwable {
+        return invoke(proxy, method, args);
+    }
+
+    /**
+     * Handle an invocation of a method with no parameters and a return type of a reference type or {@code void}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @return the result, or {@code null} for {@code void} methods
+     * @throws Throwable if the invocation fails
+     */
+    public Object invoke0(final Object proxy, final int methodIndex, final Method method) throws Throwable {
+        return invoke(proxy, methodIndex, method, NO_ARGS);
+    }
+
+    /**
+     * Handle an invocation of a method with a single {@code boolean}, {@code byte}, {@code short}, {@code char} or
+     * {@code int} parameter and a return type of a reference type or {@code void}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument; {@code boolean} ({@code 1} for {@code true}), {@code byte}, {@code short} and
+     * {@code char} arguments are widened to {@code int}
+     * @return the result, or {@code null} for {@code void} methods
+     * @throws Throwable if the invocation fails
+     */
+    public Object invokeI(final Object proxy, final int methodIndex, final Method method, final int arg) throws Throwable {
+        return invoke(proxy, methodIndex, method, new Object[] { boxInt(method, arg) });
+    }
+
+    /**
+     * Handle an invocation of a method with a single {@code long} parameter and a return type of a reference type or
+     * {@code void}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument
+     * @return the result, or {@code null} for {@code void} methods
+     * @throws Throwable if the invocation fails
+     */
+    public Object invokeJ(final Object proxy, final int methodIndex, final Method method, final long arg) throws Throwable {
+        return invoke(proxy, methodIndex, method, new Object[] { Long.valueOf(arg) });
+    }
+
+    /**
+     * Handle an invocation of a method with a single {@code float} or {@code double} parameter and a return type of a
+     * reference type or {@code void}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument; {@code float} arguments are widened to {@code double}
+     * @return the result, or {@code null} for {@code void} methods
+     * @throws Throwable if the invocation fails
+     */
+    public Object invokeD(final Object proxy, final int methodIndex, final Method method, final double arg) throws Throwable {
+        return invoke(proxy, methodIndex, method, new Object[] { boxDouble(method, arg) });
+    }
+
+    /**
+     * Handle an invocation of a method with a single reference parameter and a return type of a reference type or
+     * {@code void}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument
+     * @return the result, or {@code null} for {@code void} methods
+     * @throws Throwable if the invocation fails
+     */
+    public Object invokeL(final Object proxy, final int methodIndex, final Method method, final Object arg) throws Throwable {
+        return invoke(proxy, methodIndex, method, new Object[] { arg });
+    }
+
+    /**
+     * Handle an invocation of a method with no parameters and a return type of {@code boolean}, {@code byte},
+     * {@code short}, {@code char} or {@code int}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @return the result; for {@code boolean} methods any non-zero value means {@code true}, and results of
+     * {@code byte}, {@code short} and {@code char} methods are narrowed
+     * @throws Throwable if the invocation fails
+     */
+    public int invokeInt0(final Object proxy, final int methodIndex, final Method method) throws Throwable {
+        return toInt(method, invoke0(proxy, methodIndex, method));
+    }
+
+    /**
+     * Handle an invocation of a method with a single {@code boolean}, {@code byte}, {@code short}, {@code char} or
+     * {@code int} parameter and a return type of {@code boolean}, {@code byte}, {@code short}, {@code char} or
+     * {@code int}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument; {@code boolean} ({@code 1} for {@code true}), {@code byte}, {@code short} and
+     * {@code char} arguments are widened to {@code int}
+     * @return the result; for {@code boolean} methods any non-zero value means {@code true}, and results of
+     * {@code byte}, {@code short} and {@code char} methods are narrowed
+     * @throws Throwable if the invocation fails
+     */
+    public int invokeIntI(final Object proxy, final int methodIndex, final Method method, final int arg) throws Throwable {
+        return toInt(method, invokeI(proxy, methodIndex, method, arg));
+    }
+
+    /**
+     * Handle an invocation of a method with a single {@code long} parameter and a return type of {@code boolean},
+     * {@code byte}, {@code short}, {@code char} or {@code int}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument
+     * @return the result; for {@code boolean} methods any non-zero value means {@code true}, and results of
+     * {@code byte}, {@code short} and {@code char} methods are narrowed
+     * @throws Throwable if the invocation fails
+     */
+    public int invokeIntJ(final Object proxy, final int methodIndex, final Method method, final long arg) throws Throwable {
+        return toInt(method, invokeJ(proxy, methodIndex, method, arg));
+    }
+
+    /**
+     * Handle an invocation of a method with a single {@code float} or {@code double} parameter and a return type of
+     * {@code boolean}, {@code byte}, {@code short}, {@code char} or {@code int}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument; {@code float} arguments are widened to {@code double}
+     * @return the result; for {@code boolean} methods any non-zero value means {@code true}, and results of
+     * {@code byte}, {@code short} and {@code char} methods are narrowed
+     * @throws Throwable if the invocation fails
+     */
+    public int invokeIntD(final Object proxy, final int methodIndex, final Method method, final double arg) throws Throwable {
+        return toInt(method, invokeD(proxy, methodIndex, method, arg));
+    }
+
+    /**
+     * Handle an invocation of a method with a single reference parameter and a return type of {@code boolean},
+     * {@code byte}, {@code short}, {@code char} or {@code int}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument
+     * @return the result; for {@code boolean} methods any non-zero value means {@code true}, and results of
+     * {@code byte}, {@code short} and {@code char} methods are narrowed
+     * @throws Throwable if the invocation fails
+     */
+    public int invokeIntL(final Object proxy, final int methodIndex, final Method method, final Object arg) throws Throwable {
+        return toInt(method, invokeL(proxy, methodIndex, method, arg));
+    }
+
+    /**
+     * Handle an invocation of a method with no parameters and a return type of {@code long}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @return the result
+     * @throws Throwable if the invocation fails
+     */
+    public long invokeLong0(final Object proxy, final int methodIndex, final Method method) throws Throwable {
+        return toLong(invoke0(proxy, methodIndex, method));
+    }
+
+    /**
+     * Handle an invocation of a method with a single {@code boolean}, {@code byte}, {@code short}, {@code char} or
+     * {@code int} parameter and a return type of {@code long}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument; {@code boolean} ({@code 1} for {@code true}), {@code byte}, {@code short} and
+     * {@code char} arguments are widened to {@code int}
+     * @return the result
+     * @throws Throwable if the invocation fails
+     */
+    public long invokeLongI(final Object proxy, final int methodIndex, final Method method, final int arg) throws Throwable {
+        return toLong(invokeI(proxy, methodIndex, method, arg));
+    }
+
+    /**
+     * Handle an invocation of a method with a single {@code long} parameter and a return type of {@code long}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument
+     * @return the result
+     * @throws Throwable if the invocation fails
+     */
+    public long invokeLongJ(final Object proxy, final int methodIndex, final Method method, final long arg) throws Throwable {
+        return toLong(invokeJ(proxy, methodIndex, method, arg));
+    }
+
+    /**
+     * Handle an invocation of a method with a single {@code float} or {@code double} parameter and a return type of
+     * {@code long}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument; {@code float} arguments are widened to {@code double}
+     * @return the result
+     * @throws Throwable if the invocation fails
+     */
+    public long invokeLongD(final Object proxy, final int methodIndex, final Method method, final double arg) throws Throwable {
+        return toLong(invokeD(proxy, methodIndex, method, arg));
+    }
+
+    /**
+     * Handle an invocation of a method with a single reference parameter and a return type of {@code long}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument
+     * @return the result
+     * @throws Throwable if the invocation fails
+     */
+    public long invokeLongL(final Object proxy, final int methodIndex, final Method method, final Object arg) throws Throwable {
+        return toLong(invokeL(proxy, methodIndex, method, arg));
+    }
+
+    /**
+     * Handle an invocation of a method with no parameters and a return type of {@code float} or {@code double}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @return the result; results of {@code float} methods are narrowed
+     * @throws Throwable if the invocation fails
+     */
+    public double invokeDouble0(final Object proxy, final int methodIndex, final Method method) throws Throwable {
+        return toDouble(method, invoke0(proxy, methodIndex, method));
+    }
+
+    /**
+     * Handle an invocation of a method with a single {@code boolean}, {@code byte}, {@code short}, {@code char} or
+     * {@code int} parameter and a return type of {@code float} or {@code double}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument; {@code boolean} ({@code 1} for {@code true}), {@code byte}, {@code short} and
+     * {@code char} arguments are widened to {@code int}
+     * @return the result; results of {@code float} methods are narrowed
+     * @throws Throwable if the invocation fails
+     */
+    public double invokeDoubleI(final Object proxy, final int methodIndex, final Method method, final int arg) throws Throwable {
+        return toDouble(method, invokeI(proxy, methodIndex, method, arg));
+    }
+
+    /**
+     * Handle an invocation of a method with a single {@code long} parameter and a return type of {@code float} or
+     * {@code double}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument
+     * @return the result; results of {@code float} methods are narrowed
+     * @throws Throwable if the invocation fails
+     */
+    public double invokeDoubleJ(final Object proxy, final int methodIndex, final Method method, final long arg) throws Throwable {
+        return toDouble(method, invokeJ(proxy, methodIndex, method, arg));
+    }
+
+    /**
+     * Handle an invocation of a method with a single {@code float} or {@code double} parameter and a return type of
+     * {@code float} or {@code double}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument; {@code float} arguments are widened to {@code double}
+     * @return the result; results of {@code float} methods are narrowed
+     * @throws Throwable if the invocation fails
+     */
+    public double invokeDoubleD(final Object proxy, final int methodIndex, final Method method, final double arg) throws Throwable {
+        return toDouble(method, invokeD(proxy, methodIndex, method, arg));
+    }
+
+    /**
+     * Handle an invocation of a method with a single reference parameter and a return type of {@code float} or
+     * {@code double}.
+     *
+     * @param proxy the proxy instance
+     * @param methodIndex the index of the method in the proxy class
+     * @param method the invoked method
+     * @param arg the argument
+     * @return the result; results of {@code float} methods are narrowed
+     * @throws Throwable if the invocation fails
+     */
+    public double invokeDoubleL(final Object proxy, final int methodIndex, final Method method, final Object arg) throws Throwable {
+        return toDouble(method, invokeL(proxy, methodIndex, method, arg));
+    }
+
+    private static Object boxInt(final Method method, final int arg) {
+        final Class<?> type = getParameterTypes(method)[0];
+        if (type == boolean.class) {
+            return Boolean.valueOf(arg != 0);
+        } else if (type == byte.class) {
+            return Byte.valueOf((byte) arg);
+        } else if (type == short.class) {
+            return Short.valueOf((short) arg);
+        } else if (type == char.class) {
+            return Character.valueOf((char) arg);
+        } else {
+            return Integer.valueOf(arg);
+        }
+    }
+
+    private static Object boxDouble(final Method method, final double arg) {
+        return getParameterTypes(method)[0] == float.class ? (Object) Float.valueOf((float) arg) : (Object) Double.valueOf(arg);
+    }
+
+    // results are unboxed like those of java.lang.reflect.Proxy: only the wrapper of the declared return type is accepted
+
+    private static int toInt(final Method method, final Object result) {
+        final Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return ((Boolean) result).booleanValue() ? 1 : 0;
+        } else if (type == byte.class) {
+            return ((Byte) result).byteValue();
+        } else if (type == short.class) {
+            return ((Short) result).shortValue();
+        } else if (type == char.class) {
+            return ((Character) result).charValue();
+        } else {
+            return ((Integer) result).intValue();
+        }
+    }
+
+    private static long toLong(final Object result) {
+        return ((Long) result).longValue();
+    }
+
+    private static double toDouble(final Method method, final Object result) {
+        return method.getReturnType() == float.class ? ((Float) result).floatValue() : ((Double) result).doubleValue();
+    }
+}
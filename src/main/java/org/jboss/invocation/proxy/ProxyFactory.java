@@ -20,17 +20,20 @@ package org.jboss.invocation.proxy;
 
 import java.io.ObjectStreamException;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.net.URL;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 
 import org.jboss.classfilewriter.AccessFlag;
+import org.jboss.classfilewriter.ClassFactory;
 import org.jboss.classfilewriter.ClassMethod;
 import org.jboss.classfilewriter.code.BranchEnd;
 import org.jboss.classfilewriter.code.CodeAttribute;
@@ -93,12 +96,124 @@ public class ProxyFactory<T> extends AbstractProxyFactory<T> {
             ca.returnInstruction();
             // normal invocation path begins here
             ca.branchEnd(end);
+            if (typedDispatch) {
+                dispatchTyped(method, superclassMethod);
+                return;
+            }
             ca.aload(0);
             ca.getfield(getClassName(), INVOCATION_HANDLER_FIELD, InvocationHandler.class);
             ca.aload(0);
             loadMethodIdentifier(superclassMethod, method);
             // now we need to stick the parameters into an array, boxing if nessesary
-            String[] params = method.getParameters();
+            loadParameterArray(ca, method.getParameters());
+            ca.invokeinterface(InvocationHandler.class.getName(), "invoke",
+                    "(Ljava/lang/Object;Ljava/lang/reflect/Method;[Ljava/lang/Object;)Ljava/lang/Object;");
+
+            if (superclassMethod.getReturnType() != void.class) {
+                if (superclassMethod.getReturnType().isPrimitive()) {
+                    Boxing.unbox(ca, method.getReturnType());
+                } else {
+                    ca.checkcast(superclassMethod.getReturnType().getName());
+                }
+            }
+            ca.returnInstruction();
+        }
+
+        private void dispatchTyped(ClassMethod method, Method superclassMethod) {
+            CodeAttribute ca = method.getCodeAttribute();
+            ca.aload(0);
+            ca.getfield(getClassName(), INVOCATION_HANDLER_FIELD, ProxyDispatcher.class);
+            ca.aload(0);
+            ca.iconst(getMethodIdentifierIndex(superclassMethod));
+            loadMethodIdentifier(superclassMethod, method);
+            final String[] params = method.getParameters();
+            final String argument;
+            if (params.length == 0) {
+                argument = "0";
+            } else if (params.length > 1) {
+                argument = null;
+            } else {
+                switch (params[0].charAt(0)) {
+                    case 'Z':
+                    case 'B':
+                    case 'S':
+                    case 'C':
+                    case 'I':
+                        ca.iload(1);
+                        argument = "I";
+                        break;
+                    case 'J':
+                        ca.lload(1);
+                        argument = "J";
+                        break;
+                    case 'F':
+                        ca.fload(1);
+                        ca.f2d();
+                        argument = "D";
+                        break;
+                    case 'D':
+                        ca.dload(1);
+                        argument = "D";
+                        break;
+                    default:
+                        ca.aload(1);
+                        argument = "L";
+                        break;
+                }
+            }
+            final Class<?> returnType = superclassMethod.getReturnType();
+            if (argument == null) {
+                // no specialized entry point
+                loadParameterArray(ca, params);
+                ca.invokevirtual(ProxyDispatcher.class.getName(), "invoke",
+                        "(Ljava/lang/Object;ILjava/lang/reflect/Method;[Ljava/lang/Object;)Ljava/lang/Object;");
+                if (returnType != void.class) {
+                    if (returnType.isPrimitive()) {
+                        Boxing.unbox(ca, method.getReturnType());
+                    } else {
+                        ca.checkcast(returnType.getName());
+                    }
+                }
+                ca.returnInstruction();
+                return;
+            }
+            final String argumentDescriptor = "0".equals(argument) ? "" : "L".equals(argument) ? "Ljava/lang/Object;" : argument;
+            final String prefix = "(Ljava/lang/Object;ILjava/lang/reflect/Method;" + argumentDescriptor + ")";
+            final String dispatcher = ProxyDispatcher.class.getName();
+            if (returnType == void.class) {
+                ca.invokevirtual(dispatcher, "invoke" + argument, prefix + "Ljava/lang/Object;");
+                ca.pop();
+            } else if (! returnType.isPrimitive()) {
+                ca.invokevirtual(dispatcher, "invoke" + argument, prefix + "Ljava/lang/Object;");
+                ca.checkcast(returnType.getName());
+            } else if (returnType == long.class) {
+                ca.invokevirtual(dispatcher, "invokeLong" + argument, prefix + "J");
+            } else if (returnType == double.class) {
+                ca.invokevirtual(dispatcher, "invokeDouble" + argument, prefix + "D");
+            } else if (returnType == float.class) {
+                ca.invokevirtual(dispatcher, "invokeDouble" + argument, prefix + "D");
+                ca.d2f();
+            } else {
+                ca.invokevirtual(dispatcher, "invokeInt" + argument, prefix + "I");
+                if (returnType == boolean.class) {
+                    // any non-zero value is true
+                    BranchEnd isFalse = ca.ifeq();
+                    ca.iconst(1);
+                    ca.returnInstruction();
+                    ca.branchEnd(isFalse);
+                    ca.iconst(0);
+                } else if (returnType == byte.class) {
+                    ca.i2b();
+                } else if (returnType == short.class) {
+                    ca.i2s();
+                } else if (returnType == char.class) {
+                    ca.i2c();
+                }
+            }
+            ca.returnInstruction();
+        }
+
+        private void loadParameterArray(CodeAttribute ca, String[] params) {
             ca.iconst(params.length);
             ca.anewarray("java/lang/Object");
             int loadPosition = 1;
@@ -152,17 +267,6 @@ public class ProxyFactory<T> extends AbstractProxyFactory<T> {
                 ca.aastore();
                 loadPosition++;
             }
-            ca.invokeinterface(InvocationHandler.class.getName(), "invoke",
-                    "(Ljava/lang/Object;Ljava/lang/reflect/Method;[Ljava/lang/Object;)Ljava/lang/Object;");
-
-            if (superclassMethod.getReturnType() != void.class) {
-                if (superclassMethod.getReturnType().isPrimitive()) {
-                    Boxing.unbox(ca, method.getReturnType());
-                } else {
-                    ca.checkcast(superclassMethod.getReturnType().getName());
-                }
-            }
-            ca.returnInstruction();
         }
     }
 
@@ -242,20 +346,201 @@ public class ProxyFactory<T> extends AbstractProxyFactory<T> {
      */
     private final Class<?>[] additionalInterfaces;
 
+    /**
+     * Whether proxy methods dispatch to a {@link ProxyDispatcher} through typed entry points.
+     */
+    private final boolean typedDispatch;
+
     /**
      * The type of {@link SerializableProxy} to generate from the writeReplace method.
      */
     private Class<? extends SerializableProxy> serializableProxyClass;
 
+    /**
+     * Whether the proxy class is defined as a hidden class.
+     */
+    private final boolean hiddenClass;
+
+    /**
+     * Whether the proxy class is a nestmate of the hidden class lookup class.
+     */
+    private final boolean hiddenClassNestmate;
+
+    /**
+     * The lookup class and access modes of the hidden class lookup, which are part of the key of a shared proxy class.
+     */
+    private final String hiddenClassLookup;
+
+    /**
+     * Whether the proxy class may be shared with other proxy factories.
+     */
+    private final boolean shareProxyClass;
+
+    /**
+     * The metadata source, class factory and protection domain, which are part of the key of a shared proxy class.
+     */
+    private final Object[] sharingIdentities;
+
+    /**
+     * The shared proxy class, if any.
+     */
+    private volatile Class<? extends T> sharedClass;
+
     /**
      * Construct a new instance.
      *
      * @param proxyConfiguration The configuration to use to build the proxy
      */
     public ProxyFactory(ProxyConfiguration<T> proxyConfiguration) {
-        super(proxyConfiguration.getProxyName(), proxyConfiguration.getSuperClass(), proxyConfiguration.getClassLoader(),
-              proxyConfiguration.getClassFactory(), proxyConfiguration.getProtectionDomain(), proxyConfiguration.getMetadataSource());
+        super(proxyConfiguration.getProxyName(), proxyConfiguration.getSuperClass(), getClassLoader(proxyConfiguration),
+              getClassFactory(proxyConfiguration), proxyConfiguration.getProtectionDomain(), proxyConfiguration.getMetadataSource());
         this.additionalInterfaces = proxyConfiguration.getAdditionalInterfaces().toArray(NO_CLASSES);
+        this.typedDispatch = proxyConfiguration.isTypedDispatch();
+        this.hiddenClass = proxyConfiguration.getHiddenClassLookup() != null;
+        this.shareProxyClass = proxyConfiguration.isShareProxyClass();
+        this.sharingIdentities = shareProxyClass ? new Object[] { reflectionMetadataSource, proxyConfiguration.getClassFactory(),
+                proxyConfiguration.getProtectionDomain() } : null;
+        this.hiddenClassNestmate = proxyConfiguration.isHiddenClassNestmate();
+        final MethodHandles.Lookup lookup = proxyConfiguration.getHiddenClassLookup();
+        // lookups are created per caller, so equal lookups are matched by what they can access rather than identity
+        this.hiddenClassLookup = lookup == null ? null : lookup.lookupClass().getName() + "," + lookup.lookupModes();
+    }
+
+    private static ClassLoader getClassLoader(ProxyConfiguration<?> proxyConfiguration) {
+        final MethodHandles.Lookup lookup = proxyConfiguration.getHiddenClassLookup();
+        final ClassLoader classLoader = proxyConfiguration.getClassLoader();
+        if (lookup == null) {
+            return classLoader;
+        }
+        // hidden classes are defined in the class loader of the lookup class
+        final ClassLoader lookupClassLoader = lookup.lookupClass().getClassLoader();
+        if (classLoader != null && classLoader != lookupClassLoader) {
+            throw new IllegalArgumentException("ClassLoader of proxy " + proxyConfiguration.getProxyName()
+                    + " must be the class loader of the hidden class lookup " + lookup);
+        }
+        return lookupClassLoader;
+    }
+
+    private static ClassFactory getClassFactory(ProxyConfiguration<?> proxyConfiguration) {
+        final MethodHandles.Lookup lookup = proxyConfiguration.getHiddenClassLookup();
+        return lookup == null ? proxyConfiguration.getClassFactory() : new HiddenClassFactory(lookup, proxyConfiguration.isHiddenClassNestmate());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Proxies which are hidden classes cannot be found by name, so they are never looked up.  A proxy class which was
+     * {@linkplain ProxyGenerator generated ahead of time} is only used if the signature it was generated with matches
+     * the current signature of the proxy; otherwise the proxy is generated again.
+     */
+    @Override
+    protected Class<?> findDefinedClass() {
+        if (hiddenClass) {
+            return null;
+        }
+        final String className = getClassName();
+        // only classes listed in an index were generated ahead of time, so the others have no signature to look for
+        final URL resource = ProxyGenerator.isIndexed(getClassLoader(), className)
+                ? getClassLoader().getResource(className.replace('.', '/') + ProxyGenerator.SIGNATURE_SUFFIX) : null;
+        if (resource == null) {
+            return super.findDefinedClass();
+        }
+        // an unreadable signature is treated as a mismatch
+        if (! getSignature().equals(ProxyGenerator.readResource(resource))) {
+            // the superclass or interfaces have changed since the class was generated
+            return null;
+        }
+        final Class<?> clazz = super.findDefinedClass();
+        if (clazz != null) {
+            loadCachedMethods(clazz);
+        }
+        return clazz;
+    }
+
+    /**
+     * Get the signature of the proxy class, which is compared with the signature of a class generated ahead of time.
+     *
+     * @return the signature
+     */
+    String getSignature() {
+        final String settings = getClass().getName() + ',' + typedDispatch + ','
+                + (serializableProxyClass == null ? "" : serializableProxyClass.getName());
+        return ProxySignature.compute(settings, getSuperClass(), additionalInterfaces, reflectionMetadataSource);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the proxy class is {@linkplain ProxyConfiguration#setShareProxyClass(boolean) shared}, the class is taken from
+     * the shared cache, where it may have been generated by another factory.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<? extends T> defineClass() {
+        if (! shareProxyClass) {
+            return super.defineClass();
+        }
+        Class<? extends T> sharedClass = this.sharedClass;
+        if (sharedClass == null) {
+            synchronized (this) {
+                sharedClass = this.sharedClass;
+                if (sharedClass == null) {
+                    final boolean[] generated = new boolean[1];
+                    sharedClass = (Class<? extends T>) ProxyClassCache.get(getClassLoader(), getSharingKey(), () -> {
+                        generated[0] = true;
+                        return ProxyFactory.super.defineClass();
+                    });
+                    if (! generated[0]) {
+                        // generated by another factory
+                        loadCachedMethods(sharedClass);
+                    }
+                    this.sharedClass = sharedClass;
+                }
+            }
+        }
+        return sharedClass;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the proxy class is {@linkplain ProxyConfiguration#setShareProxyClass(boolean) shared}, this is the name of the
+     * class once it is defined, which is the proxy name of the factory which generated it; until then, it is the proxy
+     * name of this factory.
+     */
+    @Override
+    public String getClassName() {
+        final Class<? extends T> sharedClass = this.sharedClass;
+        return sharedClass == null ? super.getClassName() : sharedClass.getName();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the proxy class is {@linkplain ProxyConfiguration#setShareProxyClass(boolean) shared}, a class which another
+     * factory has generated for the same key in the given class loader also counts as defined.
+     */
+    @Override
+    public boolean isProxyClassDefined(final ClassLoader classLoader) {
+        if (shareProxyClass && (sharedClass != null && sharedClass.getClassLoader() == classLoader
+                || ProxyClassCache.find(classLoader, getSharingKey()) != null)) {
+            return true;
+        }
+        return super.isProxyClassDefined(classLoader);
+    }
+
+    private ProxyClassCache.Key getSharingKey() {
+        final String[] names = new String[additionalInterfaces.length + 5];
+        // the factory class, as subclasses may generate other classes
+        names[0] = getClass().getName();
+        names[1] = getSuperClassName();
+        names[2] = serializableProxyClass == null ? null : serializableProxyClass.getName();
+        names[3] = typedDispatch + "," + hiddenClassNestmate;
+        names[4] = hiddenClassLookup;
+        for (int i = 0; i < additionalInterfaces.length; i++) {
+            names[i + 5] = additionalInterfaces[i].getName();
+        }
+        return new ProxyClassCache.Key(names, sharingIdentities);
     }
 
     /**
@@ -275,7 +560,7 @@ public class ProxyFactory<T> extends AbstractProxyFactory<T> {
     /** {@inheritDoc} */
     @Override
     protected void generateClass() {
-        classFile.addField(AccessFlag.PRIVATE, INVOCATION_HANDLER_FIELD, InvocationHandler.class);
+        classFile.addField(AccessFlag.PRIVATE, INVOCATION_HANDLER_FIELD, typedDispatch ? ProxyDispatcher.class : InvocationHandler.class);
         classFile.addField(AccessFlag.PRIVATE, CONSTRUCTED_GUARD, "Z");
         if (serializableProxyClass != null) {
             createWriteReplace();
@@ -377,7 +662,7 @@ public class ProxyFactory<T> extends AbstractProxyFactory<T> {
     public void setInvocationHandler(Object proxy, InvocationHandler handler) {
         Field field = getInvocationHandlerField();
         try {
-            field.set(proxy, handler);
+            field.set(proxy, typedDispatch ? ProxyDispatcher.of(handler) : handler);
         } catch (IllegalArgumentException e) {
             throw new RuntimeException(e);
         } catch (IllegalAccessException e) {
@@ -394,7 +679,7 @@ public class ProxyFactory<T> extends AbstractProxyFactory<T> {
     public InvocationHandler getInvocationHandler(Object proxy) {
         Field field = getInvocationHandlerField();
         try {
-            return (InvocationHandler) field.get(proxy);
+            return unwrap(field.get(proxy));
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Object is not a proxy of correct type", e);
         } catch (IllegalAccessException e) {
@@ -414,7 +699,7 @@ public class ProxyFactory<T> extends AbstractProxyFactory<T> {
         try {
             final Field field = proxy.getClass().getDeclaredField(INVOCATION_HANDLER_FIELD);
             AccessController.doPrivileged(new SetAccessiblePrivilege(field));
-            field.set(proxy, handler);
+            field.set(proxy, field.getType() == ProxyDispatcher.class ? ProxyDispatcher.of(handler) : handler);
         } catch (NoSuchFieldException e) {
             throw new RuntimeException("Could not find invocation handler on generated proxy", e);
         } catch (IllegalArgumentException e) {
@@ -436,7 +721,7 @@ public class ProxyFactory<T> extends AbstractProxyFactory<T> {
         try {
             final Field field = proxy.getClass().getDeclaredField(INVOCATION_HANDLER_FIELD);
             AccessController.doPrivileged(new SetAccessiblePrivilege(field));
-            return (InvocationHandler) field.get(proxy);
+            return unwrap(field.get(proxy));
         } catch (NoSuchFieldException e) {
             throw new RuntimeException("Could not find invocation handler on generated proxy", e);
         } catch (IllegalArgumentException e) {
@@ -446,6 +731,10 @@ public class ProxyFactory<T> extends AbstractProxyFactory<T> {
         }
     }
 
+    private static InvocationHandler unwrap(Object handler) {
+        return handler instanceof ProxyDispatcher ? ProxyDispatcher.unwrap((ProxyDispatcher) handler) : (InvocationHandler) handler;
+    }
+
     private static class SetAccessiblePrivilege implements PrivilegedAction<Void> {
         private final AccessibleObject object;
 
@@ -0,0 +1,210 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.proxy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+/**
+ * Generates proxy classes ahead of time, so that {@link ProxyFactory} loads them instead of generating them at run
+ * time.  For each proxy, the class file is written along with a {@code .signature} resource which holds the
+ * signature of the superclass and interfaces at build time; at run time, the class file is only used if the signature
+ * still matches, and the proxy is generated as usual otherwise.  The factory which uses the class must have the same
+ * configuration as the one it was generated with, including the proxy name and class loader visibility.  The names of
+ * the generated classes are also listed in an {@linkplain #INDEX_RESOURCE index}, which is read once per class loader,
+ * so that factories of proxies which were not generated ahead of time do not look for a signature.
+ * <p>
+ * The generator can be run after compilation, for example with the {@code java} goal of the
+ * {@code exec-maven-plugin} in the {@code process-classes} phase, with the output directory set to
+ * {@code ${project.build.outputDirectory}}:
+ *
+ * <pre>
+ * java org.jboss.invocation.proxy.ProxyGenerator [--typed-dispatch] [--serializable-proxy=&lt;class&gt;] \
+ *     &lt;output-directory&gt; &lt;superclass&gt;=&lt;proxy-name&gt;[,&lt;interface&gt;...] ...
+ * </pre>
+ *
+ * Classes are loaded through the thread context class loader.
+ */
+public final class ProxyGenerator {
+
+    /**
+     * The suffix of the resource which holds the signature of a class generated ahead of time.
+     */
+    public static final String SIGNATURE_SUFFIX = ".signature";
+
+    /**
+     * The resource which lists the names of the classes generated ahead of time, one per line.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/org.jboss.invocation.proxies";
+
+    private static final Map<ClassLoader, Set<String>> INDEXES = new WeakHashMap<>();
+
+    private ProxyGenerator() {
+    }
+
+    /**
+     * Generate the class of a proxy factory and write it to an output directory.  The factory cannot define its class
+     * afterwards.
+     *
+     * @param factory the proxy factory
+     * @param outputDirectory the root directory of the class files
+     * @return the path of the class file
+     * @throws IOException if the class could not be written
+     */
+    public static Path generate(final ProxyFactory<?> factory, final Path outputDirectory) throws IOException {
+        final String signature = factory.getSignature();
+        final byte[] bytes = factory.toPrebuiltBytecode();
+        final String path = factory.getClassName().replace('.', '/');
+        final Path classFile = outputDirectory.resolve(path + ".class");
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, bytes);
+        Files.write(outputDirectory.resolve(path + SIGNATURE_SUFFIX), signature.getBytes(StandardCharsets.UTF_8));
+        final Path index = outputDirectory.resolve(INDEX_RESOURCE);
+        final Set<String> names = new TreeSet<>();
+        if (Files.exists(index)) {
+            names.addAll(Files.readAllLines(index, StandardCharsets.UTF_8));
+        } else {
+            Files.createDirectories(index.getParent());
+        }
+        names.add(factory.getClassName());
+        Files.write(index, names, StandardCharsets.UTF_8);
+        return classFile;
+    }
+
+    /**
+     * Determine whether a class is listed as generated ahead of time in an index visible to a class loader.  The
+     * indexes of each class loader are read on first use.
+     *
+     * @param classLoader the class loader
+     * @param name the name of the class
+     * @return {@code true} if the class is listed
+     */
+    static boolean isIndexed(final ClassLoader classLoader, final String name) {
+        if (classLoader == null) {
+            return false;
+        }
+        Set<String> names;
+        synchronized (INDEXES) {
+            names = INDEXES.get(classLoader);
+        }
+        if (names == null) {
+            names = readIndexes(classLoader);
+            synchronized (INDEXES) {
+                INDEXES.put(classLoader, names);
+            }
+        }
+        return names.contains(name);
+    }
+
+    private static Set<String> readIndexes(final ClassLoader classLoader) {
+        final Set<String> names = new HashSet<>();
+        try {
+            final Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+            while (resources.hasMoreElements()) {
+                final String index = readResource(resources.nextElement());
+                if (index != null) {
+                    names.addAll(Arrays.asList(index.split("\\s+")));
+                }
+            }
+        } catch (IOException e) {
+            // classes which cannot be listed are generated at run time
+        }
+        return names.isEmpty() ? Collections.<String>emptySet() : names;
+    }
+
+    /**
+     * Read a resource as trimmed UTF-8 text.
+     *
+     * @param resource the resource
+     * @return the text, or {@code null} if the resource could not be read
+     */
+    static String readResource(final URL resource) {
+        try (InputStream stream = resource.openStream()) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Generate the proxy classes given on the command line.
+     *
+     * @param args the command line arguments
+     * @throws Exception if a class could not be loaded or written
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static void main(final String[] args) throws Exception {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        boolean typedDispatch = false;
+        Class<? extends SerializableProxy> serializableProxyClass = null;
+        final List<String> specs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--typed-dispatch")) {
+                typedDispatch = true;
+            } else if (arg.startsWith("--serializable-proxy=")) {
+                serializableProxyClass = Class.forName(arg.substring("--serializable-proxy=".length()), false, classLoader)
+                        .asSubclass(SerializableProxy.class);
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            } else {
+                specs.add(arg);
+            }
+        }
+        if (specs.size() < 2) {
+            throw new IllegalArgumentException("Usage: ProxyGenerator [--typed-dispatch] [--serializable-proxy=<class>] "
+                    + "<output-directory> <superclass>=<proxy-name>[,<interface>...] ...");
+        }
+        final Path outputDirectory = Paths.get(specs.get(0));
+        for (String spec : specs.subList(1, specs.size())) {
+            final int eq = spec.indexOf('=');
+            if (eq == -1) {
+                throw new IllegalArgumentException("Proxy " + spec + " must be given as <superclass>=<proxy-name>");
+            }
+            final String[] names = spec.substring(eq + 1).split(",");
+            final ProxyConfiguration configuration = new ProxyConfiguration()
+                    .setSuperClass(Class.forName(spec.substring(0, eq), false, classLoader))
+                    .setProxyName(names[0])
+                    .setClassLoader(classLoader)
+                    .setTypedDispatch(typedDispatch);
+            for (int i = 1; i < names.length; i++) {
+                configuration.addAdditionalInterface(Class.forName(names[i], false, classLoader));
+            }
+            final ProxyFactory<?> factory = new ProxyFactory<>(configuration);
+            if (serializableProxyClass != null) {
+                factory.setSerializableProxyClass(serializableProxyClass);
+            }
+            generate(factory, outputDirectory);
+        }
+    }
+}
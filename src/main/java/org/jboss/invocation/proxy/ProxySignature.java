@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.proxy;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.invocation.proxy.classloading.MethodStore;
+import org.jboss.invocation.proxy.reflection.ClassMetadataSource;
+import org.jboss.invocation.proxy.reflection.ReflectionMetadataSource;
+
+/**
+ * The signature of a proxy class, which is a hash of everything the generated class depends on: the settings of the
+ * factory, the additional interfaces in order, the classes of the superclass hierarchy and the interfaces they
+ * implement, and the modifiers and descriptors of the methods and constructors of those classes, as seen through the
+ * metadata source.  A class generated ahead of time is only used if the signature it
+ * was generated with equals the signature at run time.
+ */
+final class ProxySignature {
+
+    private ProxySignature() {
+    }
+
+    /**
+     * Compute the signature of a proxy class.
+     *
+     * @param settings the settings of the factory which affect the generated class
+     * @param superClass the superclass of the proxy
+     * @param interfaces the additional interfaces of the proxy
+     * @param metadataSource the metadata source used to generate the proxy
+     * @return the signature, as a hexadecimal string
+     */
+    static String compute(final String settings, final Class<?> superClass, final Class<?>[] interfaces, final ReflectionMetadataSource metadataSource) {
+        final List<String> lines = new ArrayList<>();
+        final Deque<Class<?>> pending = new ArrayDeque<>();
+        final Set<Class<?>> visited = new HashSet<>();
+        for (Class<?> c = superClass; c != null; c = c.getSuperclass()) {
+            pending.add(c);
+        }
+        Collections.addAll(pending, interfaces);
+        Class<?> c;
+        while ((c = pending.poll()) != null) {
+            if (! visited.add(c)) {
+                continue;
+            }
+            Collections.addAll(pending, c.getInterfaces());
+            // classes without methods change the hierarchy as well
+            lines.add(c.getName());
+            final ClassMetadataSource data = metadataSource.getClassMetadata(c);
+            final String prefix = c.getName() + '#';
+            for (Method method : data.getDeclaredMethods()) {
+                lines.add(prefix + method.getModifiers() + ' ' + method.getName() + MethodStore.getDescriptor(method));
+            }
+            if (c == superClass) {
+                for (Constructor<?> constructor : data.getConstructors()) {
+                    final StringBuilder b = new StringBuilder(prefix).append(constructor.getModifiers()).append(" <init>(");
+                    for (Class<?> type : constructor.getParameterTypes()) {
+                        b.append(type.getName()).append(',');
+                    }
+                    lines.add(b.append(')').toString());
+                }
+            }
+        }
+        // metadata sources need not return members in a stable order
+        Collections.sort(lines);
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(settings.getBytes(StandardCharsets.UTF_8));
+        // the order of the interfaces is the order of the interfaces of the generated class
+        for (Class<?> type : interfaces) {
+            digest.update((byte) ',');
+            digest.update(type.getName().getBytes(StandardCharsets.UTF_8));
+        }
+        for (String line : lines) {
+            digest.update((byte) '\n');
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+        }
+        final StringBuilder b = new StringBuilder();
+        for (byte v : digest.digest()) {
+            b.append(Character.forDigit((v >> 4) & 0xf, 16)).append(Character.forDigit(v & 0xf, 16));
+        }
+        return b.toString();
+    }
+}
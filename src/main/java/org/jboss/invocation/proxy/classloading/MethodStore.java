@@ -18,6 +18,8 @@
 package org.jboss.invocation.proxy.classloading;
 
 import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -29,4 +31,94 @@ public class MethodStore {
 
     public static final Map<ClassIdentifier, Method[]> METHODS = Collections.synchronizedMap(new HashMap<ClassIdentifier, Method[]>());
 
+    /**
+     * Resolves the methods of a proxy class which was generated ahead of time, and so cannot take its methods from
+     * {@link #METHODS}.  Called from the static initializer of such classes.
+     *
+     * @param proxyClass the proxy class
+     * @param methods the methods, separated by newlines, each as the declaring class name, {@code #}, the method name and
+     *        the method descriptor
+     * @return the accessible methods, in the given order
+     * @throws NoSuchMethodError if a method does not exist
+     */
+    public static Method[] resolveMethods(final Class<?> proxyClass, final String methods) {
+        final String[] specs = methods.isEmpty() ? new String[0] : methods.split("\n");
+        final Method[] result = new Method[specs.length];
+        for (int i = 0; i < specs.length; i++) {
+            final String spec = specs[i];
+            final int hash = spec.indexOf('#');
+            final int paren = spec.indexOf('(', hash);
+            final String name = spec.substring(hash + 1, paren);
+            final String descriptor = spec.substring(paren);
+            final Class<?> declaringClass;
+            try {
+                declaringClass = Class.forName(spec.substring(0, hash), false, proxyClass.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                final NoClassDefFoundError error = new NoClassDefFoundError(e.getMessage());
+                error.initCause(e);
+                throw error;
+            }
+            for (Method method : declaringClass.getDeclaredMethods()) {
+                if (method.getName().equals(name) && getDescriptor(method).equals(descriptor)) {
+                    result[i] = method;
+                    break;
+                }
+            }
+            if (result[i] == null) {
+                throw new NoSuchMethodError(spec);
+            }
+        }
+        AccessController.doPrivileged(new PrivilegedAction<Object>() {
+            @Override
+            public Object run() {
+                for (Method method : result) {
+                    method.setAccessible(true);
+                }
+                return null;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Get the descriptor of a method.
+     *
+     * @param method the method
+     * @return the method descriptor
+     */
+    public static String getDescriptor(final Method method) {
+        final StringBuilder b = new StringBuilder("(");
+        for (Class<?> type : method.getParameterTypes()) {
+            appendDescriptor(b, type);
+        }
+        b.append(')');
+        appendDescriptor(b, method.getReturnType());
+        return b.toString();
+    }
+
+    private static void appendDescriptor(final StringBuilder b, final Class<?> type) {
+        if (type.isArray()) {
+            b.append(type.getName().replace('.', '/'));
+        } else if (! type.isPrimitive()) {
+            b.append('L').append(type.getName().replace('.', '/')).append(';');
+        } else if (type == void.class) {
+            b.append('V');
+        } else if (type == boolean.class) {
+            b.append('Z');
+        } else if (type == byte.class) {
+            b.append('B');
+        } else if (type == char.class) {
+            b.append('C');
+        } else if (type == short.class) {
+            b.append('S');
+        } else if (type == int.class) {
+            b.append('I');
+        } else if (type == long.class) {
+            b.append('J');
+        } else if (type == float.class) {
+            b.append('F');
+        } else {
+            b.append('D');
+        }
+    }
 }
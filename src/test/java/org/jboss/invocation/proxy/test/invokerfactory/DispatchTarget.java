@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.proxy.test.invokerfactory;
+
+import java.io.IOException;
+
+public class DispatchTarget extends DispatchParent implements DispatchInterface {
+
+    private int count;
+
+    @Override
+    public String name() {
+        return "target";
+    }
+
+    public String describe(final String prefix) {
+        return prefix + count;
+    }
+
+    public long add(final int a, final long b, final double c) {
+        return a + b + (long) c;
+    }
+
+    public void increment() {
+        count++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Object[] wrap(final Object[] values, final boolean flag) {
+        return flag ? values : null;
+    }
+
+    public void fail() throws IOException {
+        throw new IOException("failed");
+    }
+
+    public static String staticMethod() {
+        return "static";
+    }
+}
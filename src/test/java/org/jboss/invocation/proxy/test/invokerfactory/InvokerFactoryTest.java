@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.proxy.test.invokerfactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.jboss.invocation.proxy.Invoker;
+import org.jboss.invocation.proxy.InvokerFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InvokerFactoryTest {
+
+    private final InvokerFactory<DispatchTarget> invokerFactory = new InvokerFactory<DispatchTarget>(DispatchTarget.class, null);
+
+    private Object invoke(Object target, String name, Object... args) throws Exception {
+        for (Method method : invokerFactory.getMethods()) {
+            if (method.getName().equals(name)) {
+                return invokerFactory.getInvoker().invoke(invokerFactory.getMethodIndex(method), target, args);
+            }
+        }
+        throw new NoSuchMethodException(name);
+    }
+
+    @Test
+    public void testInvoke() throws Exception {
+        final DispatchTarget target = new DispatchTarget();
+        Assert.assertEquals(Long.valueOf(6L), invoke(target, "add", 1, 2L, 3.5));
+        Assert.assertNull(invoke(target, "increment"));
+        Assert.assertEquals(Integer.valueOf(1), invoke(target, "getCount"));
+        Assert.assertEquals("x1", invoke(target, "describe", "x"));
+        final Object[] values = { "a" };
+        Assert.assertSame(values, invoke(target, "wrap", values, true));
+        Assert.assertEquals(Integer.valueOf(4), invoke(target, "packagePrivate", 2));
+        Assert.assertEquals("hello", invoke(target, "greet"));
+    }
+
+    @Test
+    public void testMethodIndices() throws Exception {
+        final int index = invokerFactory.getMethodIndex(DispatchParent.class.getMethod("name"));
+        Assert.assertEquals(index, invokerFactory.getMethodIndex(DispatchTarget.class.getMethod("name")));
+        Assert.assertEquals("target", invokerFactory.getInvoker().invoke(index, new DispatchTarget(), null));
+        Assert.assertEquals(invokerFactory.getMethodIndex(DispatchTarget.class.getMethod("describe", String.class)),
+                invokerFactory.getMethodIndex(DispatchInterface.class.getMethod("describe", String.class)));
+        Assert.assertEquals(-1, invokerFactory.getMethodIndex(DispatchTarget.class.getMethod("staticMethod")));
+        Assert.assertEquals(-1, invokerFactory.getMethodIndex(DispatchParent.class.getDeclaredMethod("hidden")));
+        for (int i = 0; i < invokerFactory.getMethods().size(); i++) {
+            Assert.assertEquals(i, invokerFactory.getMethodIndex(invokerFactory.getMethods().get(i)));
+        }
+    }
+
+    @Test
+    public void testException() throws Exception {
+        try {
+            invoke(new DispatchTarget(), "fail");
+            Assert.fail("Expected exception");
+        } catch (IOException e) {
+            Assert.assertEquals("failed", e.getMessage());
+        }
+        final Invoker invoker = invokerFactory.getInvoker();
+        try {
+            invoker.invoke(invokerFactory.getMethods().size(), new DispatchTarget(), null);
+            Assert.fail("Expected exception");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testArgumentErrors() throws Exception {
+        final DispatchTarget target = new DispatchTarget();
+        final Object[][] cases = {
+            { target, "add", new Object[] { 1, 2L } },
+            { target, "add", null },
+            { target, "add", new Object[] { 1, "2", 3.5 } },
+            { target, "add", new Object[] { null, 2L, 3.5 } },
+            { target, "describe", new Object[] { 1 } },
+            { target, "greet", new Object[] { "extra" } },
+            { new Object(), "greet", null },
+        };
+        for (Object[] c : cases) {
+            try {
+                invoke(c[0], (String) c[1], (Object[]) c[2]);
+                Assert.fail("Expected exception for " + c[1]);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        Assert.assertEquals("hello", invoke(target, "greet", new Object[0]));
+        try {
+            invoke(null, "greet");
+            Assert.fail("Expected exception");
+        } catch (NullPointerException expected) {
+        }
+    }
+
+    /**
+     * Primitive parameters accept exactly the arguments which reflection accepts: the wrapper of the type, or of a type
+     * which widens to it.
+     */
+    @Test
+    public void testArgumentConversions() throws Exception {
+        final Method method = DispatchTarget.class.getMethod("add", int.class, long.class, double.class);
+        final Object[] values = { Byte.valueOf((byte) 1), Short.valueOf((short) 1), Character.valueOf('\u0001'), Integer.valueOf(1),
+                Long.valueOf(1L), Float.valueOf(1.5f), Double.valueOf(1.5), Boolean.TRUE };
+        final Invoker invoker = invokerFactory.getInvoker();
+        final int index = invokerFactory.getMethodIndex(method);
+        for (int position = 0; position < 3; position++) {
+            for (Object value : values) {
+                final Object[] args = { 1, 1L, 1.0 };
+                args[position] = value;
+                Object expected;
+                try {
+                    expected = method.invoke(new DispatchTarget(), args);
+                } catch (IllegalArgumentException e) {
+                    expected = IllegalArgumentException.class;
+                }
+                Object actual;
+                try {
+                    actual = invoker.invoke(index, new DispatchTarget(), args);
+                } catch (IllegalArgumentException e) {
+                    actual = IllegalArgumentException.class;
+                }
+                Assert.assertEquals(value + " at " + position, expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testDispatchingInterceptor() throws Exception {
+        final DispatchTarget target = new DispatchTarget();
+        final InterceptorContext context = new InterceptorContext();
+        context.setInterceptors(new org.jboss.invocation.Interceptor[] { Interceptors.getDispatchingInterceptor(invokerFactory) });
+        context.setTarget(target);
+        context.setMethod(DispatchInterface.class.getMethod("describe", String.class));
+        context.setParameters(new Object[] { "n" });
+        Assert.assertEquals("n0", context.proceed());
+        // static methods are not dispatched by the invoker
+        context.setMethod(DispatchTarget.class.getMethod("staticMethod"));
+        context.setParameters(new Object[0]);
+        Assert.assertEquals("static", context.proceed());
+        context.setMethod(null);
+        Assert.assertNull(context.proceed());
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.proxy.test.proxyfactory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
+
+import org.jboss.invocation.proxy.ProxyConfiguration;
+import org.jboss.invocation.proxy.ProxyFactory;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class HiddenClassProxyTest {
+
+    @BeforeClass
+    public static void checkSupported() {
+        boolean supported;
+        try {
+            Class.class.getMethod("isHidden");
+            supported = true;
+        } catch (NoSuchMethodException e) {
+            supported = false;
+        }
+        assumeTrue("hidden classes are not supported", supported);
+    }
+
+    private static ProxyFactory<SimpleClass> createFactory(final String name, final boolean nestmate) {
+        return new ProxyFactory<>(new ProxyConfiguration<SimpleClass>()
+                .setSuperClass(SimpleClass.class)
+                .setProxyName(SimpleClass.class.getPackage(), name)
+                .setHiddenClassLookup(MethodHandles.lookup(), nestmate));
+    }
+
+    private static boolean isHidden(final Class<?> clazz) throws Exception {
+        return (Boolean) Class.class.getMethod("isHidden").invoke(clazz);
+    }
+
+    @Test
+    public void testHiddenClass() throws Exception {
+        final ProxyFactory<SimpleClass> factory = createFactory("SimpleClass$$HiddenProxy", false);
+        final SimpleInvocationHandler handler = new SimpleInvocationHandler();
+        final SimpleClass proxy = factory.newInstance(handler);
+        final Class<?> proxyClass = proxy.getClass();
+
+        assertTrue(isHidden(proxyClass));
+        assertTrue(proxyClass.getName().startsWith(factory.getClassName() + "/"));
+        assertSame(SimpleClass.class.getClassLoader(), proxyClass.getClassLoader());
+        assertSame(proxyClass, proxyClass.getNestHost());
+        assertFalse(factory.isProxyClassDefined());
+        assertFalse(factory.getCachedMethods().isEmpty());
+        assertArrayEquals(new Object[] { 1L, 2.0, null, null }, proxy.method2(1, 2, null, null));
+        assertSame(handler, ProxyFactory.getInvocationHandlerStatic(proxy));
+
+        // another factory with the same name defines another class
+        assertNotSame(proxyClass, createFactory("SimpleClass$$HiddenProxy", false).defineClass());
+    }
+
+    @Test
+    public void testNestmate() throws Exception {
+        final Class<?> proxyClass = createFactory("SimpleClass$$HiddenNestmateProxy", true).defineClass();
+        assertTrue(isHidden(proxyClass));
+        assertSame(HiddenClassProxyTest.class, proxyClass.getNestHost());
+    }
+
+    @Test
+    public void testShared() throws Exception {
+        // each factory is given its own lookup object for the same lookup class
+        final Class<?> proxyClass = new ProxyFactory<>(new ProxyConfiguration<SimpleClass>()
+                .setSuperClass(SimpleClass.class)
+                .setProxyName(SimpleClass.class.getPackage(), "SimpleClass$$HiddenSharedProxy1")
+                .setHiddenClassLookup(MethodHandles.lookup(), false)
+                .setShareProxyClass(true)).defineClass();
+        assertSame(proxyClass, new ProxyFactory<>(new ProxyConfiguration<SimpleClass>()
+                .setSuperClass(SimpleClass.class)
+                .setProxyName(SimpleClass.class.getPackage(), "SimpleClass$$HiddenSharedProxy2")
+                .setHiddenClassLookup(MethodHandles.lookup(), false)
+                .setShareProxyClass(true)).defineClass());
+    }
+
+    @Test
+    public void testWrongClassLoader() {
+        try {
+            new ProxyFactory<>(new ProxyConfiguration<SimpleClass>()
+                    .setSuperClass(SimpleClass.class)
+                    .setProxyName(SimpleClass.class.getPackage(), "SimpleClass$$HiddenWrongProxy")
+                    .setClassLoader(new ClassLoader(SimpleClass.class.getClassLoader()) { })
+                    .setHiddenClassLookup(MethodHandles.lookup(), false));
+        } catch (IllegalArgumentException expected) {
+            return;
+        }
+        throw new AssertionError("expected IllegalArgumentException");
+    }
+
+    @Test
+    public void testUnloading() throws Exception {
+        final WeakReference<Class<?>> ref = new WeakReference<>(createFactory("SimpleClass$$HiddenUnloadedProxy", false).defineClass());
+        for (int i = 0; i < 20 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(ref.get());
+    }
+}
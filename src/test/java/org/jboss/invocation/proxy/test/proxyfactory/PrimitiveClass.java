@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.proxy.test.proxyfactory;
+
+public class PrimitiveClass {
+
+    public long getCount() {
+        return 0;
+    }
+
+    public void add(long delta) {
+    }
+
+    public int increment() {
+        return 0;
+    }
+
+    public boolean isEnabled() {
+        return false;
+    }
+
+    public void setEnabled(boolean enabled) {
+    }
+
+    public char getLetter() {
+        return 'a';
+    }
+
+    public float scale(float factor) {
+        return factor;
+    }
+
+    public String echo(String message) {
+        return message;
+    }
+
+    public long sum(int a, long b) {
+        return a + b;
+    }
+}
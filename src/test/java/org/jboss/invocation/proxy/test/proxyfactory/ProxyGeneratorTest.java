@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.proxy.test.proxyfactory;
+
+import java.io.File;
+import java.io.Serializable;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.Collections;
+
+import org.jboss.invocation.proxy.ProxyConfiguration;
+import org.jboss.invocation.proxy.ProxyFactory;
+import org.jboss.invocation.proxy.ProxyGenerator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ProxyGeneratorTest {
+
+    private static final String PROXY_NAME = SimpleClass.class.getPackage().getName() + ".SimpleClass$$PrebuiltProxy";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static ProxyFactory<SimpleClass> createFactory(final ClassLoader classLoader) {
+        return new ProxyFactory<>(new ProxyConfiguration<SimpleClass>()
+                .setSuperClass(SimpleClass.class)
+                .setProxyName(PROXY_NAME)
+                .setClassLoader(classLoader));
+    }
+
+    private static boolean isPrebuilt(final Class<?> clazz, final File directory) throws Exception {
+        final CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+        return codeSource != null && directory.toURI().toURL().equals(codeSource.getLocation());
+    }
+
+    @Test
+    public void testPrebuilt() throws Exception {
+        final File directory = folder.getRoot();
+        final Path classFile = ProxyGenerator.generate(createFactory(SimpleClass.class.getClassLoader()), directory.toPath());
+        assertTrue(Files.exists(classFile));
+        assertEquals(Collections.singletonList(PROXY_NAME),
+                Files.readAllLines(directory.toPath().resolve(ProxyGenerator.INDEX_RESOURCE), StandardCharsets.UTF_8));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, SimpleClass.class.getClassLoader())) {
+            final ProxyFactory<SimpleClass> factory = createFactory(classLoader);
+            final SimpleInvocationHandler handler = new SimpleInvocationHandler();
+            final SimpleClass proxy = factory.newInstance(handler);
+            assertTrue(isPrebuilt(proxy.getClass(), directory));
+            assertFalse(factory.getCachedMethods().isEmpty());
+            // the handler checks that the method is accessible
+            assertArrayEquals(new Object[] { 1L, 2.0, null, null }, proxy.method2(1, 2, null, null));
+            assertSame(handler, factory.getInvocationHandler(proxy));
+        }
+    }
+
+    @Test
+    public void testDrifted() throws Exception {
+        final File directory = folder.getRoot();
+        final Path classFile = ProxyGenerator.generate(createFactory(SimpleClass.class.getClassLoader()), directory.toPath());
+        final Path signature = classFile.resolveSibling("SimpleClass$$PrebuiltProxy" + ProxyGenerator.SIGNATURE_SUFFIX);
+        assertNotEquals("0", new String(Files.readAllBytes(signature), StandardCharsets.UTF_8));
+        // as if the superclass had changed since the class was generated
+        Files.write(signature, "0".getBytes(StandardCharsets.UTF_8));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, SimpleClass.class.getClassLoader())) {
+            final ProxyFactory<SimpleClass> factory = createFactory(classLoader);
+            final SimpleClass proxy = factory.newInstance(new SimpleInvocationHandler());
+            assertFalse(isPrebuilt(proxy.getClass(), directory));
+            assertSame(classLoader, proxy.getClass().getClassLoader());
+            assertArrayEquals(new Object[] { 1L, 2.0, null, null }, proxy.method2(1, 2, null, null));
+        }
+    }
+
+    @Test
+    public void testUnindexed() throws Exception {
+        final File directory = folder.getRoot();
+        ProxyGenerator.generate(createFactory(SimpleClass.class.getClassLoader()), directory.toPath());
+        // a signature is only looked for if the class is listed in an index
+        Files.delete(directory.toPath().resolve(ProxyGenerator.INDEX_RESOURCE));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, SimpleClass.class.getClassLoader())) {
+            final ProxyFactory<SimpleClass> factory = createFactory(classLoader);
+            final SimpleClass proxy = factory.newInstance(new SimpleInvocationHandler());
+            // the class is loaded by name as before, without its signature being checked
+            assertTrue(isPrebuilt(proxy.getClass(), directory));
+        }
+    }
+
+    private String generateSignature(final Class<?>... interfaces) throws Exception {
+        final ProxyConfiguration<SimpleClass> configuration = new ProxyConfiguration<SimpleClass>()
+                .setSuperClass(SimpleClass.class)
+                .setProxyName(PROXY_NAME)
+                .setClassLoader(SimpleClass.class.getClassLoader());
+        for (Class<?> iface : interfaces) {
+            configuration.addAdditionalInterface(iface);
+        }
+        final Path classFile = ProxyGenerator.generate(new ProxyFactory<>(configuration), folder.newFolder().toPath());
+        return new String(Files.readAllBytes(classFile.resolveSibling("SimpleClass$$PrebuiltProxy" + ProxyGenerator.SIGNATURE_SUFFIX)), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testSignature() throws Exception {
+        // interfaces without methods, and the order of the interfaces, are part of the signature
+        final String signature = generateSignature();
+        final String first = generateSignature(Serializable.class, Cloneable.class);
+        final String second = generateSignature(Cloneable.class, Serializable.class);
+        assertNotEquals(signature, first);
+        assertNotEquals(first, second);
+        assertEquals(first, generateSignature(Serializable.class, Cloneable.class));
+    }
+
+    @Test
+    public void testMain() throws Exception {
+        final File directory = folder.getRoot();
+        ProxyGenerator.main(new String[] { "--typed-dispatch", directory.getPath(), SimpleClass.class.getName() + "=" + PROXY_NAME });
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, SimpleClass.class.getClassLoader())) {
+            final ProxyFactory<SimpleClass> factory = new ProxyFactory<>(new ProxyConfiguration<SimpleClass>()
+                    .setSuperClass(SimpleClass.class)
+                    .setProxyName(PROXY_NAME)
+                    .setClassLoader(classLoader)
+                    .setTypedDispatch(true));
+            final SimpleClass proxy = factory.newInstance(new SimpleInvocationHandler());
+            assertTrue(isPrebuilt(proxy.getClass(), directory));
+            assertEquals(4, proxy.method2(1, 2, null, null).length);
+        }
+    }
+}
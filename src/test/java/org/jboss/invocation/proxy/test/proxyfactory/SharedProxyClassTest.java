@@ -0,0 +1,103 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.proxy.test.proxyfactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jboss.invocation.proxy.ProxyConfiguration;
+import org.jboss.invocation.proxy.ProxyFactory;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SharedProxyClassTest {
+
+    private static ProxyFactory<SimpleClass> createFactory(final ClassLoader classLoader, final String name, final Class<?>... interfaces) {
+        final ProxyConfiguration<SimpleClass> configuration = new ProxyConfiguration<SimpleClass>()
+                .setSuperClass(SimpleClass.class)
+                .setProxyName(SimpleClass.class.getPackage(), name)
+                .setClassLoader(classLoader)
+                .setShareProxyClass(true);
+        for (Class<?> iface : interfaces) {
+            configuration.addAdditionalInterface(iface);
+        }
+        return new ProxyFactory<>(configuration);
+    }
+
+    @Test
+    public void testShared() throws Exception {
+        final ClassLoader classLoader = SimpleClass.class.getClassLoader();
+        final ProxyFactory<SimpleClass> first = createFactory(classLoader, "SimpleClass$$SharedProxy1");
+        final ProxyFactory<SimpleClass> second = createFactory(classLoader, "SimpleClass$$SharedProxy2");
+        assertFalse(second.isProxyClassDefined());
+        first.defineClass();
+        assertTrue(second.isProxyClassDefined());
+        assertSame(first.defineClass(), second.defineClass());
+        assertEquals(first.getClassName(), second.getClassName());
+        assertEquals(first.defineClass().getName(), second.getClassName());
+        assertEquals(first.getCachedMethods(), second.getCachedMethods());
+
+        final SimpleClass proxy = second.newInstance(new SimpleInvocationHandler());
+        assertArrayEquals(new Object[] { 1L, 2.0, null, null }, proxy.method2(1, 2, null, null));
+
+        // other interfaces make another class
+        final ProxyFactory<SimpleClass> serializable = createFactory(classLoader, "SimpleClass$$SharedProxy3", Serializable.class);
+        assertNotSame(first.defineClass(), serializable.defineClass());
+        // as does another class loader
+        final ProxyFactory<SimpleClass> other = createFactory(new ClassLoader(classLoader) { }, "SimpleClass$$SharedProxy4");
+        assertNotSame(first.defineClass(), other.defineClass());
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        final ClassLoader classLoader = new ClassLoader(SimpleClass.class.getClassLoader()) { };
+        final int threads = 8;
+        final CyclicBarrier barrier = new CyclicBarrier(threads);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Class<?>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                // each factory has its own name, so a class generated twice would be a different class
+                final ProxyFactory<SimpleClass> factory = createFactory(classLoader, "SimpleClass$$ConcurrentProxy" + i);
+                futures.add(executor.submit((Callable<Class<?>>) () -> {
+                    barrier.await();
+                    return factory.defineClass();
+                }));
+            }
+            final Class<?> clazz = futures.get(0).get();
+            for (Future<Class<?>> future : futures) {
+                assertSame(clazz, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.proxy.test.proxyfactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorInvocationHandler;
+import org.jboss.invocation.proxy.IndexedInvocationHandler;
+import org.jboss.invocation.proxy.ProxyConfiguration;
+import org.jboss.invocation.proxy.ProxyDispatcher;
+import org.jboss.invocation.proxy.ProxyFactory;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TypedDispatchTest {
+
+    /**
+     * Handles the counter methods through typed entry points, and records the invocations which reach the generic path.
+     */
+    static final class CounterDispatcher extends ProxyDispatcher {
+        final List<String> generic = new ArrayList<>();
+        long count;
+        boolean enabled;
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            generic.add(method.getName() + Arrays.toString(args));
+            switch (method.getName()) {
+                case "isEnabled": return enabled;
+                case "getLetter": return 'z';
+                case "scale": return (Float) args[0] * 2;
+                case "echo": return "echo " + args[0];
+                case "sum": return ((Integer) args[0]) + ((Long) args[1]);
+                default: return null;
+            }
+        }
+
+        public long invokeLong0(final Object proxy, final int methodIndex, final Method method) {
+            return count;
+        }
+
+        public Object invokeJ(final Object proxy, final int methodIndex, final Method method, final long arg) {
+            count += arg;
+            return null;
+        }
+
+        public int invokeInt0(final Object proxy, final int methodIndex, final Method method) throws Throwable {
+            if (method.getName().equals("increment")) {
+                return (int) ++count;
+            }
+            return super.invokeInt0(proxy, methodIndex, method);
+        }
+
+        public Object invokeI(final Object proxy, final int methodIndex, final Method method, final int arg) {
+            enabled = arg != 0;
+            return null;
+        }
+    }
+
+    private static ProxyFactory<PrimitiveClass> createFactory(final String name) {
+        return new ProxyFactory<>(new ProxyConfiguration<PrimitiveClass>()
+                .setSuperClass(PrimitiveClass.class)
+                .setProxyName(PrimitiveClass.class.getPackage(), name)
+                .setClassLoader(PrimitiveClass.class.getClassLoader())
+                .setTypedDispatch(true));
+    }
+
+    @Test
+    public void testTypedEntryPoints() throws Exception {
+        final ProxyFactory<PrimitiveClass> factory = createFactory("PrimitiveClass$$TypedProxy");
+        final CounterDispatcher dispatcher = new CounterDispatcher();
+        final PrimitiveClass proxy = factory.newInstance(dispatcher);
+
+        proxy.add(40);
+        assertEquals(41, proxy.increment());
+        assertEquals(41, proxy.getCount());
+        proxy.setEnabled(true);
+        assertTrue(dispatcher.enabled);
+        // isEnabled is not overridden, so the boxed result of the generic path is converted
+        dispatcher.generic.clear();
+        assertTrue(proxy.isEnabled());
+        assertEquals(1, dispatcher.generic.size());
+
+        assertEquals('z', proxy.getLetter());
+        assertEquals(3.0f, proxy.scale(1.5f), 0);
+        assertEquals("echo hi", proxy.echo("hi"));
+        assertEquals(42L, proxy.sum(40, 2));
+        assertEquals("[isEnabled[], getLetter[], scale[1.5], echo[hi], sum[40, 2]]", dispatcher.generic.toString());
+        assertSame(dispatcher, factory.getInvocationHandler(proxy));
+    }
+
+    @Test
+    public void testInvocationHandler() throws Exception {
+        final ProxyFactory<PrimitiveClass> factory = createFactory("PrimitiveClass$$TypedHandlerProxy");
+        final List<String> invocations = new ArrayList<>();
+        final InvocationHandler handler = (proxy, method, args) -> {
+            invocations.add(method.getName() + Arrays.toString(args));
+            final Class<?> returnType = method.getReturnType();
+            if (returnType == long.class) {
+                return 7L;
+            } else if (returnType == int.class) {
+                return 8;
+            } else if (returnType == boolean.class) {
+                return Boolean.TRUE;
+            } else if (returnType == char.class) {
+                return 'c';
+            } else if (returnType == float.class) {
+                return 0.5f;
+            } else if (returnType == String.class) {
+                return "result";
+            }
+            return null;
+        };
+        final PrimitiveClass proxy = factory.newInstance(handler);
+
+        assertEquals(7L, proxy.getCount());
+        proxy.add(3);
+        assertEquals(8, proxy.increment());
+        assertTrue(proxy.isEnabled());
+        proxy.setEnabled(true);
+        assertEquals('c', proxy.getLetter());
+        assertEquals(0.5f, proxy.scale(2f), 0);
+        assertEquals("result", proxy.echo("x"));
+        assertEquals(7L, proxy.sum(1, 2));
+        assertEquals("[getCount[], add[3], increment[], isEnabled[], setEnabled[true], getLetter[], scale[2.0], echo[x], sum[1, 2]]",
+                invocations.toString());
+
+        // the handler is unwrapped from its adapter
+        assertSame(handler, factory.getInvocationHandler(proxy));
+        assertSame(handler, ProxyFactory.getInvocationHandlerStatic(proxy));
+        final InvocationHandler other = (p, method, args) -> null;
+        ProxyFactory.setInvocationHandlerStatic(proxy, other);
+        assertSame(other, factory.getInvocationHandler(proxy));
+    }
+
+    @Test
+    public void testIndexedInvocationHandler() throws Exception {
+        final ProxyFactory<PrimitiveClass> factory = createFactory("PrimitiveClass$$IndexedHandlerProxy");
+        final List<Method> methods = factory.getCachedMethods();
+        final List<String> invocations = new ArrayList<>();
+        final IndexedInvocationHandler handler = new IndexedInvocationHandler() {
+            public Object invoke(final Object proxy, final int methodIndex, final Method method, final Object[] args) {
+                assertSame(methods.get(methodIndex), method);
+                invocations.add(method.getName());
+                return method.getReturnType() == String.class ? args[0] : null;
+            }
+
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                throw new IllegalStateException();
+            }
+        };
+        final PrimitiveClass proxy = factory.newInstance(handler);
+
+        proxy.setEnabled(false);
+        assertEquals("x", proxy.echo("x"));
+        assertEquals("[setEnabled, echo]", invocations.toString());
+        assertSame(handler, factory.getInvocationHandler(proxy));
+    }
+
+    @Test
+    public void testInterceptorInvocationHandler() throws Exception {
+        final ProxyFactory<PrimitiveClass> factory = createFactory("PrimitiveClass$$TypedInterceptorProxy");
+        final List<String> invocations = new ArrayList<>();
+        final Interceptor interceptor = context -> {
+            final String name = context.getMethod().getName();
+            switch (name) {
+                case "add": invocations.add(name + " " + context.getLongParameter(0)); return null;
+                case "setEnabled": invocations.add(name + " " + context.getBooleanParameter(0)); return null;
+                case "scale": return context.getFloatParameter(0) * 2;
+                case "echo": return context.getParameter(0);
+                case "sum": return context.getIntParameter(0) + context.getLongParameter(1);
+                default: throw new IllegalStateException(name);
+            }
+        };
+        for (boolean pooled : new boolean[] { false, true }) {
+            invocations.clear();
+            final PrimitiveClass proxy = factory.newInstance(new InterceptorInvocationHandler(interceptor, pooled));
+            proxy.add(3);
+            proxy.setEnabled(true);
+            assertEquals(3.0f, proxy.scale(1.5f), 0);
+            assertEquals("hi", proxy.echo("hi"));
+            assertEquals(42L, proxy.sum(40, 2));
+            assertEquals("[add 3, setEnabled true]", invocations.toString());
+        }
+    }
+
+    /**
+     * Like {@link java.lang.reflect.Proxy}, only the wrapper of the declared primitive return type is accepted.
+     */
+    @Test
+    public void testWrongResultType() throws Exception {
+        final ProxyFactory<PrimitiveClass> factory = createFactory("PrimitiveClass$$WrongResultProxy");
+        final Object[] result = new Object[1];
+        final PrimitiveClass proxy = factory.newInstance((p, method, args) -> result[0]);
+
+        result[0] = Integer.valueOf(7);
+        try {
+            proxy.getCount();
+            fail("Expected ClassCastException");
+        } catch (ClassCastException expected) {
+        }
+        try {
+            proxy.isEnabled();
+            fail("Expected ClassCastException");
+        } catch (ClassCastException expected) {
+        }
+        try {
+            proxy.getLetter();
+            fail("Expected ClassCastException");
+        } catch (ClassCastException expected) {
+        }
+        result[0] = Long.valueOf(7);
+        try {
+            proxy.increment();
+            fail("Expected ClassCastException");
+        } catch (ClassCastException expected) {
+        }
+        result[0] = Double.valueOf(0.5);
+        try {
+            proxy.scale(1f);
+            fail("Expected ClassCastException");
+        } catch (ClassCastException expected) {
+        }
+        result[0] = null;
+        try {
+            proxy.increment();
+            fail("Expected NullPointerException");
+        } catch (NullPointerException expected) {
+        }
+        result[0] = Integer.valueOf(7);
+        assertEquals(7, proxy.increment());
+    }
+}
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
+import java.lang.invoke.MethodHandles;
 
 public class SerializationTest {
 
@@ -115,6 +116,109 @@ public class SerializationTest {
         Assert.assertEquals(deserializedProxy.getClass().getClassLoader(), getClass().getClassLoader());
     }
 
+    @Test
+    public void hiddenClassSerializableProxyTest() throws InstantiationException, IllegalAccessException, IOException,
+            ClassNotFoundException {
+        try {
+            Class.class.getMethod("isHidden");
+        } catch (NoSuchMethodException e) {
+            // hidden classes are not supported
+            return;
+        }
+        final ProxyConfiguration<SerializableClass> proxyConfiguration = new ProxyConfiguration<SerializableClass>()
+                .setSuperClass(SerializableClass.class)
+                .setProxyName(getClass().getPackage(),"SerializableClassHiddenProxy")
+                .setHiddenClassLookup(MethodHandles.lookup(), false);
+
+        ProxyFactory<SerializableClass> proxyFactory = new ProxyFactory<SerializableClass>(proxyConfiguration);
+        proxyFactory.setSerializableProxyClass(DefaultSerializableProxy.class);
+        SerializableInvocationHandler dispatcher = new SerializableInvocationHandler();
+        SerializableClass proxy = proxyFactory.newInstance(dispatcher);
+        proxy.invoke(10);
+        Assert.assertEquals(10, dispatcher.getState());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream outputStream = new ObjectOutputStream(bytes);
+        outputStream.writeObject(proxy);
+
+        ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        SerializableClass deserializedProxy = (SerializableClass) inputStream.readObject();
+        Assert.assertSame(proxy.getClass(), deserializedProxy.getClass());
+        Assert.assertEquals(10,
+                ((SerializableInvocationHandler) ProxyFactory.getInvocationHandlerStatic(deserializedProxy)).getState());
+    }
+
+    @Test
+    public void hiddenClassSameNameSerializableProxyTest() throws InstantiationException, IllegalAccessException, IOException,
+            ClassNotFoundException {
+        try {
+            Class.class.getMethod("isHidden");
+        } catch (NoSuchMethodException e) {
+            // hidden classes are not supported
+            return;
+        }
+        final ProxyConfiguration<SerializableClass> proxyConfiguration = new ProxyConfiguration<SerializableClass>()
+                .setSuperClass(SerializableClass.class)
+                .setProxyName(getClass().getPackage(),"SerializableClassSameNameProxy")
+                .setHiddenClassLookup(MethodHandles.lookup(), false);
+
+        ProxyFactory<SerializableClass> firstFactory = new ProxyFactory<SerializableClass>(proxyConfiguration);
+        firstFactory.setSerializableProxyClass(DefaultSerializableProxy.class);
+        SerializableClass proxy = firstFactory.newInstance(new SerializableInvocationHandler());
+        // a second hidden class with the same proxy name must not take the place of the first
+        ProxyFactory<SerializableClass> secondFactory = new ProxyFactory<SerializableClass>(proxyConfiguration);
+        secondFactory.setSerializableProxyClass(DefaultSerializableProxy.class);
+        SerializableClass other = secondFactory.newInstance(new SerializableInvocationHandler());
+        Assert.assertNotSame(proxy.getClass(), other.getClass());
+
+        Assert.assertSame(proxy.getClass(), copy(proxy).getClass());
+        Assert.assertSame(other.getClass(), copy(other).getClass());
+    }
+
+    @Test
+    public void hiddenClassNotDefinedSerializableProxyTest() throws InstantiationException, IllegalAccessException, IOException,
+            ClassNotFoundException {
+        try {
+            Class.class.getMethod("isHidden");
+        } catch (NoSuchMethodException e) {
+            // hidden classes are not supported
+            return;
+        }
+        final ProxyConfiguration<SerializableClass> proxyConfiguration = new ProxyConfiguration<SerializableClass>()
+                .setSuperClass(SerializableClass.class)
+                .setProxyName(getClass().getPackage(),"SerializableClassMissingProxy")
+                .setHiddenClassLookup(MethodHandles.lookup(), false);
+
+        ProxyFactory<SerializableClass> proxyFactory = new ProxyFactory<SerializableClass>(proxyConfiguration);
+        proxyFactory.setSerializableProxyClass(OtherLoaderSerializableProxy.class);
+        SerializableClass proxy = proxyFactory.newInstance(new SerializableInvocationHandler());
+        try {
+            copy(proxy);
+            Assert.fail("Expected ClassNotFoundException");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof ClassNotFoundException);
+            Assert.assertTrue(e.getCause().getMessage().contains(proxy.getClass().getName()));
+        }
+    }
+
+    private static Object copy(final Object object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream outputStream = new ObjectOutputStream(bytes);
+        outputStream.writeObject(object);
+        ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        return inputStream.readObject();
+    }
+
+    /**
+     * Resolves proxies in a class loader where their hidden classes are not defined.
+     */
+    public static class OtherLoaderSerializableProxy extends DefaultSerializableProxy {
+        @Override
+        protected ClassLoader getProxyClassLoader() {
+            return new ClassLoader(SerializationTest.class.getClassLoader()) {
+            };
+        }
+    }
+
     public static class TestSerializableProxy extends DefaultSerializableProxy {
         @Override
         protected Class<?> getProxyClass() throws ClassNotFoundException {
@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.test;
+
+import java.lang.reflect.Method;
+
+import org.jboss.invocation.ArgumentFrame;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for primitive argument frames.
+ */
+public class ArgumentFrameTestCase {
+
+    public String format(final int i, final long l, final String s, final double d, final boolean b) {
+        return i + ":" + l + ":" + s + ":" + d + ":" + b;
+    }
+
+    private static ArgumentFrame createFrame(final Method method) {
+        final ArgumentFrame frame = new ArgumentFrame(method.getParameterTypes());
+        frame.setInt(0, 42);
+        frame.setLong(1, 1L << 40);
+        frame.setObject(2, "x");
+        frame.setDouble(3, 0.5);
+        frame.setBoolean(4, true);
+        return frame;
+    }
+
+    @Test
+    public void testTypedAccess() throws Exception {
+        final Method method = ArgumentFrameTestCase.class.getMethod("format", int.class, long.class, String.class, double.class, boolean.class);
+        final InterceptorContext context = new InterceptorContext();
+        context.setArguments(createFrame(method));
+        assertEquals(5, context.getParameterCount());
+        assertEquals(42, context.getIntParameter(0));
+        assertEquals(1L << 40, context.getLongParameter(1));
+        assertEquals("x", context.getParameter(2));
+        assertEquals(0.5, context.getDoubleParameter(3), 0.0);
+        assertEquals(true, context.getBooleanParameter(4));
+
+        final Object[] parameters = context.getParameters();
+        assertArrayEquals(new Object[] { 42, 1L << 40, "x", 0.5, true }, parameters);
+        assertSame(parameters, context.getParameters());
+        parameters[0] = 7;
+        assertEquals(7, context.getIntParameter(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongType() throws Exception {
+        final Method method = ArgumentFrameTestCase.class.getMethod("format", int.class, long.class, String.class, double.class, boolean.class);
+        createFrame(method).getLong(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongTypeInArray() {
+        final InterceptorContext context = new InterceptorContext();
+        context.setParameters(new Object[] { "x" });
+        context.getIntParameter(0);
+    }
+
+    @Test
+    public void testInvocation() throws Exception {
+        final Method method = ArgumentFrameTestCase.class.getMethod("format", int.class, long.class, String.class, double.class, boolean.class);
+        final InterceptorContext context = new InterceptorContext();
+        context.setTarget(this);
+        context.setMethod(method);
+        context.setArguments(createFrame(method));
+        context.setInterceptors(new Interceptor[] { Interceptors.getInitialInterceptor(), Interceptors.getInvokingInterceptor() });
+        assertEquals("42:1099511627776:x:0.5:true", context.proceed());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.jboss.invocation.AsyncInterceptor;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.junit.Test;
+
+import static org.jboss.invocation.test.MyInterceptor.createMyInterceptor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for asynchronous interceptors.
+ */
+public class AsyncInterceptorTestCase {
+
+    static AsyncInterceptor createAsyncInterceptor(final String name) {
+        return context -> context.proceedAsync().thenApply(result -> name + "#" + result);
+    }
+
+    static final class DeferredTerminal implements AsyncInterceptor {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        public CompletionStage<Object> processInvocationAsync(final InterceptorContext context) {
+            return future;
+        }
+    }
+
+    @Test
+    public void testNonBlocking() throws Exception {
+        final DeferredTerminal terminal = new DeferredTerminal();
+        final InterceptorContext context = new InterceptorContext();
+        context.setInterceptors(new Interceptor[] {
+            createAsyncInterceptor("1"),
+            Interceptors.getChainedInterceptor(createAsyncInterceptor("2"), createAsyncInterceptor("3"), terminal)
+        });
+        final CompletableFuture<Object> result = context.proceedAsync().toCompletableFuture();
+        assertFalse(result.isDone());
+        terminal.future.complete("done");
+        assertEquals("1#2#3#done", result.get());
+    }
+
+    @Test
+    public void testSynchronousBridge() throws Exception {
+        final InterceptorContext context = new InterceptorContext();
+        context.setInterceptors(new Interceptor[] {
+            createAsyncInterceptor("1"),
+            createMyInterceptor("2"),
+            createAsyncInterceptor("3"),
+            Interceptors.getAsyncInterceptor(invocation -> "done")
+        });
+        assertEquals("1#2#3#done", context.proceedAsync().toCompletableFuture().get());
+        // synchronous callers see the same result
+        assertEquals("1#2#3#done", context.proceed());
+    }
+
+    @Test
+    public void testSynchronousInterceptorBlocks() throws Exception {
+        final CompletableFuture<Object> deferred = new CompletableFuture<>();
+        final AsyncInterceptor terminal = invocation -> {
+            // completed only after the terminal has returned its stage
+            new Thread(() -> deferred.complete("done")).start();
+            return deferred;
+        };
+        final InterceptorContext context = new InterceptorContext();
+        context.setInterceptors(new Interceptor[] {
+            createAsyncInterceptor("1"),
+            Interceptors.getCompiledInterceptor(createMyInterceptor("2"), terminal)
+        });
+        // the synchronous interceptor waits for the asynchronous terminal before proceedAsync returns
+        final CompletableFuture<Object> result = context.proceedAsync().toCompletableFuture();
+        assertTrue(result.isDone());
+        assertEquals("1#2#done", result.get());
+    }
+
+    @Test
+    public void testCancellation() {
+        final DeferredTerminal terminal = new DeferredTerminal();
+        final InterceptorContext context = new InterceptorContext();
+        context.setInterceptors(new Interceptor[] { createAsyncInterceptor("1"), createAsyncInterceptor("2"), terminal });
+        final CompletableFuture<?> result = context.proceedAsync().thenApply(r -> "outer#" + r).toCompletableFuture();
+        assertTrue(result.cancel(true));
+        assertTrue(terminal.future.isCancelled());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        final DeferredTerminal terminal = new DeferredTerminal();
+        final InterceptorContext context = new InterceptorContext();
+        context.setInterceptors(new Interceptor[] { createAsyncInterceptor("1"), terminal });
+        final Exception failure = new Exception("expected");
+        terminal.future.completeExceptionally(failure);
+        try {
+            context.proceed();
+            fail("Expected exception");
+        } catch (Exception e) {
+            assertSame(failure, e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.jboss.invocation.ChainStatistics;
+import org.jboss.invocation.ImmediateInterceptorFactory;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.Interceptors;
+import org.jboss.invocation.LatencySnapshot;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link ChainStatistics}.
+ */
+public class ChainStatisticsTestCase {
+
+    public String echo(final String msg) {
+        return "Echo " + msg;
+    }
+
+    public String other(final String msg) {
+        return "Other " + msg;
+    }
+
+    static Interceptor sleeping(final long millis, final int proceeds) {
+        return context -> {
+            Thread.sleep(millis);
+            Object result = null;
+            for (int i = 0; i < proceeds; i++) {
+                result = context.proceed();
+            }
+            return result;
+        };
+    }
+
+    private Object invoke(final Interceptor interceptor, final String name) throws Exception {
+        return invoke(interceptor, name, -1);
+    }
+
+    private Object invoke(final Interceptor interceptor, final String name, final int methodIndex) throws Exception {
+        final InterceptorContext context = new InterceptorContext();
+        context.setMethod(ChainStatisticsTestCase.class.getMethod(name, String.class), methodIndex);
+        context.setTarget(this);
+        context.setParameters(new Object[] { "test" });
+        return interceptor.processInvocation(context);
+    }
+
+    @Test
+    public void testSelfTime() throws Exception {
+        final ChainStatistics statistics = new ChainStatistics("test", 1);
+        // the first interceptor proceeds twice; its self time excludes both trips down the chain
+        final Interceptor interceptor = Interceptors.getTimedChainedInterceptor(statistics, sleeping(2, 2),
+            Interceptors.getChainedInterceptor(sleeping(30, 1), Interceptors.getInvokingInterceptor()));
+        assertEquals("Echo test", invoke(interceptor, "echo"));
+
+        assertEquals(3, statistics.getInterceptors().length);
+        final LatencySnapshot[] positions = statistics.getPositions();
+        assertEquals(3, positions.length);
+        assertEquals(1, positions[0].getCount());
+        assertEquals(2, positions[1].getCount());
+        assertEquals(2, positions[2].getCount());
+        final long first = positions[0].getTotalNanos();
+        assertTrue(first + "ns", first >= TimeUnit.MILLISECONDS.toNanos(2) && first < TimeUnit.MILLISECONDS.toNanos(30));
+        assertTrue(positions[1].getTotalNanos() >= TimeUnit.MILLISECONDS.toNanos(60));
+        assertTrue(positions[1].getP50Nanos() >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertTrue(positions[1].getP99Nanos() <= positions[1].getMaxNanos());
+    }
+
+    @Test
+    public void testMethods() throws Exception {
+        final ChainStatistics statistics = new ChainStatistics("test", 1);
+        final Interceptor interceptor = Interceptors.getTimedChainedInterceptorFactory(statistics,
+            new ImmediateInterceptorFactory(sleeping(0, 1)),
+            new ImmediateInterceptorFactory(Interceptors.getInvokingInterceptor())).create(new SimpleInterceptorFactoryContext());
+        invoke(interceptor, "echo");
+        invoke(interceptor, "echo");
+        invoke(interceptor, "other");
+
+        final String echo = ChainStatisticsTestCase.class.getName() + ".echo(java.lang.String)";
+        final String other = ChainStatisticsTestCase.class.getName() + ".other(java.lang.String)";
+        assertArrayEquals(new String[] { echo, other }, statistics.getMethods());
+        assertEquals(2, statistics.getMethodPositions(echo)[1].getCount());
+        assertEquals(1, statistics.getMethodPositions(other)[1].getCount());
+        assertNull(statistics.getMethodPositions("missing()"));
+        assertEquals(3, statistics.getPositions()[0].getCount());
+
+        final Map<Method, LatencySnapshot[]> snapshots = statistics.getMethodSnapshots();
+        assertEquals(2, snapshots.get(ChainStatisticsTestCase.class.getMethod("echo", String.class))[0].getCount());
+
+        statistics.reset();
+        assertEquals(0, statistics.getMethods().length);
+        assertEquals(0, statistics.getPositions()[0].getCount());
+    }
+
+    @Test
+    public void testMethodIndex() throws Exception {
+        final ChainStatistics statistics = new ChainStatistics("test", 1);
+        final Interceptor interceptor = Interceptors.getTimedChainedInterceptor(statistics, sleeping(0, 1), Interceptors.getInvokingInterceptor());
+        invoke(interceptor, "echo", 3);
+        invoke(interceptor, "echo", 3);
+        // an index which belongs to another method, as when the chain is invoked through several proxy classes
+        invoke(interceptor, "other", 3);
+        invoke(interceptor, "echo", -1);
+        invoke(interceptor, "echo", 3);
+
+        final String echo = ChainStatisticsTestCase.class.getName() + ".echo(java.lang.String)";
+        final String other = ChainStatisticsTestCase.class.getName() + ".other(java.lang.String)";
+        assertEquals(4, statistics.getMethodPositions(echo)[0].getCount());
+        assertEquals(1, statistics.getMethodPositions(other)[0].getCount());
+
+        statistics.reset();
+        invoke(interceptor, "echo", 3);
+        assertEquals(1, statistics.getMethodPositions(echo)[0].getCount());
+        assertNull(statistics.getMethodPositions(other));
+    }
+
+    @Test
+    public void testSerializedFactory() throws Exception {
+        final ChainStatistics statistics = new ChainStatistics("test", 1);
+        final InterceptorFactory factory = Interceptors.getTimedChainedInterceptorFactory(statistics,
+            new ImmediateInterceptorFactory(Interceptors.getInvokingInterceptor()));
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(factory);
+        }
+        final InterceptorFactory copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (InterceptorFactory) in.readObject();
+        }
+        assertEquals("Echo test", invoke(copy.create(new SimpleInterceptorFactoryContext()), "echo"));
+        assertEquals(0, statistics.getMethods().length);
+    }
+
+    @Test
+    public void testMXBean() throws Exception {
+        final ChainStatistics statistics = new ChainStatistics("test", 1);
+        final Interceptor interceptor = Interceptors.getTimedChainedInterceptor(statistics, sleeping(0, 1), Interceptors.getInvokingInterceptor());
+        invoke(interceptor, "echo");
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName("org.jboss.invocation:type=ChainStatistics,name=test");
+        server.registerMBean(statistics, name);
+        try {
+            assertEquals("test", server.getAttribute(name, "Name"));
+            final CompositeData[] positions = (CompositeData[]) server.getAttribute(name, "Positions");
+            assertEquals(2, positions.length);
+            assertEquals(1L, positions[1].get("count"));
+            final String method = ((String[]) server.getAttribute(name, "Methods"))[0];
+            final CompositeData[] methodPositions = (CompositeData[]) server.invoke(name, "getMethodPositions", new Object[] { method }, new String[] { String.class.getName() });
+            assertEquals(1L, methodPositions[0].get("count"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    public void testWrongLength() {
+        final ChainStatistics statistics = new ChainStatistics("test", 1);
+        Interceptors.getTimedChainedInterceptor(statistics, sleeping(0, 1), Interceptors.getInvokingInterceptor());
+        try {
+            Interceptors.getTimedChainedInterceptor(statistics, Interceptors.getInvokingInterceptor());
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    /**
+     * No samples are lost when concurrent invocations contend and the histograms switch to striped updates.
+     */
+    @Test
+    public void testConcurrent() throws Exception {
+        final ChainStatistics statistics = new ChainStatistics("test", 1);
+        final Interceptor interceptor = Interceptors.getTimedChainedInterceptor(statistics, sleeping(0, 1), Interceptors.getInvokingInterceptor());
+        final int threads = 8;
+        final int invocations = 5000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < invocations; j++) {
+                        invoke(interceptor, "echo", 0);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        final LatencySnapshot[] positions = statistics.getPositions();
+        assertEquals(threads * invocations, positions[0].getCount());
+        assertEquals(threads * invocations, positions[1].getCount());
+        assertTrue(positions[1].getMaxNanos() <= positions[1].getTotalNanos());
+    }
+}
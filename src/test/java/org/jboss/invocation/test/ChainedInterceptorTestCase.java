@@ -18,15 +18,21 @@
 
 package org.jboss.invocation.test;
 
+import org.jboss.invocation.CannotProceedException;
+import org.jboss.invocation.ImmediateInterceptorFactory;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.InterceptorFactory;
 import org.jboss.invocation.Interceptors;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 
 import static org.jboss.invocation.test.MyInterceptor.createMyInterceptor;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /**
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
@@ -109,4 +115,89 @@ public class ChainedInterceptorTestCase {
         String expected = "3#4#1#2#Echo testAgain1#2#Echo testAgain";
         assertEquals(expected, result);
     }
+
+    private InterceptorContext createContext(final String msg) throws Exception {
+        Method method = ChainedInterceptorTestCase.class.getMethod("echo", String.class);
+        InterceptorContext context = new InterceptorContext();
+        context.setMethod(method);
+        context.setTarget(this);
+        context.setParameters(new Object[] { msg });
+        return context;
+    }
+
+    @Test
+    public void testFlattened() throws Exception {
+        InterceptorContext context = createContext("testFlattened");
+        final int[] lengths = new int[2];
+        Interceptor length = new Interceptor() {
+            private int num;
+            @Override
+            public Object processInvocation(InterceptorContext context) throws Exception {
+                lengths[num++] = context.getInterceptors().length;
+                return context.proceed();
+            }
+        };
+
+        Interceptor interceptor1 = Interceptors.getChainedInterceptor(createMyInterceptor("1"), length, Interceptors.getInvokingInterceptor());
+        Interceptor interceptor2 = Interceptors.getChainedInterceptor(createMyInterceptor("3"), length, interceptor1);
+        Interceptor interceptor3 = Interceptors.getFlattenedChainedInterceptor(createMyInterceptor("5"), interceptor2);
+
+        String result = (String) interceptor3.processInvocation(context);
+        assertEquals("5#3#1#Echo testFlattened", result);
+        assertEquals("[6, 6]", Arrays.toString(lengths));
+    }
+
+    /**
+     * Interceptors which proceed more than once must see the same chain whether or not it is flattened.
+     */
+    @Test
+    public void testFlattenedAgain() throws Exception {
+        InterceptorContext context = createContext("testAgain");
+
+        Interceptor again = new Interceptor() {
+            private int num = 2;
+            @Override
+            public Object processInvocation(InterceptorContext context) throws Exception {
+                StringBuilder result = new StringBuilder();
+                while ((num--) > 0)
+                    result.append(context.proceed());
+                return result;
+            }
+        };
+        Interceptor interceptor1 = Interceptors.getChainedInterceptor(createMyInterceptor("1"), createMyInterceptor("2"), Interceptors.getInvokingInterceptor());
+        Interceptor interceptor2 = Interceptors.getChainedInterceptor(again, interceptor1);
+        Interceptor interceptor3 = Interceptors.getFlattenedChainedInterceptor(createMyInterceptor("3"), createMyInterceptor("4"), interceptor2);
+
+        String result = (String) interceptor3.processInvocation(context);
+        String expected = "3#4#1#2#Echo testAgain1#2#Echo testAgain";
+        assertEquals(expected, result);
+    }
+
+    /**
+     * A nested chain which is not last cannot proceed past its own end, so it must not be inlined.
+     */
+    @Test
+    public void testFlattenedNotLast() throws Exception {
+        InterceptorContext context = createContext("testNotLast");
+
+        Interceptor interceptor1 = Interceptors.getChainedInterceptor(createMyInterceptor("1"), createMyInterceptor("2"));
+        Interceptor interceptor2 = Interceptors.getFlattenedChainedInterceptor(createMyInterceptor("3"), interceptor1, Interceptors.getInvokingInterceptor());
+
+        try {
+            interceptor2.processInvocation(context);
+            fail("Expected CannotProceedException");
+        } catch (CannotProceedException expected) {
+        }
+    }
+
+    @Test
+    public void testFlattenedFactory() throws Exception {
+        InterceptorContext context = createContext("testFactory");
+
+        InterceptorFactory factory1 = Interceptors.getChainedInterceptorFactory(new ImmediateInterceptorFactory(createMyInterceptor("1")), new ImmediateInterceptorFactory(Interceptors.getInvokingInterceptor()));
+        InterceptorFactory factory2 = Interceptors.getFlattenedChainedInterceptorFactory(new ImmediateInterceptorFactory(createMyInterceptor("2")), factory1);
+
+        Interceptor interceptor = factory2.create(new SimpleInterceptorFactoryContext());
+        assertEquals("2#1#Echo testFactory", interceptor.processInvocation(context));
+    }
 }
@@ -0,0 +1,175 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.test;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.junit.Test;
+
+import static org.jboss.invocation.test.MyInterceptor.createMyInterceptor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for compiled interceptor chains.
+ */
+public class CompiledInterceptorTestCase {
+    public String echo(final String msg) {
+        return "Echo " + msg;
+    }
+
+    private InterceptorContext createContext(final String param) throws NoSuchMethodException {
+        Method method = CompiledInterceptorTestCase.class.getMethod("echo", String.class);
+        InterceptorContext context = new InterceptorContext();
+        context.setMethod(method);
+        context.setTarget(this);
+        context.setParameters(new Object[] { param });
+        return context;
+    }
+
+    @Test
+    public void testCompiled() throws Exception {
+        final StackCapturingInterceptor capturing = new StackCapturingInterceptor();
+        Interceptor interceptor = Interceptors.getCompiledInterceptor(createMyInterceptor("1"), capturing, createMyInterceptor("2"), Interceptors.getInvokingInterceptor());
+        assertEquals("1#2#Echo test", interceptor.processInvocation(createContext("test")));
+        assertTrue(capturing.compiled);
+    }
+
+    @Test
+    public void testNested() throws Exception {
+        Interceptor interceptor1 = Interceptors.getChainedInterceptor(createMyInterceptor("1"), createMyInterceptor("2"), Interceptors.getInvokingInterceptor());
+        Interceptor interceptor2 = Interceptors.getCompiledInterceptor(createMyInterceptor("3"), createMyInterceptor("4"), interceptor1);
+        Interceptor interceptor3 = Interceptors.getCompiledInterceptor(createMyInterceptor("5"), interceptor2);
+        assertEquals("5#3#4#1#2#Echo test1", interceptor3.processInvocation(createContext("test1")));
+    }
+
+    @Test
+    public void testAgain() throws Exception {
+        Interceptor again = new Interceptor() {
+            private int num = 2;
+            @Override
+            public Object processInvocation(InterceptorContext context) throws Exception {
+                StringBuilder result = new StringBuilder();
+                while ((num--) > 0)
+                    result.append(context.proceed());
+                return result;
+            }
+        };
+        Interceptor interceptor1 = Interceptors.getCompiledInterceptor(createMyInterceptor("1"), createMyInterceptor("2"), Interceptors.getInvokingInterceptor());
+        Interceptor interceptor2 = Interceptors.getCompiledInterceptor(createMyInterceptor("3"), createMyInterceptor("4"), again, interceptor1);
+        assertEquals("3#4#1#2#Echo testAgain1#2#Echo testAgain", interceptor2.processInvocation(createContext("testAgain")).toString());
+    }
+
+    /**
+     * An interceptor which replaces the remainder of the chain must fall back to walking the new array.
+     */
+    @Test
+    public void testModifiedChain() throws Exception {
+        final StackCapturingInterceptor capturing = new StackCapturingInterceptor();
+        Interceptor replacing = new Interceptor() {
+            @Override
+            public Object processInvocation(InterceptorContext context) throws Exception {
+                final Interceptor[] interceptors = context.getInterceptors();
+                final Interceptor[] replaced = Arrays.copyOf(interceptors, interceptors.length + 1);
+                replaced[interceptors.length] = Interceptors.getInvokingInterceptor();
+                replaced[interceptors.length - 1] = capturing;
+                context.setInterceptors(replaced, context.getNextInterceptorIndex());
+                return context.proceed();
+            }
+        };
+        final InterceptorContext context = createContext("test");
+        Interceptor interceptor = Interceptors.getCompiledInterceptor(createMyInterceptor("1"), replacing, createMyInterceptor("2"), Interceptors.getTerminalInterceptor());
+        assertEquals("1#2#Echo test", interceptor.processInvocation(context));
+        assertFalse(capturing.compiled);
+    }
+
+    /**
+     * Several chain shapes live at once each get their own class and keep dispatching correctly when interleaved.
+     */
+    @Test
+    public void testShapes() throws Exception {
+        final Interceptor my = createMyInterceptor("1");
+        final Interceptor capturing = new StackCapturingInterceptor();
+        final Interceptor other = new Interceptor() {
+            @Override
+            public Object processInvocation(InterceptorContext context) throws Exception {
+                return "other " + context.proceed();
+            }
+        };
+        final Interceptor invoking = Interceptors.getInvokingInterceptor();
+        final Interceptor[] shapes = {
+            Interceptors.getCompiledInterceptor(my, capturing, invoking),
+            Interceptors.getCompiledInterceptor(capturing, my, invoking),
+            Interceptors.getCompiledInterceptor(other, my, invoking),
+            Interceptors.getCompiledInterceptor(my, other, capturing, invoking),
+        };
+        final String[] expected = { "1#Echo test", "1#Echo test", "other 1#Echo test", "1#other Echo test" };
+        final Set<Class<?>> classes = new HashSet<>();
+        for (Interceptor shape : shapes) {
+            classes.add(shape.getClass());
+        }
+        assertEquals(shapes.length, classes.size());
+        final InterceptorContext context = createContext("test");
+        for (int i = 0; i < 20000; i++) {
+            final int shape = i % shapes.length;
+            assertEquals(expected[shape], shapes[shape].processInvocation(context));
+            assertEquals(0, context.getNextInterceptorIndex());
+        }
+    }
+
+    /**
+     * A chain longer than the point where compiling pays off is walked as an array.
+     */
+    @Test
+    public void testLong() throws Exception {
+        final StackCapturingInterceptor capturing = new StackCapturingInterceptor();
+        final Interceptor[] interceptors = new Interceptor[40];
+        for (int i = 0; i < interceptors.length - 2; i++) {
+            interceptors[i] = createMyInterceptor(Integer.toString(i));
+        }
+        interceptors[interceptors.length - 2] = capturing;
+        interceptors[interceptors.length - 1] = Interceptors.getInvokingInterceptor();
+        assertTrue(Interceptors.getCompiledInterceptor(interceptors).processInvocation(createContext("test")).toString().endsWith("#37#Echo test"));
+        assertFalse(capturing.compiled);
+    }
+
+    @Test
+    public void testFactory() throws Exception {
+        Interceptor interceptor = Interceptors.getCompiledInterceptorFactory(Interceptors.getInitialInterceptorFactory(), Interceptors.getInvokingInterceptorFactory()).create(null);
+        assertEquals("Echo test", interceptor.processInvocation(createContext("test")));
+    }
+
+    static final class StackCapturingInterceptor implements Interceptor {
+        boolean compiled;
+
+        @Override
+        public Object processInvocation(InterceptorContext context) throws Exception {
+            // the immediate caller is either the compiled chain or the context itself
+            compiled = new Throwable().getStackTrace()[1].getClassName().startsWith("org.jboss.invocation.CompiledChain$$");
+            return context.proceed();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.test;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.jboss.invocation.ContextDataMap;
+import org.jboss.invocation.InterceptorContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the compact context data map.
+ */
+public class ContextDataMapTestCase {
+
+    @Test
+    public void testInflatedDuringIteration() {
+        final ContextDataMap map = new ContextDataMap();
+        map.put("a", "1");
+        map.put("b", "2");
+        final Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator();
+        iterator.next();
+        for (int i = 0; i < 10; i++) {
+            map.put("key" + i, "value");
+        }
+        try {
+            iterator.hasNext();
+            fail("Expected ConcurrentModificationException");
+        } catch (ConcurrentModificationException expected) {
+        }
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        final ContextDataMap map = new ContextDataMap();
+        final Map<String, Object> expected = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            assertEquals(expected.put("key" + i, i), map.put("key" + i, i));
+            assertEquals(expected, map);
+            assertEquals(expected.hashCode(), map.hashCode());
+        }
+        for (int i = 0; i < 20; i += 3) {
+            assertEquals(expected.remove("key" + i), map.remove("key" + i));
+            assertEquals(expected, map);
+        }
+        assertNull(map.get("missing"));
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testInlineOperations() {
+        final ContextDataMap map = new ContextDataMap();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        assertEquals(1, map.put("a", 4));
+        assertEquals(3, map.size());
+        assertEquals(2, map.remove("b"));
+        assertFalse(map.containsKey("b"));
+        assertEquals(3, map.get("c"));
+        final Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Object> entry = iterator.next();
+            if (entry.getKey().equals("a")) {
+                iterator.remove();
+            } else {
+                entry.setValue(5);
+            }
+        }
+        assertEquals(1, map.size());
+        assertEquals(5, map.get("c"));
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        final ContextDataMap map = new ContextDataMap();
+        map.put("a", 1);
+        final ContextDataMap copy = map.copy();
+        copy.put("b", 2);
+        map.put("a", 3);
+        assertEquals(1, copy.get("a"));
+        assertEquals(2, copy.get("b"));
+        assertEquals(3, map.get("a"));
+        assertFalse(map.containsKey("b"));
+    }
+
+    @Test
+    public void testInterceptorContextDefault() {
+        final InterceptorContext context = new InterceptorContext();
+        context.getContextData().put("a", 1);
+        final InterceptorContext cloned = context.clone();
+        cloned.getContextData().put("a", 2);
+        assertEquals(1, context.getContextData().get("a"));
+        assertEquals(2, cloned.getInvocationContext().getContextData().get("a"));
+    }
+
+    @Test
+    public void testContextDataCreatedOnDemand() {
+        final InterceptorContext context = new InterceptorContext();
+        final Map<String, Object> contextData = context.getContextData();
+        assertTrue(contextData instanceof ContextDataMap);
+        assertTrue(contextData.isEmpty());
+        assertSame(contextData, context.getContextData());
+        assertSame(contextData, context.getInvocationContext().getContextData());
+
+        context.setContextData(null);
+        final Map<String, Object> recreated = context.getContextData();
+        assertNotSame(contextData, recreated);
+        assertTrue(recreated.isEmpty());
+
+        context.reset();
+        assertTrue(context.getContextData().isEmpty());
+    }
+}
@@ -77,6 +77,55 @@ public class InitialInterceptorTestCase {
         }
     }
 
+    @Test
+    public void testRepeatedException() throws Exception {
+        final Interceptor interceptor = Interceptors.getChainedInterceptor(Interceptors.getInitialInterceptor(), new EvenMoreExceptionalInterceptor(), Interceptors.getInvokingInterceptor());
+        final InterceptorContext context = new InterceptorContext();
+        for (int i = 0; i < 2; i++) {
+            // the verdict for the same exception class differs by method
+            context.setMethod(InitialInterceptorTestCase.class.getMethod("other"));
+            try {
+                interceptor.processInvocation(context);
+                fail("Should have thrown ChildException");
+            } catch (ChildException expected) {
+            }
+            context.setMethod(InitialInterceptorTestCase.class.getMethod("test"));
+            try {
+                interceptor.processInvocation(context);
+                fail("Should have thrown UndeclaredThrowableException");
+            } catch (UndeclaredThrowableException expected) {
+                assertEquals(ChildException.class, expected.getCause().getClass());
+            }
+        }
+    }
+
+    @Test
+    public void testAlternatingExceptions() throws Exception {
+        final Interceptor alternating = new Interceptor() {
+            private int calls;
+
+            public Object processInvocation(InterceptorContext context) throws Exception {
+                throw calls++ % 2 == 0 ? new ChildException() : new Exception("Ahhh");
+            }
+        };
+        final Interceptor interceptor = Interceptors.getChainedInterceptor(Interceptors.getInitialInterceptor(), alternating);
+        final InterceptorContext context = new InterceptorContext();
+        context.setMethod(InitialInterceptorTestCase.class.getMethod("other"));
+        for (int i = 0; i < 4; i++) {
+            try {
+                interceptor.processInvocation(context);
+                fail("Should have thrown ChildException");
+            } catch (ChildException expected) {
+            }
+            try {
+                interceptor.processInvocation(context);
+                fail("Should have thrown UndeclaredThrowableException");
+            } catch (UndeclaredThrowableException expected) {
+                assertEquals(Exception.class, expected.getCause().getClass());
+            }
+        }
+    }
+
     public String test() {
         return "test";
     }
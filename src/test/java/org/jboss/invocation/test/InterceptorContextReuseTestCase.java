@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.test;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.jboss.invocation.AsyncInterceptor;
+import org.jboss.invocation.ContextDataMap;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.InterceptorContextPool;
+import org.jboss.invocation.InterceptorInvocationHandler;
+import org.jboss.invocation.Interceptors;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for resetting and pooling interceptor contexts.
+ */
+public class InterceptorContextReuseTestCase {
+
+    public String echo(final String msg) {
+        return msg;
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        final InterceptorContext context = new InterceptorContext();
+        context.setTarget(this);
+        context.setMethod(InterceptorContextReuseTestCase.class.getMethod("echo", String.class));
+        context.setParameters(new Object[] { "test" });
+        context.setContextData(new HashMap<String, Object>());
+        context.setTimer(this);
+        context.putPrivateData(InterceptorContextReuseTestCase.class, this);
+        context.setTransactionSupplier(() -> null);
+        context.setBlockingCaller(true);
+        context.setInterceptors(new Interceptor[] { Interceptors.getInvokingInterceptor() });
+        assertEquals("test", context.proceed());
+
+        context.reset();
+        assertNull(context.getTarget());
+        assertNull(context.getMethod());
+        assertNull(context.getParameters());
+        assertNull(context.getTimer());
+        assertNull(context.getPrivateData(InterceptorContextReuseTestCase.class));
+        assertFalse(context.hasTransaction());
+        assertFalse(context.isBlockingCaller());
+        assertEquals(0, context.getInterceptors().length);
+        assertEquals(0, context.getNextInterceptorIndex());
+    }
+
+    @Test
+    public void testPool() {
+        final InterceptorContextPool pool = new InterceptorContextPool(1);
+        final InterceptorContext context = pool.acquire();
+        context.putPrivateData(InterceptorContextReuseTestCase.class, this);
+        pool.release(context);
+        final InterceptorContext reused = pool.acquire();
+        assertSame(context, reused);
+        assertNull(reused.getPrivateData(InterceptorContextReuseTestCase.class));
+    }
+
+    @Test
+    public void testPooledHandler() throws Throwable {
+        final Method method = InterceptorContextReuseTestCase.class.getMethod("echo", String.class);
+        final Interceptor interceptor = new Interceptor() {
+            @Override
+            public Object processInvocation(final InterceptorContext context) throws Exception {
+                final Object previous = context.putPrivateData(String.class, "seen");
+                return previous == null ? context.getMethod().getName() + context.getParameters()[0] : "leaked";
+            }
+        };
+        final InterceptorInvocationHandler handler = new InterceptorInvocationHandler(interceptor, true);
+        assertEquals("echo1", handler.invoke(null, method, new Object[] { 1 }));
+        assertEquals("echo2", handler.invoke(null, method, new Object[] { 2 }));
+    }
+
+    @Test
+    public void testResetContextData() {
+        final InterceptorContext context = new InterceptorContext();
+        final Map<String, Object> contextData = context.getContextData();
+        contextData.put("key", "value");
+        context.reset();
+        assertSame(contextData, context.getContextData());
+        assertTrue(contextData.isEmpty());
+
+        // a map which has grown beyond its inline entries is dropped
+        for (int i = 0; i < 16; i++) {
+            contextData.put("key" + i, "value");
+        }
+        context.reset();
+        assertNotSame(contextData, context.getContextData());
+        assertTrue(context.getContextData().isEmpty());
+
+        // a map which shares its entries with a clone is dropped
+        final Map<String, Object> shared = context.getContextData();
+        shared.put("key", "value");
+        final InterceptorContext clone = context.clone();
+        context.reset();
+        assertNotSame(shared, context.getContextData());
+        assertEquals("value", clone.getContextData().get("key"));
+
+        // a map which was set from outside is never cleared
+        final ContextDataMap external = new ContextDataMap();
+        external.put("key", "value");
+        context.setContextData(external);
+        context.reset();
+        assertNotSame(external, context.getContextData());
+        assertEquals("value", external.get("key"));
+    }
+
+    @Test
+    public void testPooledHandlerWithAsync() throws Throwable {
+        final Method method = InterceptorContextReuseTestCase.class.getMethod("echo", String.class);
+        final InterceptorContext[] held = new InterceptorContext[1];
+        final AsyncInterceptor holding = new AsyncInterceptor() {
+            @Override
+            public CompletionStage<Object> processInvocationAsync(final InterceptorContext context) throws Exception {
+                held[0] = context;
+                return CompletableFuture.completedFuture(context.getMethod().getName());
+            }
+        };
+        final Interceptor chain = Interceptors.getChainedInterceptor(Interceptors.getChainedInterceptor(holding));
+        final InterceptorInvocationHandler handler = new InterceptorInvocationHandler(chain, true);
+        assertEquals("echo", handler.invoke(null, method, new Object[] { "test" }));
+        // the context was not returned to the pool, so the asynchronous interceptor may still use it
+        assertNotNull(held[0].getMethod());
+    }
+}
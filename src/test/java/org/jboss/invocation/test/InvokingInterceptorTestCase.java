@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.jboss.invocation.MethodInvokingInterceptor;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the interceptors which invoke the target method.
+ */
+public class InvokingInterceptorTestCase {
+
+    public static class Target {
+        int calls;
+
+        public long add(int a, long b) {
+            return a + b;
+        }
+
+        public String concat(String a, Object b) {
+            return a + b;
+        }
+
+        public void touch() {
+            calls ++;
+        }
+
+        public static String echo(String value) {
+            return value;
+        }
+
+        public Object fail() throws IOException {
+            throw new IOException("expected");
+        }
+    }
+
+    static class Inaccessible {
+        public String value() {
+            return "value";
+        }
+    }
+
+    private static Object invoke(Interceptor interceptor, Object target, Method method, Object... parameters) throws Exception {
+        final InterceptorContext context = new InterceptorContext();
+        context.setTarget(target);
+        context.setMethod(method);
+        context.setParameters(parameters);
+        context.setInterceptors(new Interceptor[] { interceptor });
+        return context.proceed();
+    }
+
+    private static Object invokeBoth(Object target, Method method, Object... parameters) throws Exception {
+        final Object result = invoke(Interceptors.getInvokingInterceptor(), target, method, parameters);
+        assertEquals(result, invoke(new MethodInvokingInterceptor(target, method), target, method, parameters));
+        return result;
+    }
+
+    @Test
+    public void testInvoke() throws Exception {
+        final Target target = new Target();
+        assertEquals(Long.valueOf(5), invokeBoth(target, Target.class.getMethod("add", int.class, long.class), 2, 3L));
+        assertEquals("ab", invokeBoth(target, Target.class.getMethod("concat", String.class, Object.class), "a", "b"));
+        assertNull(invokeBoth(target, Target.class.getMethod("touch")));
+        assertEquals(2, target.calls);
+        assertEquals("static", invokeBoth(target, Target.class.getMethod("echo", String.class), "static"));
+    }
+
+    @Test
+    public void testException() throws Exception {
+        final Method method = Target.class.getMethod("fail");
+        for (Interceptor interceptor : new Interceptor[] { Interceptors.getInvokingInterceptor(), new MethodInvokingInterceptor(new Target(), method) }) {
+            try {
+                invoke(interceptor, new Target(), method);
+                fail("Expected exception");
+            } catch (IOException e) {
+                assertEquals("expected", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testWrongArguments() throws Exception {
+        final Method method = Target.class.getMethod("add", int.class, long.class);
+        final Object[][] wrong = { { "2", 3L }, { null, 3L }, { 2 } };
+        for (Object[] parameters : wrong) {
+            for (Interceptor interceptor : new Interceptor[] { Interceptors.getInvokingInterceptor(), new MethodInvokingInterceptor(new Target(), method) }) {
+                try {
+                    invoke(interceptor, new Target(), method, parameters);
+                    fail("Expected exception");
+                } catch (IllegalArgumentException expected) {
+                }
+            }
+        }
+    }
+
+    /**
+     * A method without an invoker keeps being called reflectively, and reports the same access failure every time.
+     */
+    @Test
+    public void testInaccessible() throws Exception {
+        final Method method = Inaccessible.class.getMethod("value");
+        final Inaccessible target = new Inaccessible();
+        final Interceptor interceptor = new MethodInvokingInterceptor(target, method);
+        for (int i = 0; i < 2; i++) {
+            try {
+                invoke(interceptor, target, method);
+                fail("Expected IllegalAccessException");
+            } catch (IllegalAccessException expected) {
+            }
+        }
+        method.setAccessible(true);
+        assertEquals("value", invoke(Interceptors.getInvokingInterceptor(), target, method));
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.jboss.invocation.AsyncInterceptor;
+import org.jboss.invocation.ImmediateInterceptorFactory;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.InvocationListener;
+import org.jboss.invocation.ListenableInterceptorFactory;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
+import org.junit.Test;
+
+import static org.jboss.invocation.test.MyInterceptor.createMyInterceptor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link ListenableInterceptorFactory}.
+ */
+public class ListenableInterceptorFactoryTestCase {
+
+    static final class RecordingListener implements InvocationListener {
+        final List<String> events = new ArrayList<>();
+
+        public void invocationStarted(final InterceptorContext context) {
+            events.add("started");
+        }
+
+        public void invocationSucceeded(final InterceptorContext context, final Object result) {
+            events.add("succeeded " + result);
+        }
+
+        public void invocationFailed(final InterceptorContext context, final Exception cause) {
+            events.add("failed " + cause.getMessage());
+        }
+    }
+
+    static final class NamedInterceptor implements Interceptor, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        NamedInterceptor(final String name) {
+            this.name = name;
+        }
+
+        public Object processInvocation(final InterceptorContext context) throws Exception {
+            return name + "#" + context.proceed();
+        }
+    }
+
+    static final class DoneInterceptor implements Interceptor, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        public Object processInvocation(final InterceptorContext context) {
+            return "done";
+        }
+    }
+
+    private static Interceptor create(final ListenableInterceptorFactory factory) {
+        return factory.create(new SimpleInterceptorFactoryContext());
+    }
+
+    @Test
+    public void testListeners() throws Exception {
+        final ListenableInterceptorFactory factory = new ListenableInterceptorFactory(
+            new ImmediateInterceptorFactory(createMyInterceptor("1")),
+            new ImmediateInterceptorFactory(context -> "done"));
+        // the chain is created before any listener is added
+        final Interceptor interceptor = create(factory);
+        final RecordingListener listener = new RecordingListener();
+
+        assertEquals("1#done", interceptor.processInvocation(new InterceptorContext()));
+        factory.addListener(listener);
+        try {
+            assertEquals("1#done", interceptor.processInvocation(new InterceptorContext()));
+        } finally {
+            assertTrue(factory.removeListener(listener));
+        }
+        assertFalse(factory.removeListener(listener));
+        assertEquals("1#done", interceptor.processInvocation(new InterceptorContext()));
+        assertEquals("[started, succeeded 1#done]", listener.events.toString());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        final Exception failure = new Exception("expected");
+        final ListenableInterceptorFactory factory = new ListenableInterceptorFactory(
+            new ImmediateInterceptorFactory(context -> {
+                throw failure;
+            }));
+        final RecordingListener listener = new RecordingListener();
+        factory.addListener(listener);
+        try {
+            create(factory).processInvocation(new InterceptorContext());
+            fail("Expected exception");
+        } catch (Exception e) {
+            assertSame(failure, e);
+        } finally {
+            factory.removeListener(listener);
+        }
+        assertEquals("[started, failed expected]", listener.events.toString());
+    }
+
+    @Test
+    public void testAsync() throws Exception {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final ListenableInterceptorFactory factory = new ListenableInterceptorFactory(
+            new ImmediateInterceptorFactory((AsyncInterceptor) context -> context.proceedAsync().thenApply(result -> "1#" + result)),
+            new ImmediateInterceptorFactory(new AsyncInterceptor() {
+                public CompletionStage<Object> processInvocationAsync(final InterceptorContext context) {
+                    return future;
+                }
+            }));
+        final RecordingListener listener = new RecordingListener();
+        factory.addListener(listener);
+        try {
+            final InterceptorContext context = new InterceptorContext();
+            context.setInterceptors(new Interceptor[] { create(factory) });
+            final CompletableFuture<Object> result = context.proceedAsync().toCompletableFuture();
+            assertEquals("[started]", listener.events.toString());
+            future.complete("done");
+            assertEquals("1#done", result.get());
+        } finally {
+            factory.removeListener(listener);
+        }
+        assertEquals("[started, succeeded 1#done]", listener.events.toString());
+    }
+
+    @Test
+    public void testAsyncCompletionAfterReset() throws Exception {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final ListenableInterceptorFactory factory = new ListenableInterceptorFactory(
+            new ImmediateInterceptorFactory(new AsyncInterceptor() {
+                public CompletionStage<Object> processInvocationAsync(final InterceptorContext context) {
+                    return future;
+                }
+            }));
+        final List<Object> completed = new ArrayList<>();
+        final InvocationListener listener = new InvocationListener() {
+            public void invocationSucceeded(final InterceptorContext context, final Object result) {
+                completed.add(context.getMethod());
+            }
+        };
+        factory.addListener(listener);
+        try {
+            final InterceptorContext context = new InterceptorContext();
+            context.setMethod(Object.class.getMethod("toString"));
+            context.setInterceptors(new Interceptor[] { create(factory) });
+            final CompletableFuture<Object> result = context.proceedAsync().toCompletableFuture();
+            // the context is returned to its pool once the caller has the stage
+            context.reset();
+            future.complete("done");
+            assertEquals("done", result.get());
+        } finally {
+            factory.removeListener(listener);
+        }
+        assertEquals("[" + Object.class.getMethod("toString") + "]", completed.toString());
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        final ListenableInterceptorFactory factory = new ListenableInterceptorFactory(
+            new ImmediateInterceptorFactory(new NamedInterceptor("1")),
+            new ImmediateInterceptorFactory(new DoneInterceptor()));
+        factory.addListener(new RecordingListener());
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(create(factory));
+        }
+        final Interceptor interceptor;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            interceptor = (Interceptor) in.readObject();
+        }
+        assertNotNull(interceptor);
+        assertEquals("1#done", interceptor.processInvocation(new InterceptorContext()));
+    }
+}
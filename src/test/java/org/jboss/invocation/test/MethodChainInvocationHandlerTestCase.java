@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.Interceptors;
+import org.jboss.invocation.MethodChainInvocationHandler;
+import org.jboss.invocation.proxy.MethodIdentifier;
+import org.jboss.invocation.proxy.ProxyConfiguration;
+import org.jboss.invocation.proxy.ProxyFactory;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link MethodChainInvocationHandler}.
+ */
+public class MethodChainInvocationHandlerTestCase {
+
+    public interface Service {
+        String greet(String name);
+
+        String plain(String name);
+
+        int count();
+    }
+
+    public static class ServiceImpl implements Service {
+        public String greet(final String name) {
+            return "hello " + name;
+        }
+
+        public String plain(final String name) {
+            return name;
+        }
+
+        public int count() {
+            return 3;
+        }
+    }
+
+    private static MethodChainInvocationHandler createHandler(final boolean pooled) {
+        final ServiceImpl target = new ServiceImpl();
+        final Interceptor setTarget = context -> {
+            context.setTarget(target);
+            return context.proceed();
+        };
+        final Interceptor decorate = context -> "[" + context.proceed() + "]";
+        final Map<MethodIdentifier, Interceptor[]> chains = new HashMap<>();
+        chains.put(MethodIdentifier.getIdentifier(String.class, "greet", String.class),
+                new Interceptor[] { setTarget, decorate, Interceptors.getInvokingInterceptor() });
+        chains.put(MethodIdentifier.getIdentifier(int.class, "count"),
+                new Interceptor[] { context -> Integer.valueOf(7) });
+        final Interceptor[] defaultChain = { setTarget, Interceptors.getInvokingInterceptor() };
+        return new MethodChainInvocationHandler(chains, defaultChain, pooled);
+    }
+
+    private static Service createProxy(final boolean pooled) {
+        return (Service) Proxy.newProxyInstance(Service.class.getClassLoader(), new Class<?>[] { Service.class }, createHandler(pooled));
+    }
+
+    @Test
+    public void testChainSelection() {
+        for (boolean pooled : new boolean[] { false, true }) {
+            final Service service = createProxy(pooled);
+            for (int i = 0; i < 3; i++) {
+                assertEquals("[hello a]", service.greet("a"));
+                assertEquals("b", service.plain("b"));
+                assertEquals(7, service.count());
+            }
+        }
+    }
+
+    @Test
+    public void testIndexed() throws Throwable {
+        final MethodChainInvocationHandler handler = createHandler(false);
+        final ProxyFactory<ServiceImpl> factory = new ProxyFactory<>(new ProxyConfiguration<ServiceImpl>()
+                .setSuperClass(ServiceImpl.class)
+                .setProxyName(ServiceImpl.class.getPackage(), "ServiceImpl$$IndexedProxy")
+                .setClassLoader(ServiceImpl.class.getClassLoader())
+                .setTypedDispatch(true));
+        final Service service = factory.newInstance(handler);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("[hello a]", service.greet("a"));
+            assertEquals("b", service.plain("b"));
+            assertEquals(7, service.count());
+        }
+        // an index which belongs to another method, as when the handler is shared by several proxy classes
+        final List<Method> methods = factory.getCachedMethods();
+        final Method greet = ServiceImpl.class.getMethod("greet", String.class);
+        final Method plain = ServiceImpl.class.getMethod("plain", String.class);
+        assertEquals("b", handler.invoke(service, methods.indexOf(greet), plain, new Object[] { "b" }));
+        assertEquals("[hello c]", handler.invoke(service, methods.indexOf(greet), greet, new Object[] { "c" }));
+        assertEquals("[hello d]", handler.invoke(service, 1000, greet, new Object[] { "d" }));
+    }
+}
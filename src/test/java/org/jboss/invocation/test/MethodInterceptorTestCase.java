@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import jakarta.interceptor.InvocationContext;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.MethodInterceptor;
+import org.jboss.invocation.MethodInterceptorFactory;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link MethodInterceptor} and {@link MethodInterceptorFactory}.
+ */
+public class MethodInterceptorTestCase {
+
+    public static class Target {
+        Method seen;
+        int calls;
+
+        public Object around(InvocationContext context) throws Exception {
+            seen = context.getMethod();
+            return "around#" + context.proceed();
+        }
+
+        public String covariant(Object context) throws Exception {
+            return "covariant#" + ((InvocationContext) context).proceed();
+        }
+
+        public void lifecycle(InvocationContext context) {
+            calls ++;
+        }
+
+        public void noContext() {
+            calls ++;
+        }
+
+        public Object fail(InvocationContext context) throws IOException {
+            throw new IOException("expected");
+        }
+
+        public static Object staticAround(InvocationContext context) throws Exception {
+            return "static#" + context.proceed();
+        }
+
+        public static void staticNoContext() {
+        }
+    }
+
+    private static Object invoke(Interceptor interceptor) throws Exception {
+        final InterceptorContext context = new InterceptorContext();
+        context.setInterceptors(new Interceptor[] { interceptor, invocation -> "done" });
+        return context.proceed();
+    }
+
+    @Test
+    public void testWithContext() throws Exception {
+        final Target target = new Target();
+        assertEquals("around#done", invoke(new MethodInterceptor(target, Target.class.getMethod("around", InvocationContext.class))));
+        assertNull(target.seen);
+        final Method method = Target.class.getMethod("around", InvocationContext.class);
+        assertEquals("around#done", invoke(new MethodInterceptor(target, method, true)));
+        assertSame(method, target.seen);
+        assertEquals("covariant#done", invoke(new MethodInterceptor(target, Target.class.getMethod("covariant", Object.class))));
+    }
+
+    @Test
+    public void testVoidAndNoContext() throws Exception {
+        final Target target = new Target();
+        assertNull(invoke(new MethodInterceptor(target, Target.class.getMethod("lifecycle", InvocationContext.class))));
+        assertEquals("done", invoke(new MethodInterceptor(target, Target.class.getMethod("noContext"))));
+        assertEquals(2, target.calls);
+    }
+
+    @Test
+    public void testStatic() throws Exception {
+        final Target target = new Target();
+        assertEquals("static#done", invoke(new MethodInterceptor(target, Target.class.getMethod("staticAround", InvocationContext.class))));
+        assertEquals("done", invoke(new MethodInterceptor(target, Target.class.getMethod("staticNoContext"))));
+        final MethodInterceptorFactory factory = new MethodInterceptorFactory(context -> target, Target.class.getMethod("staticAround", InvocationContext.class));
+        assertEquals("static#done", invoke(factory.create(new SimpleInterceptorFactoryContext())));
+    }
+
+    @Test
+    public void testException() throws Exception {
+        try {
+            invoke(new MethodInterceptor(new Target(), Target.class.getMethod("fail", InvocationContext.class)));
+            fail("Expected exception");
+        } catch (IOException e) {
+            assertEquals("expected", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFactory() throws Exception {
+        final Target target = new Target();
+        final MethodInterceptorFactory factory = new MethodInterceptorFactory(context -> target, Target.class.getMethod("around", InvocationContext.class));
+        assertEquals("around#done", invoke(factory.create(new SimpleInterceptorFactoryContext())));
+        assertEquals("around#done", invoke(factory.create(new SimpleInterceptorFactoryContext())));
+    }
+}
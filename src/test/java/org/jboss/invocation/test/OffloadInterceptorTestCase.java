@@ -0,0 +1,189 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.junit.Test;
+import org.wildfly.security.auth.server.SecurityDomain;
+import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.auth.server.SecurityRealm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the offload interceptor.
+ */
+public class OffloadInterceptorTestCase {
+
+    @Test
+    public void testBlockingCallerRunsInline() throws Exception {
+        final Thread caller = Thread.currentThread();
+        final InterceptorContext context = new InterceptorContext();
+        context.setBlockingCaller(true);
+        context.setInterceptors(new Interceptor[] {
+            Interceptors.getOffloadInterceptor(),
+            invocation -> Thread.currentThread()
+        });
+        assertSame(caller, context.proceed());
+        assertSame(caller, context.proceedAsync().toCompletableFuture().get());
+    }
+
+    @Test
+    public void testSynchronousCallRunsInline() throws Exception {
+        final Thread caller = Thread.currentThread();
+        final InterceptorContext context = new InterceptorContext();
+        context.setInterceptors(new Interceptor[] {
+            Interceptors.getOffloadInterceptor(),
+            invocation -> Thread.currentThread()
+        });
+        assertFalse(context.isBlockingCaller());
+        assertSame(caller, context.proceed());
+    }
+
+    @Test
+    public void testNonBlockingCallerIsOffloaded() throws Exception {
+        final Thread caller = Thread.currentThread();
+        final ClassLoader old = caller.getContextClassLoader();
+        final ClassLoader classLoader = new URLClassLoader(new URL[0], old);
+        final InterceptorContext context = new InterceptorContext();
+        context.setInterceptors(new Interceptor[] {
+            Interceptors.getOffloadInterceptor(),
+            invocation -> {
+                assertNotSame(caller, Thread.currentThread());
+                assertTrue(invocation.isBlockingCaller());
+                return Thread.currentThread().getContextClassLoader();
+            }
+        });
+        caller.setContextClassLoader(classLoader);
+        try {
+            assertSame(classLoader, context.proceedAsync().toCompletableFuture().get(10, TimeUnit.SECONDS));
+        } finally {
+            caller.setContextClassLoader(old);
+        }
+        assertFalse(context.isBlockingCaller());
+    }
+
+    @Test
+    public void testSecurityIdentityIsPropagated() throws Exception {
+        final SecurityDomain domain = SecurityDomain.builder()
+                .addRealm("default", SecurityRealm.EMPTY_REALM).build()
+                .setDefaultRealmName("default")
+                .build();
+        final SecurityIdentity identity = domain.createAdHocIdentity("offloaded");
+        final Thread caller = Thread.currentThread();
+        final ClassLoader old = caller.getContextClassLoader();
+        // the current domain is found through the thread context class loader, which is carried over as well
+        final ClassLoader classLoader = new URLClassLoader(new URL[0], old);
+        domain.registerWithClassLoader(classLoader);
+        final InterceptorContext context = new InterceptorContext();
+        context.setInterceptors(new Interceptor[] {
+            Interceptors.getOffloadInterceptor(),
+            invocation -> {
+                assertNotSame(caller, Thread.currentThread());
+                return SecurityDomain.getCurrent().getCurrentSecurityIdentity().getPrincipal().getName();
+            }
+        });
+        caller.setContextClassLoader(classLoader);
+        try {
+            final CompletableFuture<Object> result = identity.runAsSupplier(() -> context.proceedAsync().toCompletableFuture());
+            assertEquals("offloaded", result.get(10, TimeUnit.SECONDS));
+        } finally {
+            caller.setContextClassLoader(old);
+            SecurityDomain.unregisterClassLoader(classLoader);
+        }
+    }
+
+    @Test
+    public void testConcurrencyCap() throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch started = new CountDownLatch(2);
+            final AtomicInteger running = new AtomicInteger();
+            final AtomicInteger maxRunning = new AtomicInteger();
+            final Interceptor offload = Interceptors.getOffloadInterceptor(executor, 2);
+            final Interceptor terminal = invocation -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                started.countDown();
+                try {
+                    release.await();
+                } finally {
+                    running.decrementAndGet();
+                }
+                return "done";
+            };
+            final CompletableFuture<?>[] results = new CompletableFuture<?>[6];
+            for (int i = 0; i < results.length; i ++) {
+                final InterceptorContext context = new InterceptorContext();
+                context.setInterceptors(new Interceptor[] { offload, terminal });
+                results[i] = context.proceedAsync().toCompletableFuture();
+            }
+            // both permitted invocations are running before any result is checked
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            for (CompletableFuture<?> result : results) {
+                assertFalse(result.isDone());
+            }
+            release.countDown();
+            for (CompletableFuture<?> result : results) {
+                assertEquals("done", result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(2, maxRunning.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCancellation() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final InterceptorContext context = new InterceptorContext();
+        context.setInterceptors(new Interceptor[] {
+            Interceptors.getOffloadInterceptor(),
+            invocation -> {
+                started.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            }
+        });
+        final CompletableFuture<Object> result = context.proceedAsync().toCompletableFuture();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        result.cancel(true);
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.invocation.test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.PrivateDataKey;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for slot-indexed private data keys.
+ */
+public class PrivateDataKeyTestCase {
+
+    static final class Registered {
+    }
+
+    static final class LateRegistered {
+    }
+
+    static final class Unloadable {
+    }
+
+    @Test
+    public void testKey() {
+        final PrivateDataKey<String> key = PrivateDataKey.create(String.class);
+        final PrivateDataKey<String> other = PrivateDataKey.create(String.class);
+        final InterceptorContext context = new InterceptorContext();
+        assertNull(context.putPrivateData(key, "one"));
+        assertEquals("one", context.getPrivateData(key));
+        assertEquals("one", context.getPrivateData((Object) key));
+        assertNull(context.getPrivateData(other));
+        assertNull(context.getPrivateData(String.class));
+        assertEquals("one", context.putPrivateData(key, null));
+        assertNull(context.getPrivateData(key));
+    }
+
+    @Test
+    public void testRegisteredType() {
+        final PrivateDataKey<Registered> key = PrivateDataKey.forType(Registered.class);
+        assertSame(key, PrivateDataKey.forType(Registered.class));
+        final Registered value = new Registered();
+        final InterceptorContext context = new InterceptorContext();
+        context.setContextData(new HashMap<String, Object>());
+        context.putPrivateData(Registered.class, value);
+        assertSame(value, context.getPrivateData(key));
+        assertSame(value, context.getPrivateData((Object) Registered.class));
+
+        final InterceptorContext cloned = context.clone();
+        assertSame(value, cloned.getPrivateData(Registered.class));
+        cloned.putPrivateData(key, null);
+        assertNull(cloned.getPrivateData(Registered.class));
+        assertSame(value, context.getPrivateData(Registered.class));
+
+        context.reset();
+        assertNull(context.getPrivateData(key));
+    }
+
+    @Test
+    public void testLateRegistration() {
+        final InterceptorContext context = new InterceptorContext();
+        final LateRegistered value = new LateRegistered();
+        context.putPrivateData(LateRegistered.class, value);
+        final PrivateDataKey<LateRegistered> key = PrivateDataKey.forType(LateRegistered.class);
+        assertSame(value, context.getPrivateData(key));
+        assertSame(value, context.putPrivateData(LateRegistered.class, null));
+        assertNull(context.getPrivateData(LateRegistered.class));
+    }
+
+    /**
+     * A context which holds a value for a key keeps the key, so its index cannot be handed to a new key which would
+     * then see the stale value.
+     */
+    @Test
+    public void testIndexNotReusedWhileHeld() throws Exception {
+        final InterceptorContext context = new InterceptorContext();
+        final WeakReference<PrivateDataKey<String>> ref = new WeakReference<>(putWithTemporaryKey(context));
+        for (int i = 0; i < 5 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNotNull(ref.get());
+        for (int i = 0; i < 100; i++) {
+            assertNull(context.getPrivateData(PrivateDataKey.create(String.class)));
+        }
+    }
+
+    private static PrivateDataKey<String> putWithTemporaryKey(final InterceptorContext context) {
+        final PrivateDataKey<String> key = PrivateDataKey.create(String.class);
+        context.putPrivateData(key, "stale");
+        return key;
+    }
+
+    @Test
+    public void testRegistrationDoesNotPinClass() throws Exception {
+        final WeakReference<Class<?>> ref = new WeakReference<>(registerIsolatedType());
+        for (int i = 0; i < 20 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(ref.get());
+    }
+
+    private static Class<?> registerIsolatedType() throws ClassNotFoundException {
+        final String name = Unloadable.class.getName();
+        final ClassLoader loader = new ClassLoader(PrivateDataKeyTestCase.class.getClassLoader()) {
+            protected Class<?> loadClass(final String className, final boolean resolve) throws ClassNotFoundException {
+                if (! className.equals(name)) {
+                    return super.loadClass(className, resolve);
+                }
+                synchronized (getClassLoadingLock(className)) {
+                    final Class<?> loaded = findLoadedClass(className);
+                    if (loaded != null) {
+                        return loaded;
+                    }
+                    try (InputStream stream = getParent().getResourceAsStream(className.replace('.', '/') + ".class")) {
+                        final byte[] bytes = stream.readAllBytes();
+                        return defineClass(className, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }
+        };
+        final Class<?> type = loader.loadClass(name);
+        assertNotSame(Unloadable.class, type);
+        final PrivateDataKey<?> key = PrivateDataKey.forType(type);
+        assertSame(key, PrivateDataKey.forType(type));
+        return type;
+    }
+}
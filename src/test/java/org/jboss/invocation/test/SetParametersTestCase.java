@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.invocation.test;
+
+import jakarta.interceptor.InvocationContext;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the validation of parameters passed to {@link InvocationContext#setParameters(Object[])}.
+ */
+public class SetParametersTestCase {
+
+    public void method(int primitive, String reference, Object any) {
+    }
+
+    private static Object[] setParameters(final Object[] initial, final Object[] params) throws Exception {
+        final InterceptorContext context = new InterceptorContext();
+        context.setMethod(SetParametersTestCase.class.getMethod("method", int.class, String.class, Object.class));
+        context.setParameters(initial);
+        context.setInterceptors(new Interceptor[] { c -> {
+            final InvocationContext invocationContext = c.getInvocationContext();
+            invocationContext.setParameters(params);
+            return invocationContext.getParameters();
+        } });
+        return (Object[]) context.proceed();
+    }
+
+    private static void assertRejected(final Object[] params) throws Exception {
+        try {
+            setParameters(new Object[] { 1, "a", null }, params);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testValid() throws Exception {
+        final Object[] params = { 2, "b", 3L };
+        assertArrayEquals(params, setParameters(new Object[] { 1, "a", null }, params));
+        // repeated calls use the cached validator
+        assertArrayEquals(params, setParameters(new Object[] { 1, "a", null }, params));
+        final Object[] nulls = { 2, null, null };
+        assertArrayEquals(nulls, setParameters(new Object[] { 1, "a", null }, nulls));
+    }
+
+    @Test
+    public void testInvalid() throws Exception {
+        assertRejected(new Object[] { 1, "a" });
+        assertRejected(new Object[] { null, "a", null });
+        assertRejected(new Object[] { 1L, "a", null });
+        assertRejected(new Object[] { 1, 2, null });
+    }
+}
@@ -23,10 +23,14 @@ import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.Interceptors;
 import org.junit.Test;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 
 import static org.jboss.invocation.test.MyInterceptor.createMyInterceptor;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
@@ -51,4 +55,62 @@ public class WeavedInterceptorTestCase {
         String expected = "3#4#1#2#Echo test1";
         assertEquals(expected, result);
     }
+
+    /**
+     * The woven chain is reused for the same outer chain and position, and kept apart for different ones.
+     */
+    @Test
+    public void testRepeated() throws Exception {
+        Method method = WeavedInterceptorTestCase.class.getMethod("echo", String.class);
+        InterceptorContext context = new InterceptorContext();
+        context.setMethod(method);
+        context.setTarget(this);
+        context.setParameters(new Object[] { "testRepeated" });
+
+        final Interceptor[][] seen = new Interceptor[4][];
+        Interceptor recorder = new Interceptor() {
+            private int num;
+            @Override
+            public Object processInvocation(InterceptorContext context) throws Exception {
+                seen[num++] = context.getInterceptors();
+                return context.proceed();
+            }
+        };
+        Interceptor weaved = Interceptors.getWeavedInterceptor(createMyInterceptor("3"), recorder);
+        Interceptor chain1 = Interceptors.getChainedInterceptor(weaved, createMyInterceptor("1"), Interceptors.getInvokingInterceptor());
+        Interceptor chain2 = Interceptors.getChainedInterceptor(createMyInterceptor("2"), weaved, Interceptors.getInvokingInterceptor());
+
+        assertEquals("3#1#Echo testRepeated", chain1.processInvocation(context));
+        assertEquals("3#1#Echo testRepeated", chain1.processInvocation(context));
+        assertEquals("2#3#Echo testRepeated", chain2.processInvocation(context));
+        assertEquals("2#3#Echo testRepeated", chain2.processInvocation(context));
+        assertSame(seen[0], seen[1]);
+        assertSame(seen[2], seen[3]);
+        assertNotSame(seen[0], seen[2]);
+    }
+
+    /**
+     * The woven chain cache does not keep a discarded outer chain alive.
+     */
+    @Test
+    public void testOuterNotRetained() throws Exception {
+        Method method = WeavedInterceptorTestCase.class.getMethod("echo", String.class);
+        InterceptorContext context = new InterceptorContext();
+        context.setMethod(method);
+        context.setTarget(this);
+        context.setParameters(new Object[] { "testOuterNotRetained" });
+
+        Interceptor weaved = Interceptors.getWeavedInterceptor(createMyInterceptor("3"));
+        Interceptor[] outer = { weaved, createMyInterceptor("1"), Interceptors.getInvokingInterceptor() };
+        context.setInterceptors(outer);
+        assertEquals("3#1#Echo testOuterNotRetained", context.proceed());
+        context.setInterceptors(new Interceptor[0]);
+        final WeakReference<Interceptor[]> ref = new WeakReference<>(outer);
+        outer = null;
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(ref.get());
+    }
 }